@@ -0,0 +1,93 @@
+package ru.practicum.ewm.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.ewm.exception.UncorrectedParametersException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Opaque continuation tokens for list endpoints. A token carries the scroll position after the last returned row:
+ * the values of its sort keys for keyset scrolling, or its offset for {@code from}/{@code size} paging.
+ * An empty {@code cursor} parameter starts keyset scrolling from the beginning.
+ */
+public final class ContinuationTokens {
+    public static final String HEADER = "X-Continuation-Token";
+
+    private static final String OFFSET = "o";
+    private static final String KEYSET = "k";
+
+    private ContinuationTokens() {
+    }
+
+    public static ScrollPosition position(String cursor, int from) {
+        if (cursor == null) {
+            return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        }
+        if (cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            if (parts.length == 2 && OFFSET.equals(parts[0])) {
+                return ScrollPosition.offset(Long.parseLong(parts[1]));
+            }
+            if (parts.length == 2 && KEYSET.equals(parts[0])) {
+                Map<String, Object> keys = new LinkedHashMap<>();
+                for (String key : parts[1].split(";")) {
+                    String[] entry = key.split("=", 2);
+                    keys.put(entry[0], decodeValue(entry[1]));
+                }
+                return ScrollPosition.forward(keys);
+            }
+        } catch (RuntimeException e) {
+            throw new UncorrectedParametersException("Некорректный токен продолжения: " + cursor);
+        }
+        throw new UncorrectedParametersException("Некорректный токен продолжения: " + cursor);
+    }
+
+    public static String encode(ScrollPosition position) {
+        String token;
+        if (position instanceof OffsetScrollPosition offset) {
+            token = OFFSET + ":" + offset.getOffset();
+        } else {
+            StringJoiner keys = new StringJoiner(";", KEYSET + ":", "");
+            ((KeysetScrollPosition) position).getKeys().forEach((key, value) -> keys.add(key + "=" + encodeValue(value)));
+            token = keys.toString();
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> Window<T> writeNext(Window<T> window, HttpServletResponse response) {
+        if (window.hasNext() && !window.isEmpty()) {
+            response.setHeader(HEADER, encode(window.positionAt(window.size() - 1)));
+        }
+        return window;
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return "t" + dateTime;
+        }
+        if (value instanceof Number number) {
+            return "l" + number.longValue();
+        }
+        throw new IllegalArgumentException("Unsupported sort key " + value);
+    }
+
+    private static Object decodeValue(String value) {
+        return switch (value.charAt(0)) {
+            case 't' -> LocalDateTime.parse(value.substring(1));
+            case 'l' -> Long.parseLong(value.substring(1));
+            default -> throw new IllegalArgumentException("Unsupported sort key " + value);
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.ewm.controller.admin;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.ewm.controller.ContinuationTokens;
 import ru.practicum.ewm.dto.NewUserRequest;
 import ru.practicum.ewm.dto.UserDto;
 import ru.practicum.ewm.service.UserService;
@@ -34,9 +36,12 @@ public class UserController {
     @GetMapping
     public List<UserDto> getUsers(@RequestParam(required = false) List<Long> ids,
                                   @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                  @RequestParam(defaultValue = "10") @Positive Integer size) {
+                                  @RequestParam(defaultValue = "10") @Positive Integer size,
+                                  @RequestParam(required = false) String cursor,
+                                  HttpServletResponse response) {
         log.info("GET запрос на получение списка пользователей");
-        return userService.getListUsers(ids, from, size);
+        return ContinuationTokens.writeNext(userService.getListUsers(ids, ContinuationTokens.position(cursor, from),
+                size), response).getContent();
     }
 
     @PostMapping
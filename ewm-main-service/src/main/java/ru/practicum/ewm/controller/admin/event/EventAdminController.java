@@ -1,9 +1,11 @@
 package ru.practicum.ewm.controller.admin.event;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.ewm.controller.ContinuationTokens;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.SearchEventParamsAdmin;
 import ru.practicum.ewm.dto.UpdateEventAdminRequest;
@@ -27,9 +30,13 @@ public class EventAdminController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventFullDto> searchEvents(@Valid SearchEventParamsAdmin searchEventParamsAdmin) {
+    public List<EventFullDto> searchEvents(@Valid SearchEventParamsAdmin searchEventParamsAdmin,
+                                           HttpServletResponse response) {
         log.info("GET запрос на получение списка событий");
-        return eventService.getAllEventFromAdmin(searchEventParamsAdmin);
+        ScrollPosition position = ContinuationTokens.position(searchEventParamsAdmin.getCursor(),
+                searchEventParamsAdmin.getFrom());
+        return ContinuationTokens.writeNext(eventService.getAllEventFromAdmin(searchEventParamsAdmin, position),
+                response).getContent();
     }
 
     @PatchMapping("/{eventId}")
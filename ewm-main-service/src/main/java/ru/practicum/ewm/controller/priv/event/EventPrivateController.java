@@ -1,5 +1,6 @@
 package ru.practicum.ewm.controller.priv.event;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.ewm.controller.ContinuationTokens;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.dto.event.EventRequestStatusUpdateResult;
@@ -40,9 +42,12 @@ public class EventPrivateController {
     public List<EventShortDto> getAllEventsByUserId(
             @PathVariable @Min(1) Long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
         log.info("GET запрос на получения событий пользователя с id= {}", userId);
-        return eventService.getEventsByUserId(userId, from, size);
+        return ContinuationTokens.writeNext(eventService.getEventsByUserId(userId,
+                ContinuationTokens.position(cursor, from), size), response).getContent();
     }
 
     @PostMapping
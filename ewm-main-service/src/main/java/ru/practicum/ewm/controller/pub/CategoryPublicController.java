@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.service.CategoryService;
 
@@ -25,14 +26,15 @@ public class CategoryPublicController {
 
     @GetMapping
     public List<CategoryDto> getCategories(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                           @RequestParam(defaultValue = "10") @Positive Integer size) {
+                                           @RequestParam(defaultValue = "10") @Positive Integer size,
+                                           WebRequest webRequest) {
         log.info("GET запрос на получение категорий списком с размерами");
-        return categoryService.getCategories(from, size);
+        return categoryService.getCategories(from, size, webRequest);
     }
 
     @GetMapping("/{catId}")
-    public CategoryDto getCategory(@PathVariable Long catId) {
+    public CategoryDto getCategory(@PathVariable Long catId, WebRequest webRequest) {
         log.info("GET запрос на получение категории с id={}", catId);
-        return categoryService.getCategoryById(catId);
+        return categoryService.getCategoryById(catId, webRequest);
     }
 }
\ No newline at end of file
@@ -4,14 +4,13 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.service.CompilationService;
 
@@ -26,17 +25,17 @@ public class CompilationPublicController {
     private final CompilationService compilationService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
     public List<CompilationDto> getCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return compilationService.getCompilations(pinned, from, size);
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            WebRequest webRequest) {
+        return compilationService.getCompilations(pinned, from, size, webRequest);
     }
 
     @GetMapping("/{compId}")
-    public CompilationDto findByIdCompilation(@PathVariable Long compId) {
+    public CompilationDto findByIdCompilation(@PathVariable Long compId, WebRequest webRequest) {
         log.info("GET запрос на удаление подборки событий");
-        return compilationService.findByIdCompilation(compId);
+        return compilationService.findByIdCompilation(compId, webRequest);
     }
 }
\ No newline at end of file
@@ -1,15 +1,19 @@
 package ru.practicum.ewm.controller.pub.event;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.ewm.controller.ContinuationTokens;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventShortDto;
 import ru.practicum.ewm.dto.SearchEventParams;
@@ -27,15 +31,19 @@ public class EventPublicController {
 
     @GetMapping
     public List<EventShortDto> getAllEvents(@Valid SearchEventParams searchEventParams,
-                                            HttpServletRequest request) {
+                                            HttpServletRequest request,
+                                            HttpServletResponse response) {
         log.info("GET запрос на получения событий с фильтром");
-        return eventService.getAllEventFromPublic(searchEventParams, request);
+        ScrollPosition position = ContinuationTokens.position(searchEventParams.getCursor(), searchEventParams.getFrom());
+        return ContinuationTokens.writeNext(eventService.getAllEventFromPublic(searchEventParams, position, request),
+                response).getContent();
     }
 
     @GetMapping("/{eventId}")
     public EventFullDto getEventById(@PathVariable(value = "eventId") @Min(1) Long eventId,
-                                     HttpServletRequest request) {
+                                     HttpServletRequest request,
+                                     WebRequest webRequest) {
         log.info("GET запрос на получения полной информации о событии с  id= {}", eventId);
-        return eventService.getEventById(eventId, request);
+        return eventService.getEventById(eventId, request, webRequest);
     }
 }
\ No newline at end of file
@@ -33,4 +33,5 @@ public class SearchEventParams {
     private Integer from = 0;
     @Positive
     private Integer size = 10;
+    private String cursor;
 }
\ No newline at end of file
@@ -31,4 +31,5 @@ public class SearchEventParamsAdmin {
     private Integer from = 0;
     @Positive
     private Integer size = 10;
+    private String cursor;
 }
\ No newline at end of file
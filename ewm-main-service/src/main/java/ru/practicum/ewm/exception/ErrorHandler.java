@@ -3,6 +3,7 @@ package ru.practicum.ewm.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PSQLException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -40,7 +41,8 @@ public class ErrorHandler {
                 .build();
     }
 
-    @ExceptionHandler({PSQLException.class, ConflictException.class, DataIntegrityViolationException.class})
+    @ExceptionHandler({PSQLException.class, ConflictException.class, DataIntegrityViolationException.class,
+            OptimisticLockingFailureException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public ApiError handlerValidationException(Exception e) {
         log.debug("Получен статус 409 CONFLICT {}", e.getMessage());
@@ -0,0 +1,6 @@
+package ru.practicum.ewm.model.constants;
+
+public enum EventSort {
+    EVENT_DATE,
+    VIEWS
+}
@@ -10,10 +10,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.model.Location;
 import ru.practicum.ewm.model.User;
@@ -60,4 +62,14 @@ public class Event {
     private EventStatus eventStatus;
     @Column(name = "title", nullable = false, length = 120)
     private String title;
+    @ColumnDefault("0")
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false)
+    private int confirmedRequests;
+    @ColumnDefault("0")
+    @Column(name = "views", nullable = false, insertable = false, updatable = false)
+    private long views;
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
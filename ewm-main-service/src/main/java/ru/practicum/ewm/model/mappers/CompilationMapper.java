@@ -3,18 +3,24 @@ package ru.practicum.ewm.model.mappers;
 import lombok.experimental.UtilityClass;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.dto.NewCompilationDto;
+import ru.practicum.ewm.dto.event.EventShortDto;
 import ru.practicum.ewm.model.Compilation;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @UtilityClass
 public class CompilationMapper {
     public CompilationDto toDto(Compilation compilation) {
+        return toDto(compilation, compilation.getEvents().stream()
+                .map(EventMapper::toEventShortDto)
+                .collect(Collectors.toSet()));
+    }
+
+    public CompilationDto toDto(Compilation compilation, Set<EventShortDto> events) {
         return CompilationDto.builder()
                 .id(compilation.getId())
-                .events(compilation.getEvents().stream()
-                        .map(EventMapper::toEventShortDto)
-                        .collect(Collectors.toSet()))
+                .events(events)
                 .pinned(compilation.getPinned())
                 .title(compilation.getTitle())
                 .build();
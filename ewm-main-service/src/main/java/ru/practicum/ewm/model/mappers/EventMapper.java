@@ -3,8 +3,13 @@ package ru.practicum.ewm.model.mappers;
 import lombok.experimental.UtilityClass;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventShortDto;
+import ru.practicum.ewm.dto.CategoryDto;
+import ru.practicum.ewm.dto.LocationDto;
 import ru.practicum.ewm.dto.NewEventDto;
+import ru.practicum.ewm.dto.UserShortDto;
 import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.event.EventDetails;
+import ru.practicum.ewm.repository.event.EventSummary;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +36,7 @@ public class EventMapper {
                 .id(event.getId())
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.toCategoryDto(event.getCategory()))
+                .confirmedRequests(event.getConfirmedRequests())
                 .createdOn(event.getCreatedDate())
                 .description(event.getDescription())
                 .eventDate(event.getEventDate())
@@ -50,6 +56,7 @@ public class EventMapper {
                 .id(event.getId())
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.toCategoryDto(event.getCategory()))
+                .confirmedRequests(event.getConfirmedRequests())
                 .eventDate(event.getEventDate())
                 .initiator(UserMapper.toUserShortDto(event.getInitiator()))
                 .paid(event.isPaid())
@@ -57,6 +64,55 @@ public class EventMapper {
                 .build();
     }
 
+    public EventShortDto toEventShortDto(EventSummary event) {
+        return EventShortDto.builder()
+                .id(event.id())
+                .annotation(event.annotation())
+                .category(event.categoryId() == null ? null : new CategoryDto(event.categoryId(), event.categoryName()))
+                .confirmedRequests(event.confirmedRequests())
+                .eventDate(event.eventDate())
+                .initiator(event.initiatorId() == null ? null
+                        : new UserShortDto(event.initiatorId(), event.initiatorName()))
+                .paid(event.paid())
+                .title(event.title())
+                .build();
+    }
+
+    public EventShortDto toEventShortDto(EventDetails event) {
+        return EventShortDto.builder()
+                .id(event.id())
+                .annotation(event.annotation())
+                .category(event.categoryId() == null ? null : new CategoryDto(event.categoryId(), event.categoryName()))
+                .confirmedRequests(event.confirmedRequests())
+                .eventDate(event.eventDate())
+                .initiator(event.initiatorId() == null ? null
+                        : new UserShortDto(event.initiatorId(), event.initiatorName()))
+                .paid(event.paid())
+                .title(event.title())
+                .build();
+    }
+
+    public EventFullDto toEventFullDto(EventDetails event) {
+        return EventFullDto.builder()
+                .id(event.id())
+                .annotation(event.annotation())
+                .category(event.categoryId() == null ? null : new CategoryDto(event.categoryId(), event.categoryName()))
+                .confirmedRequests(event.confirmedRequests())
+                .createdOn(event.createdDate())
+                .description(event.description())
+                .eventDate(event.eventDate())
+                .initiator(event.initiatorId() == null ? null
+                        : new UserShortDto(event.initiatorId(), event.initiatorName()))
+                .location(event.lat() == null && event.lon() == null ? null : new LocationDto(event.lat(), event.lon()))
+                .paid(event.paid())
+                .participantLimit(event.participantLimit())
+                .publishedOn(event.publisherDate())
+                .requestModeration(event.requestModeration())
+                .state(event.eventStatus())
+                .title(event.title())
+                .build();
+    }
+
     public List<EventShortDto> eventToEventShortDtoList(List<Event> events) {
         return events == null ? new ArrayList<>() :
                 events.stream().map(EventMapper::toEventShortDto).collect(Collectors.toList());
@@ -0,0 +1,17 @@
+package ru.practicum.ewm.repository;
+
+/**
+ * A link between a compilation and one of its events, with the versions of everything the event contributes to the
+ * compilation, read from the join table without loading either side.
+ */
+public interface CompilationEventVersion {
+    Long getCompilationId();
+
+    Long getEventId();
+
+    Long getEventVersion();
+
+    int getConfirmedRequests();
+
+    Long getCategoryVersion();
+}
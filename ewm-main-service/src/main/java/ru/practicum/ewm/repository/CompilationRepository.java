@@ -2,10 +2,18 @@ package ru.practicum.ewm.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.model.Compilation;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id AS compilationId, e.id AS eventId, e.version AS eventVersion, "
+            + "e.confirmedRequests AS confirmedRequests, cat.version AS categoryVersion "
+            + "FROM compilations c JOIN c.events e LEFT JOIN e.category cat "
+            + "WHERE c.id IN :compilationIds ORDER BY c.id, e.id")
+    List<CompilationEventVersion> findEventVersions(Collection<Long> compilationIds);
+}
@@ -1,8 +1,9 @@
 package ru.practicum.ewm.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import ru.practicum.ewm.model.Request;
-import ru.practicum.ewm.model.constants.RequestStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,15 +13,20 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     Optional<Request> findByEventIdAndId(Long eventId, Long id);
 
-    int countByEventIdAndStatus(Long eventId, RequestStatus status);
-
-    List<Request> findAllByEventIdInAndStatus(List<Long> eventIds, RequestStatus status);
-
     Boolean existsByEventIdAndRequesterId(Long eventId, Long userId);
 
+    /**
+     * Locks the request, so that concurrent status changes of it apply one after another and adjust the confirmed
+     * counter of the event once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Request> findByIdAndRequesterId(Long id, Long requesterId);
 
     List<Request> findAllByRequesterId(Long userId);
 
-    Optional<List<Request>> findByEventIdAndIdIn(Long eventId, List<Long> id);
+    /**
+     * Locks the requests in id order, for the same reason as {@link #findByIdAndRequesterId}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<List<Request>> findByEventIdAndIdInOrderById(Long eventId, List<Long> id);
 }
\ No newline at end of file
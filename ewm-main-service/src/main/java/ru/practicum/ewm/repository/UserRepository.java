@@ -1,6 +1,9 @@
 package ru.practicum.ewm.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.ewm.model.User;
 
@@ -8,6 +11,8 @@ import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    List<User> findByIdIn(List<Long> ids, Pageable pageable);
+    Window<User> findByIdIn(List<Long> ids, ScrollPosition position, Limit limit, Sort sort);
 
-}
\ No newline at end of file
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+}
@@ -0,0 +1,26 @@
+package ru.practicum.ewm.repository.event;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    /**
+     * Runs {@code invalidation} now and again after the surrounding transaction completes, so that a read racing with
+     * the transaction cannot put the old state back into the cache.
+     */
+    static void nowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.ewm.repository.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically recounts the confirmed requests of events and fixes the {@code confirmed_requests} counters that drifted
+ * from the {@code requests} table. Events are walked in id ranges so that each statement locks only a few rows.
+ */
+@Slf4j
+@Component
+public class ConfirmedRequestsReconciler implements DisposableBean {
+    private static final String CONFIRMED_COUNT = "(SELECT COUNT(*) FROM requests r "
+            + "WHERE r.event_id = events.id AND r.status = 'CONFIRMED')";
+    private static final String RECONCILE = "UPDATE events SET confirmed_requests = " + CONFIRMED_COUNT
+            + " WHERE id > ? AND id <= ? AND confirmed_requests <> " + CONFIRMED_COUNT;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    public ConfirmedRequestsReconciler(JdbcTemplate jdbcTemplate,
+                                       @Value("${ewm.requests.reconcile.enabled:true}") boolean enabled,
+                                       @Value("${ewm.requests.reconcile.interval-ms:3600000}") long intervalMs,
+                                       @Value("${ewm.requests.reconcile.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("confirmed-requests-reconcile").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs one pass and returns the number of events whose counter was corrected.
+     */
+    public int reconcile() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Long.class);
+        int fixed = 0;
+        for (long from = 0; maxId != null && from < maxId; from += batchSize) {
+            fixed += jdbcTemplate.update(RECONCILE, from, from + batchSize);
+        }
+        if (fixed > 0) {
+            log.warn("Corrected confirmed request counters of {} events", fixed);
+        }
+        return fixed;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile confirmed request counters: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
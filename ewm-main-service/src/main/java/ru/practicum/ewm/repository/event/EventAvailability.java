@@ -0,0 +1,21 @@
+package ru.practicum.ewm.repository.event;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.event.Event;
+
+/**
+ * Events that still accept participants: those without a limit and those whose confirmed request counter is below
+ * the limit. The predicate compares columns and literals only, so that PostgreSQL can match it against the partial
+ * indexes of available events in {@code schema-postgresql.sql}.
+ */
+public final class EventAvailability {
+
+    private EventAvailability() {
+    }
+
+    public static Specification<Event> hasFreeSlots() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.equal(root.get("participantLimit"), criteriaBuilder.literal(0)),
+                criteriaBuilder.lessThan(root.get("confirmedRequests"), root.get("participantLimit")));
+    }
+}
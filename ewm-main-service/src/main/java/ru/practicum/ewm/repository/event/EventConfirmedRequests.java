@@ -0,0 +1,10 @@
+package ru.practicum.ewm.repository.event;
+
+/**
+ * The current confirmed requests of an event, read without the rest of its row.
+ */
+public interface EventConfirmedRequests {
+    Long getId();
+
+    int getConfirmedRequests();
+}
@@ -0,0 +1,30 @@
+package ru.practicum.ewm.repository.event;
+
+import ru.practicum.ewm.model.constants.EventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of {@link EventSummary} together with the remaining event and location columns of a full listing.
+ */
+public record EventDetails(Long id,
+                           String annotation,
+                           Long categoryId,
+                           String categoryName,
+                           int confirmedRequests,
+                           LocalDateTime eventDate,
+                           Long initiatorId,
+                           String initiatorName,
+                           boolean paid,
+                           String title,
+                           long views,
+                           LocalDateTime createdDate,
+                           String description,
+                           Float lat,
+                           Float lon,
+                           int participantLimit,
+                           LocalDateTime publisherDate,
+                           boolean requestModeration,
+                           EventStatus eventStatus,
+                           Long version) implements EventSortKeys {
+}
@@ -0,0 +1,26 @@
+package ru.practicum.ewm.repository.event;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.event.Event;
+
+import java.util.List;
+
+/**
+ * Event listings that select only the columns of their DTOs, joining category, initiator and location in the same
+ * statement instead of loading {@link Event} entities with their associations.
+ */
+public interface EventProjections {
+
+    Window<EventSummary> findSummaries(Specification<Event> specification, Sort sort, ScrollPosition position,
+                                       int limit);
+
+    List<EventSummary> findSummaries(Specification<Event> specification);
+
+    Window<EventDetails> findDetails(Specification<Event> specification, Sort sort, ScrollPosition position,
+                                     int limit);
+
+    List<EventDetails> findDetails(Specification<Event> specification);
+}
@@ -0,0 +1,169 @@
+package ru.practicum.ewm.repository.event;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Location;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.event.Event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+class EventProjectionsImpl implements EventProjections {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<EventSummary> findSummaries(Specification<Event> specification, Sort sort, ScrollPosition position,
+                                              int limit) {
+        return window(EventSummary.class, false, specification, sort, position, limit);
+    }
+
+    @Override
+    public List<EventSummary> findSummaries(Specification<Event> specification) {
+        return query(EventSummary.class, false, specification, Sort.unsorted(), null).getResultList();
+    }
+
+    @Override
+    public Window<EventDetails> findDetails(Specification<Event> specification, Sort sort, ScrollPosition position,
+                                            int limit) {
+        return window(EventDetails.class, true, specification, sort, position, limit);
+    }
+
+    @Override
+    public List<EventDetails> findDetails(Specification<Event> specification) {
+        return query(EventDetails.class, true, specification, Sort.unsorted(), null).getResultList();
+    }
+
+    /**
+     * Reads one row more than {@code limit} to tell whether another window follows, like the scroll queries of
+     * Spring Data, and resumes offset positions after the given offset and keyset positions after the given keys.
+     */
+    private <T extends EventSortKeys> Window<T> window(Class<T> type, boolean details,
+                                                       Specification<Event> specification, Sort sort,
+                                                       ScrollPosition position, int limit) {
+        KeysetScrollPosition keyset = position instanceof KeysetScrollPosition keysetPosition
+                && !keysetPosition.isInitial() ? keysetPosition : null;
+        long offset = position instanceof OffsetScrollPosition offsetPosition && !offsetPosition.isInitial()
+                ? offsetPosition.getOffset() + 1
+                : 0;
+        List<T> rows = query(type, details, specification, sort, keyset)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+        IntFunction<ScrollPosition> positions = position instanceof OffsetScrollPosition
+                ? index -> ScrollPosition.offset(offset + index)
+                : index -> ScrollPosition.forward(keys(content.get(index), sort));
+        return Window.from(content, positions, hasNext);
+    }
+
+    private <T> TypedQuery<T> query(Class<T> type, boolean details, Specification<Event> specification, Sort sort,
+                                    KeysetScrollPosition keyset) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(type);
+        Root<Event> root = query.from(Event.class);
+        query.select(criteriaBuilder.construct(type, columns(root, details)));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification.toPredicate(root, query, criteriaBuilder);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (keyset != null) {
+            predicates.add(after(criteriaBuilder, root, sort, keyset.getKeys()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Selection<?>[] columns(Root<Event> root, boolean details) {
+        Join<Event, Category> category = root.join("category", JoinType.LEFT);
+        Join<Event, User> initiator = root.join("initiator", JoinType.LEFT);
+        List<Selection<?>> columns = new ArrayList<>(List.of(
+                root.get("id"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("confirmedRequests"),
+                root.get("eventDate"),
+                initiator.get("id"),
+                initiator.get("name"),
+                root.get("paid"),
+                root.get("title"),
+                root.get("views")));
+        if (details) {
+            Join<Event, Location> location = root.join("location", JoinType.LEFT);
+            columns.addAll(List.of(
+                    root.get("createdDate"),
+                    root.get("description"),
+                    location.get("lat"),
+                    location.get("lon"),
+                    root.get("participantLimit"),
+                    root.get("publisherDate"),
+                    root.get("requestModeration"),
+                    root.get("eventStatus"),
+                    root.get("version")));
+        }
+        return columns.toArray(Selection<?>[]::new);
+    }
+
+    /**
+     * Rows strictly after {@code keys} in {@code sort}: {@code (a > :a) or (a = :a and b > :b) or ...}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder criteriaBuilder, Root<Event> root, Sort sort,
+                                   Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalBefore = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            List<Predicate> alternative = new ArrayList<>(equalBefore);
+            alternative.add(order.isAscending()
+                    ? criteriaBuilder.greaterThan(path, value)
+                    : criteriaBuilder.lessThan(path, value));
+            alternatives.add(criteriaBuilder.and(alternative.toArray(Predicate[]::new)));
+            equalBefore.add(criteriaBuilder.equal(path, value));
+        }
+        return criteriaBuilder.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static Map<String, Object> keys(EventSortKeys row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), switch (order.getProperty()) {
+                case "id" -> row.id();
+                case "eventDate" -> row.eventDate();
+                case "views" -> row.views();
+                default -> throw new IllegalArgumentException("Unsupported sort property " + order.getProperty());
+            });
+        }
+        return keys;
+    }
+}
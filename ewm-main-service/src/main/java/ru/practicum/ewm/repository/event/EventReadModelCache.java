@@ -0,0 +1,75 @@
+package ru.practicum.ewm.repository.event;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read models of events by id, bounded in size and kept for a TTL, so that popular events are mapped without a
+ * query. Misses of several ids are loaded with one projection query. Confirmed requests and views change with every
+ * request and hit, so the cached values of those two columns are stale and callers layer the current ones on top.
+ * Writers invalidate the events they change both immediately and after their transaction completes.
+ */
+@Component
+public class EventReadModelCache {
+    private final LoadingCache<Long, EventDetails> events;
+
+    public EventReadModelCache(EventRepository eventRepository,
+                               ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${ewm.events.cache.max-size:10000}") long maxSize,
+                               @Value("${ewm.events.cache.ttl-ms:300000}") long ttlMs) {
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public EventDetails load(Long id) {
+                        return loadAll(Set.of(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<Long, EventDetails> loadAll(Set<? extends Long> ids) {
+                        return eventRepository.findDetails((root, query, criteriaBuilder) -> root.get("id").in(ids))
+                                .stream()
+                                .collect(Collectors.toMap(EventDetails::id, Function.identity()));
+                    }
+                });
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, events, "event-read-models"));
+    }
+
+    /**
+     * Returns the read model of the event, or {@code null} when it does not exist.
+     */
+    public EventDetails get(Long id) {
+        return events.get(id);
+    }
+
+    /**
+     * Returns the read models of the existing events among {@code ids}.
+     */
+    public Map<Long, EventDetails> getAll(Collection<Long> ids) {
+        return events.getAll(ids);
+    }
+
+    public void invalidate(Long id) {
+        CacheInvalidation.nowAndAfterCompletion(() -> events.invalidate(id));
+    }
+
+    public void invalidateCategory(Long categoryId) {
+        CacheInvalidation.nowAndAfterCompletion(() ->
+                events.asMap().values().removeIf(event -> categoryId.equals(event.categoryId())));
+    }
+}
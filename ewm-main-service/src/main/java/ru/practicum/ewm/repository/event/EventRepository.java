@@ -1,18 +1,49 @@
 package ru.practicum.ewm.repository.event;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.constants.EventStatus;
 import ru.practicum.ewm.model.event.Event;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventProjections {
 
     Optional<Event> findByInitiatorIdAndId(Long userId, Long eventId);
 
     List<Event> findByCategory(Category category);
 
     List<Event> findAllByIdIn(List<Long> ids);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.annotation AS annotation, e.description AS description "
+            + "FROM events e WHERE e.eventStatus = :status AND e.id > :afterId ORDER BY e.id")
+    List<EventText> findTextsByStatusAfter(EventStatus status, Long afterId, Pageable pageable);
+
+    @Query("SELECT e.eventStatus AS eventStatus, e.version AS version, c.version AS categoryVersion, "
+            + "e.confirmedRequests AS confirmedRequests, e.views AS views "
+            + "FROM events e LEFT JOIN e.category c WHERE e.id = :eventId")
+    Optional<EventVersion> findVersionById(Long eventId);
+
+    @Query("SELECT e.id AS id, e.confirmedRequests AS confirmedRequests FROM events e WHERE e.id IN :eventIds")
+    List<EventConfirmedRequests> findConfirmedRequestsByIdIn(Collection<Long> eventIds);
+
+    /**
+     * Takes {@code count} participant slots if the limit allows it; returns 0 when it does not.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET confirmed_requests = confirmed_requests + :count WHERE id = :eventId "
+            + "AND (participant_limit = 0 OR confirmed_requests + :count <= participant_limit)", nativeQuery = true)
+    int reserveConfirmedRequests(Long eventId, int count);
+
+    @Modifying
+    @Query(value = "UPDATE events SET confirmed_requests = confirmed_requests - :count WHERE id = :eventId "
+            + "AND confirmed_requests >= :count", nativeQuery = true)
+    int releaseConfirmedRequests(Long eventId, int count);
 }
\ No newline at end of file
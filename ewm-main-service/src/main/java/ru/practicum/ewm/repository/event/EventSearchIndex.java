@@ -0,0 +1,431 @@
+package ru.practicum.ewm.repository.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over title, annotation and description of published events. Every word of a query must
+ * prefix-match a word of the event; an event scores the weight of the best field each query word matched in, title
+ * above annotation above description.
+ *
+ * <p>The index is rebuilt from the database when the application starts, tokenizing pages of events in parallel, and is
+ * then kept current by {@link #update(Event)} after each committed change. Until the first build finishes
+ * {@link #search(String)} returns {@code null} and callers fall back to the database search.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex {
+    private static final byte TITLE = 4;
+    private static final byte ANNOTATION = 2;
+    private static final byte DESCRIPTION = 1;
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int threads;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+    private Map<Long, String[]> documentTerms = new HashMap<>();
+    private List<Document> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${ewm.search.index.enabled:true}") boolean enabled,
+                            @Value("${ewm.search.index.rebuild-page-size:5000}") int pageSize,
+                            @Value("${ewm.search.index.rebuild-threads:0}") int threads) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (enabled) {
+            Thread.ofPlatform().name("event-search-index-rebuild").daemon().start(this::rebuild);
+        }
+    }
+
+    /**
+     * Ranked ids of the published events matching {@code text}, best first, or {@code null} while the index is not
+     * built yet.
+     */
+    public long[] search(String text) {
+        if (!ready) {
+            return null;
+        }
+        List<String> words = TextTokens.of(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Matches matches = null;
+            for (String word : words) {
+                Matches wordMatches = prefixMatches(word);
+                matches = matches == null ? wordMatches : matches.intersect(wordMatches);
+                if (matches.size == 0) {
+                    break;
+                }
+            }
+            return matches.ranked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a published event or drops any other one. Inside a transaction the change is applied after commit.
+     */
+    public void update(Event event) {
+        if (!enabled) {
+            return;
+        }
+        Document document = new Document(event.getId(), event.getTitle(), event.getAnnotation(),
+                event.getDescription(), event.getEventStatus() == EventStatus.PUBLISHED);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(document);
+                }
+            });
+        } else {
+            apply(document);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        NavigableMap<String, Postings> rebuilt = new TreeMap<>();
+        Map<Long, String[]> rebuiltDocuments = new HashMap<>();
+        int events = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<PageIndex>> pages = new ArrayList<>();
+            long afterId = 0;
+            while (true) {
+                List<EventText> page = eventRepository.findTextsByStatusAfter(EventStatus.PUBLISHED, afterId,
+                        PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                events += page.size();
+                afterId = page.get(page.size() - 1).getId();
+                pages.add(executor.submit(() -> indexPage(page)));
+            }
+            Map<String, List<Postings>> parts = new HashMap<>();
+            for (Future<PageIndex> page : pages) {
+                PageIndex pageIndex = page.get();
+                pageIndex.terms().forEach((term, postings) -> parts.computeIfAbsent(term, key -> new ArrayList<>())
+                        .add(postings));
+                rebuiltDocuments.putAll(pageIndex.documentTerms());
+            }
+            parts.forEach((term, termParts) -> rebuilt.put(term, Postings.concat(termParts)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Event search index rebuild interrupted");
+            abandonRebuild();
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Event search index rebuild failed, searching the database instead", e);
+            abandonRebuild();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            terms = rebuilt;
+            documentTerms = rebuiltDocuments;
+            List<Document> pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+            pending.forEach(this::applyLocked);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event search index built from {} events and {} terms in {} ms", events, rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void abandonRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Document document) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(document);
+            }
+            applyLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the event from the postings of the terms it was indexed under, found through {@link #documentTerms}
+     * rather than by scanning the vocabulary, then indexes it again if it is published.
+     */
+    private void applyLocked(Document document) {
+        String[] previous = documentTerms.remove(document.id());
+        if (previous != null) {
+            for (String term : previous) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(document.id()) && postings.size == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+        if (document.published()) {
+            Map<String, Byte> masks = fieldMasks(document.title(), document.annotation(), document.description());
+            masks.forEach((term, mask) -> terms.computeIfAbsent(term, key -> new Postings()).put(document.id(), mask));
+            documentTerms.put(document.id(), masks.keySet().toArray(String[]::new));
+        }
+    }
+
+    private static PageIndex indexPage(List<EventText> page) {
+        Map<String, Postings> partial = new HashMap<>(1 << 14);
+        Map<Long, String[]> documents = new HashMap<>(page.size() * 2);
+        for (EventText text : page) {
+            long id = text.getId();
+            Map<String, Byte> masks = fieldMasks(text.getTitle(), text.getAnnotation(), text.getDescription());
+            masks.forEach((term, mask) -> partial.computeIfAbsent(term, key -> new Postings()).appendField(id, mask));
+            documents.put(id, masks.keySet().toArray(String[]::new));
+        }
+        return new PageIndex(partial, documents);
+    }
+
+    private static Map<String, Byte> fieldMasks(String title, String annotation, String description) {
+        Map<String, Byte> masks = new HashMap<>();
+        addField(masks, title, TITLE);
+        addField(masks, annotation, ANNOTATION);
+        addField(masks, description, DESCRIPTION);
+        return masks;
+    }
+
+    private static void addField(Map<String, Byte> masks, String text, byte field) {
+        for (String word : TextTokens.of(text)) {
+            masks.merge(word, field, (a, b) -> (byte) (a | b));
+        }
+    }
+
+    private Matches prefixMatches(String prefix) {
+        NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        if (range.size() == 1) {
+            return Matches.of(range.firstEntry().getValue());
+        }
+        int total = 0;
+        for (Postings postings : range.values()) {
+            total += postings.size;
+        }
+        long[] packed = new long[total];
+        int n = 0;
+        for (Postings postings : range.values()) {
+            for (int i = 0; i < postings.size; i++) {
+                packed[n++] = postings.ids[i] << 3 | bestWeight(postings.masks[i]);
+            }
+        }
+        Arrays.sort(packed);
+        Matches matches = new Matches(total);
+        for (long value : packed) {
+            long id = value >>> 3;
+            int weight = (int) (value & 7);
+            if (matches.size > 0 && matches.ids[matches.size - 1] == id) {
+                matches.scores[matches.size - 1] = Math.max(matches.scores[matches.size - 1], weight);
+            } else {
+                matches.ids[matches.size] = id;
+                matches.scores[matches.size++] = weight;
+            }
+        }
+        return matches;
+    }
+
+    private static int bestWeight(byte mask) {
+        return Integer.highestOneBit(mask);
+    }
+
+    private record Document(long id, String title, String annotation, String description, boolean published) {
+    }
+
+    /**
+     * Postings of one page of events and the terms each of its events is indexed under.
+     */
+    private record PageIndex(Map<String, Postings> terms, Map<Long, String[]> documentTerms) {
+    }
+
+    /**
+     * Event ids sorted ascending with the field mask each one has for a term.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private byte[] masks = new byte[4];
+        private int size;
+
+        void put(long id, byte mask) {
+            int index = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                masks[index] = mask;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(masks, insertAt, masks, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            masks[insertAt] = mask;
+            size++;
+        }
+
+        /**
+         * Adds fields to the last id or appends a new, greater id.
+         */
+        void appendField(long id, byte fields) {
+            if (size > 0 && ids[size - 1] == id) {
+                masks[size - 1] |= fields;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            ids[size] = id;
+            masks[size++] = fields;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(masks, index + 1, masks, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Concatenates postings of consecutive pages, whose ids all follow the ids of the previous page.
+         */
+        static Postings concat(List<Postings> pages) {
+            if (pages.size() == 1) {
+                return pages.get(0);
+            }
+            int total = 0;
+            for (Postings page : pages) {
+                total += page.size;
+            }
+            Postings result = new Postings();
+            result.ids = new long[total];
+            result.masks = new byte[total];
+            for (Postings page : pages) {
+                System.arraycopy(page.ids, 0, result.ids, result.size, page.size);
+                System.arraycopy(page.masks, 0, result.masks, result.size, page.size);
+                result.size += page.size;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Matching event ids sorted ascending with their accumulated scores.
+     */
+    private static final class Matches {
+        private static final int ID_BITS = 44;
+        private static final long ID_MASK = (1L << ID_BITS) - 1;
+        private static final int MAX_SCORE = (1 << 19) - 1;
+
+        private final long[] ids;
+        private final int[] scores;
+        private int size;
+
+        Matches(int capacity) {
+            ids = new long[capacity];
+            scores = new int[capacity];
+        }
+
+        static Matches of(Postings postings) {
+            Matches matches = new Matches(postings.size);
+            System.arraycopy(postings.ids, 0, matches.ids, 0, postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                matches.scores[i] = bestWeight(postings.masks[i]);
+            }
+            matches.size = postings.size;
+            return matches;
+        }
+
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    result.ids[result.size] = ids[i];
+                    result.scores[result.size++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Ids by descending score, then ascending id. Packs both into one long so that a primitive sort does it;
+         * ids stay below 2^44 and scores below 2^19.
+         */
+        long[] ranked() {
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = (long) (MAX_SCORE - Math.min(scores[i], MAX_SCORE)) << ID_BITS | ids[i];
+            }
+            Arrays.sort(packed);
+            long[] ranked = new long[size];
+            for (int i = 0; i < size; i++) {
+                ranked[i] = packed[i] & ID_MASK;
+            }
+            return ranked;
+        }
+    }
+}
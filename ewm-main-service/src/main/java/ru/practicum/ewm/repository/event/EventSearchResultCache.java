@@ -0,0 +1,84 @@
+package ru.practicum.ewm.repository.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.dto.SearchEventParams;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered event ids of public search pages, keyed by the canonical form of the search, so that repeated filter
+ * combinations skip the search query and are assembled from {@link EventReadModelCache}. Entries are tagged with the
+ * categories they filter by; publishing an event drops the entries of its category and those without a category
+ * filter. Changes of confirmed requests and views are only picked up after the TTL.
+ */
+@Component
+public class EventSearchResultCache {
+    private final Cache<SearchKey, ResultPage> pages;
+
+    public EventSearchResultCache(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${ewm.search.cache.max-size:10000}") long maxSize,
+                                  @Value("${ewm.search.cache.ttl-ms:30000}") long ttlMs) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, pages, "event-search-results"));
+    }
+
+    public ResultPage get(SearchKey key) {
+        return pages.getIfPresent(key);
+    }
+
+    public void put(SearchKey key, Window<? extends EventSortKeys> window) {
+        List<Long> ids = new ArrayList<>(window.size());
+        List<ScrollPosition> positions = new ArrayList<>(window.size());
+        for (int i = 0; i < window.size(); i++) {
+            ids.add(window.getContent().get(i).id());
+            positions.add(window.positionAt(i));
+        }
+        pages.put(key, new ResultPage(List.copyOf(ids), List.copyOf(positions), window.hasNext()));
+    }
+
+    public void invalidateCategory(Long categoryId) {
+        CacheInvalidation.nowAndAfterCompletion(() ->
+                pages.asMap().keySet().removeIf(key -> key.categories().isEmpty()
+                        || key.categories().contains(categoryId)));
+    }
+
+    /**
+     * A public search with sorted, distinct categories and its lower bound resolved by the caller, so that equal
+     * filters written differently share an entry.
+     */
+    public record SearchKey(String text,
+                            List<Long> categories,
+                            Boolean paid,
+                            LocalDateTime rangeStart,
+                            LocalDateTime rangeEnd,
+                            boolean onlyAvailable,
+                            String sort,
+                            ScrollPosition position,
+                            int size) {
+
+        public static SearchKey of(SearchEventParams params, LocalDateTime rangeStart, ScrollPosition position) {
+            List<Long> categories = params.getCategories() == null ? List.of()
+                    : params.getCategories().stream().distinct().sorted().toList();
+            return new SearchKey(params.getText(), categories, params.getPaid(), rangeStart, params.getRangeEnd(),
+                    Boolean.TRUE.equals(params.getOnlyAvailable()), params.getSort(), position, params.getSize());
+        }
+    }
+
+    public record ResultPage(List<Long> ids, List<ScrollPosition> positions, boolean hasNext) {
+    }
+}
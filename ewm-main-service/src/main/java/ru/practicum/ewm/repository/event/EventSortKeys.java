@@ -0,0 +1,14 @@
+package ru.practicum.ewm.repository.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns an event listing may be ordered by, read from a projected row to build its keyset position.
+ */
+public interface EventSortKeys {
+    Long id();
+
+    LocalDateTime eventDate();
+
+    long views();
+}
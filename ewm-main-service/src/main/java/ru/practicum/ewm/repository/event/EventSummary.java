@@ -0,0 +1,19 @@
+package ru.practicum.ewm.repository.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of an event and of its category and initiator needed for a short listing, read in one statement.
+ */
+public record EventSummary(Long id,
+                           String annotation,
+                           Long categoryId,
+                           String categoryName,
+                           int confirmedRequests,
+                           LocalDateTime eventDate,
+                           Long initiatorId,
+                           String initiatorName,
+                           boolean paid,
+                           String title,
+                           long views) implements EventSortKeys {
+}
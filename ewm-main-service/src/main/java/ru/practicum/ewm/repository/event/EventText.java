@@ -0,0 +1,14 @@
+package ru.practicum.ewm.repository.event;
+
+/**
+ * The searchable text of an event, loaded without its associations.
+ */
+public interface EventText {
+    Long getId();
+
+    String getTitle();
+
+    String getAnnotation();
+
+    String getDescription();
+}
@@ -0,0 +1,12 @@
+package ru.practicum.ewm.repository.event;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.event.Event;
+
+/**
+ * Text filter of the public event search. The returned specification keeps events whose title, annotation or
+ * description match the text and orders them by relevance, most relevant first.
+ */
+public interface EventTextSearch {
+    Specification<Event> matching(String text);
+}
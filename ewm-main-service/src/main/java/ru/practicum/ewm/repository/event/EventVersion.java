@@ -0,0 +1,19 @@
+package ru.practicum.ewm.repository.event;
+
+import ru.practicum.ewm.model.constants.EventStatus;
+
+/**
+ * What the public representation of an event depends on, read without loading the event, to answer conditional
+ * requests: its own and its category's versions and the counters that are updated without a version increment.
+ */
+public interface EventVersion {
+    EventStatus getEventStatus();
+
+    Long getVersion();
+
+    Long getCategoryVersion();
+
+    int getConfirmedRequests();
+
+    long getViews();
+}
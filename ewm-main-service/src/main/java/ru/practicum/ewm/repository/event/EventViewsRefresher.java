@@ -0,0 +1,106 @@
+package ru.practicum.ewm.repository.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.CachingStatsClient;
+import ru.practicum.ewm.HitsByEventId;
+import ru.practicum.ewm.StatsClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@code views} column of events close to the unique views counted by stat-server, so that events can be
+ * ordered by views with an index. Each pass asks stat-server only which events were hit since the previous pass and
+ * then reloads the totals of those events; the first pass after start covers all events that were ever hit.
+ * Hits are delivered asynchronously, so every pass looks back an extra {@code overlap} before the previous one.
+ * Passes run in the background and bypass the request deadline of {@link ru.practicum.ewm.StatsCallGuard}.
+ */
+@Slf4j
+@Component
+public class EventViewsRefresher implements DisposableBean {
+    private static final String UPDATE_VIEWS = "UPDATE events SET views = ? WHERE id = ? AND views <> ?";
+
+    private final StatsClient statsClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final Duration overlap;
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+    private LocalDateTime lastRefresh;
+
+    public EventViewsRefresher(StatsClient statsClient,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${ewm.views.refresh.enabled:true}") boolean enabled,
+                               @Value("${ewm.views.refresh.interval-ms:10000}") long intervalMs,
+                               @Value("${ewm.views.refresh.overlap-ms:60000}") long overlapMs,
+                               @Value("${ewm.views.refresh.batch-size:1000}") int batchSize) {
+        this.statsClient = statsClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("event-views-refresh")
+                    .daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs one pass and returns the number of events whose stored views changed.
+     */
+    public synchronized int refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh == null ? CachingStatsClient.STATS_EPOCH : lastRefresh.minus(overlap);
+        long[] touched = statsClient.getEventHits(since, now, List.of(), false).eventIds();
+        int changed = 0;
+        for (int start = 0; start < touched.length; start += batchSize) {
+            List<Long> ids = Arrays.stream(touched, start, Math.min(touched.length, start + batchSize)).boxed()
+                    .toList();
+            HitsByEventId views = statsClient.getEventHits(CachingStatsClient.STATS_EPOCH, now, ids, true);
+            List<Object[]> updates = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                long count = views.get(id);
+                updates.add(new Object[]{count, id, count});
+            }
+            changed += Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_VIEWS, updates)).filter(rows -> rows > 0).sum();
+        }
+        lastRefresh = now;
+        log.debug("Refreshed views of {} events hit since {}, {} changed", touched.length, since, changed);
+        return changed;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh event views: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
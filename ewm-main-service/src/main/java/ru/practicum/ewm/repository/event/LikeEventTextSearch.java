@@ -0,0 +1,57 @@
+package ru.practicum.ewm.repository.event;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.event.Event;
+
+import java.util.Locale;
+
+/**
+ * Substring search with {@code LIKE}, portable to any database including H2. Every search scans the table, so it is
+ * meant for tests and small installations. A title match ranks above an annotation match, which ranks above a
+ * description match.
+ */
+@Component
+@ConditionalOnProperty(name = "ewm.search.text-engine", havingValue = "like", matchIfMissing = true)
+public class LikeEventTextSearch implements EventTextSearch {
+    private static final char ESCAPE = '\\';
+
+    @Override
+    public Specification<Event> matching(String text) {
+        String pattern = "%" + escape(text.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> {
+            Predicate inTitle = contains(root, cb, "title", pattern);
+            Predicate inAnnotation = contains(root, cb, "annotation", pattern);
+            Predicate inDescription = contains(root, cb, "description", pattern);
+            Expression<Integer> rank = cb.sum(cb.sum(weight(cb, inTitle, 4), weight(cb, inAnnotation, 2)),
+                    weight(cb, inDescription, 1));
+            query.orderBy(cb.desc(rank), cb.asc(root.get("id")));
+            return cb.or(inTitle, inAnnotation, inDescription);
+        };
+    }
+
+    private static Predicate contains(Root<Event> root, CriteriaBuilder cb, String field, String pattern) {
+        return cb.like(cb.lower(root.get(field)), pattern, ESCAPE);
+    }
+
+    private static Expression<Integer> weight(CriteriaBuilder cb, Predicate matched, int weight) {
+        return cb.<Integer>selectCase().when(matched, weight).otherwise(0);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.ewm.repository.event;
+
+import jakarta.persistence.criteria.Expression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.event.Event;
+
+/**
+ * Full-text search on PostgreSQL. Every word of the text must prefix-match a word of the event, and events are ranked
+ * with {@code ts_rank_cd} where title words weigh more than annotation words and those more than description words.
+ * The SQL functions and the GIN index they hit are created by {@code schema-postgresql.sql}.
+ */
+@Component
+@ConditionalOnProperty(name = "ewm.search.text-engine", havingValue = "postgres")
+public class PostgresEventTextSearch implements EventTextSearch {
+
+    @Override
+    public Specification<Event> matching(String text) {
+        String tsQuery = toTsQuery(text);
+        if (tsQuery.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<String> tsQueryParameter = cb.literal(tsQuery);
+            Expression<Float> rank = cb.function("event_text_rank", Float.class, root.get("title"),
+                    root.get("annotation"), root.get("description"), tsQueryParameter);
+            query.orderBy(cb.desc(rank), cb.asc(root.get("id")));
+            return cb.isTrue(cb.function("event_text_matches", Boolean.class, root.get("title"),
+                    root.get("annotation"), root.get("description"), tsQueryParameter));
+        };
+    }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression that ANDs prefix matches of its words. Everything but
+     * letters and digits separates words, so the result never contains tsquery operators from the input.
+     */
+    static String toTsQuery(String text) {
+        StringBuilder tsQuery = new StringBuilder(text.length() + 16);
+        for (String word : TextTokens.of(text)) {
+            if (!tsQuery.isEmpty()) {
+                tsQuery.append(" & ");
+            }
+            tsQuery.append(word).append(":*");
+        }
+        return tsQuery.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.ewm.repository.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-cased words. Everything but letters and digits separates words.
+ */
+final class TextTokens {
+
+    private TextTokens() {
+    }
+
+    static List<String> of(String text) {
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        List<String> words = new ArrayList<>(Math.max(4, text.length() / 6));
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int length = lowerCase.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(lowerCase.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(lowerCase.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                words.add(lowerCase.substring(start, i));
+            }
+        }
+        return words;
+    }
+}
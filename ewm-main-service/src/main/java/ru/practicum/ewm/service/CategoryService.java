@@ -1,5 +1,6 @@
 package ru.practicum.ewm.service;
 
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.dto.NewCategoryDto;
 
@@ -7,9 +8,12 @@ import java.util.List;
 
 
 public interface CategoryService {
-    List<CategoryDto> getCategories(Integer from, Integer size);
+    /**
+     * Returns {@code null} and marks the response as not modified when {@code webRequest} already has this page.
+     */
+    List<CategoryDto> getCategories(Integer from, Integer size, WebRequest webRequest);
 
-    CategoryDto getCategoryById(Long catId);
+    CategoryDto getCategoryById(Long catId, WebRequest webRequest);
 
     CategoryDto addNewCategory(NewCategoryDto newCategoryDto);
 
@@ -1,5 +1,6 @@
 package ru.practicum.ewm.service;
 
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.dto.NewCompilationDto;
 import ru.practicum.ewm.dto.UpdateCompilationDto;
@@ -13,7 +14,10 @@ public interface CompilationService {
 
     void deleteCompilation(Long compId);
 
-    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size);
+    /**
+     * Returns {@code null} and marks the response as not modified when {@code webRequest} already has this page.
+     */
+    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, WebRequest webRequest);
 
-    CompilationDto findByIdCompilation(Long compId);
+    CompilationDto findByIdCompilation(Long compId, WebRequest webRequest);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package ru.practicum.ewm.service;
 
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.ewm.dto.NewUserRequest;
 import ru.practicum.ewm.dto.UserDto;
 
@@ -10,5 +12,5 @@ public interface UserService {
 
     void deleteUser(Long userId);
 
-    List<UserDto> getListUsers(List<Long> ids, Integer from, Integer size);
+    Window<UserDto> getListUsers(List<Long> ids, ScrollPosition position, Integer size);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package ru.practicum.ewm.service.event;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.dto.event.EventRequestStatusUpdateResult;
@@ -16,11 +19,11 @@ import java.util.List;
 
 public interface EventService {
 
-    List<EventFullDto> getAllEventFromAdmin(SearchEventParamsAdmin searchEventParamsAdmin);
+    Window<EventFullDto> getAllEventFromAdmin(SearchEventParamsAdmin searchEventParamsAdmin, ScrollPosition position);
 
     EventFullDto updateEventFromAdmin(Long eventId, UpdateEventAdminRequest inputUpdate);
 
-    List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size);
+    Window<EventShortDto> getEventsByUserId(Long userId, ScrollPosition position, Integer size);
 
     EventFullDto addNewEvent(Long userId, NewEventDto input);
 
@@ -32,7 +35,11 @@ public interface EventService {
 
     EventRequestStatusUpdateResult updateStatusRequest(Long userId, Long eventId, EventRequestStatusUpdateRequest inputUpdate);
 
-    List<EventShortDto> getAllEventFromPublic(SearchEventParams searchEventParams, HttpServletRequest request);
+    Window<EventShortDto> getAllEventFromPublic(SearchEventParams searchEventParams, ScrollPosition position,
+                                                HttpServletRequest request);
 
-    EventFullDto getEventById(Long eventId, HttpServletRequest request);
+    /**
+     * Returns {@code null} and marks the response as not modified when {@code webRequest} already has this event.
+     */
+    EventFullDto getEventById(Long eventId, HttpServletRequest request, WebRequest webRequest);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.practicum.ewm.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.dto.NewCategoryDto;
 import ru.practicum.ewm.exception.ConflictException;
@@ -11,6 +12,7 @@ import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.model.event.Event;
 import ru.practicum.ewm.model.mappers.CategoryMapper;
 import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
 import ru.practicum.ewm.repository.event.EventRepository;
 import ru.practicum.ewm.service.CategoryService;
 
@@ -22,17 +24,27 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventsRepository;
+    private final EventReadModelCache eventReadModelCache;
 
     @Override
-    public List<CategoryDto> getCategories(Integer from, Integer size) {
+    public List<CategoryDto> getCategories(Integer from, Integer size, WebRequest webRequest) {
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        return categoryRepository.findAll(pageRequest)
-                .stream().map(CategoryMapper::toCategoryDto).collect(Collectors.toList());
+        List<Category> categories = categoryRepository.findAll(pageRequest).getContent();
+        StringBuilder versions = new StringBuilder();
+        categories.forEach(category -> versions.append(category.getId()).append(':').append(category.getVersion())
+                .append(';'));
+        if (webRequest.checkNotModified(ETags.of(versions))) {
+            return null;
+        }
+        return categories.stream().map(CategoryMapper::toCategoryDto).collect(Collectors.toList());
     }
 
     @Override
-    public CategoryDto getCategoryById(Long catId) {
+    public CategoryDto getCategoryById(Long catId, WebRequest webRequest) {
         Category category = checkCategory(catId);
+        if (webRequest.checkNotModified(ETags.of(category.getId() + ":" + category.getVersion()))) {
+            return null;
+        }
         return CategoryMapper.toCategoryDto(category);
     }
 
@@ -64,6 +76,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         oldCategory.setName(newName);
         Category updatedCategory = categoryRepository.save(oldCategory);
+        eventReadModelCache.invalidateCategory(catId);
         return CategoryMapper.toCategoryDto(updatedCategory);
     }
 
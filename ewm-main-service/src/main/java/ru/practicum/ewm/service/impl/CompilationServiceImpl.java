@@ -4,22 +4,28 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.dto.NewCompilationDto;
 import ru.practicum.ewm.dto.UpdateCompilationDto;
+import ru.practicum.ewm.dto.event.EventShortDto;
 import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.exception.UncorrectedParametersException;
 import ru.practicum.ewm.model.Compilation;
 import ru.practicum.ewm.model.event.Event;
 import ru.practicum.ewm.model.mappers.CompilationMapper;
+import ru.practicum.ewm.model.mappers.EventMapper;
+import ru.practicum.ewm.repository.CompilationEventVersion;
 import ru.practicum.ewm.repository.CompilationRepository;
 import ru.practicum.ewm.repository.event.EventRepository;
+import ru.practicum.ewm.repository.event.EventSummary;
 import ru.practicum.ewm.service.CompilationService;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -77,7 +83,7 @@ public class CompilationServiceImpl implements CompilationService {
     }
 
     @Override
-    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
+    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, WebRequest webRequest) {
 
         PageRequest pageRequest = PageRequest.of(from, size);
         List<Compilation> compilations;
@@ -87,15 +93,46 @@ public class CompilationServiceImpl implements CompilationService {
             compilations = compilationRepository.findAllByPinned(pinned, pageRequest);
         }
 
-        return compilations.stream()
-                .map(CompilationMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(compilations, webRequest);
     }
 
 
     @Override
-    public CompilationDto findByIdCompilation(Long compId) {
-        return CompilationMapper.toDto(checkCompilation(compId));
+    public CompilationDto findByIdCompilation(Long compId, WebRequest webRequest) {
+        List<CompilationDto> compilations = toDtos(List.of(checkCompilation(compId)), webRequest);
+        return compilations == null ? null : compilations.get(0);
+    }
+
+    /**
+     * Maps compilations with their events read as short projections: one query for the links of all compilations,
+     * which also carries the versions the entity tag is built from, and one for all linked events. Returns
+     * {@code null} before reading the events when {@code webRequest} already has this representation.
+     */
+    private List<CompilationDto> toDtos(List<Compilation> compilations, WebRequest webRequest) {
+        List<CompilationEventVersion> links = compilations.isEmpty() ? List.of()
+                : compilationRepository.findEventVersions(compilations.stream()
+                .map(Compilation::getId)
+                .toList());
+        StringBuilder versions = new StringBuilder();
+        compilations.forEach(compilation -> versions.append(compilation.getId()).append(':')
+                .append(compilation.getVersion()).append(';'));
+        links.forEach(link -> versions.append(link.getCompilationId()).append('/').append(link.getEventId())
+                .append(':').append(link.getEventVersion()).append(',').append(link.getConfirmedRequests())
+                .append(',').append(link.getCategoryVersion()).append(';'));
+        if (webRequest.checkNotModified(ETags.of(versions))) {
+            return null;
+        }
+        Set<Long> eventIds = links.stream().map(CompilationEventVersion::getEventId).collect(Collectors.toSet());
+        Map<Long, EventShortDto> events = eventIds.isEmpty() ? Map.of() : eventRepository.findSummaries(
+                        (root, query, criteriaBuilder) -> root.get("id").in(eventIds)).stream()
+                .collect(Collectors.toMap(EventSummary::id, EventMapper::toEventShortDto));
+        Map<Long, Set<EventShortDto>> eventsByCompilation = links.stream()
+                .collect(Collectors.groupingBy(CompilationEventVersion::getCompilationId,
+                        Collectors.mapping(link -> events.get(link.getEventId()), Collectors.toSet())));
+        return compilations.stream()
+                .map(compilation -> CompilationMapper.toDto(compilation,
+                        eventsByCompilation.getOrDefault(compilation.getId(), new HashSet<>())))
+                .collect(Collectors.toList());
     }
 
     private Compilation checkCompilation(Long compId) {
@@ -0,0 +1,18 @@
+package ru.practicum.ewm.service.impl;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong entity tag of a representation that changes exactly when one of {@code versions} does.
+     */
+    static String of(CharSequence versions) {
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
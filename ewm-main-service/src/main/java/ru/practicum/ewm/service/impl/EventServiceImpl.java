@@ -1,22 +1,21 @@
 package ru.practicum.ewm.service.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.ewm.CachingStatsClient;
 import ru.practicum.ewm.EndpointHit;
 import ru.practicum.ewm.StatsClient;
-import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.dto.CaseUpdatedStatusDto;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventRequestStatusUpdateRequest;
@@ -38,6 +37,7 @@ import ru.practicum.ewm.model.Location;
 import ru.practicum.ewm.model.Request;
 import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.model.constants.EventAdminState;
+import ru.practicum.ewm.model.constants.EventSort;
 import ru.practicum.ewm.model.constants.EventStatus;
 import ru.practicum.ewm.model.constants.EventUserState;
 import ru.practicum.ewm.model.constants.RequestStatus;
@@ -45,18 +45,31 @@ import ru.practicum.ewm.model.mappers.EventMapper;
 import ru.practicum.ewm.model.mappers.LocationMapper;
 import ru.practicum.ewm.model.mappers.RequestMapper;
 import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.event.EventAvailability;
+import ru.practicum.ewm.repository.event.EventConfirmedRequests;
+import ru.practicum.ewm.repository.event.EventDetails;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
 import ru.practicum.ewm.repository.event.EventRepository;
+import ru.practicum.ewm.repository.event.EventSearchIndex;
+import ru.practicum.ewm.repository.event.EventSearchResultCache;
+import ru.practicum.ewm.repository.event.EventSearchResultCache.ResultPage;
+import ru.practicum.ewm.repository.event.EventSearchResultCache.SearchKey;
+import ru.practicum.ewm.repository.event.EventSummary;
+import ru.practicum.ewm.repository.event.EventVersion;
+import ru.practicum.ewm.repository.event.EventTextSearch;
 import ru.practicum.ewm.repository.LocationRepository;
 import ru.practicum.ewm.repository.RequestRepository;
 import ru.practicum.ewm.repository.UserRepository;
 import ru.practicum.ewm.service.event.EventService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -64,13 +77,23 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional(readOnly = true)
 public class EventServiceImpl implements EventService {
+    private static final int SEARCH_CANDIDATE_CHUNK = 500;
+    private static final String RANK_KEY = "rank";
+    private static final Sort ID_ORDER = Sort.by("id");
+    private static final Sort EVENT_DATE_ORDER = Sort.by("eventDate", "id");
+    private static final Sort VIEWS_ORDER = Sort.by(Sort.Order.desc("views"), Sort.Order.asc("id"));
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final StatsClient statsClient;
+    private final CachingStatsClient cachingStatsClient;
     private final RequestRepository requestRepository;
     private final LocationRepository locationRepository;
-    private final ObjectMapper objectMapper;
+    private final EventTextSearch eventTextSearch;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventReadModelCache eventReadModelCache;
+    private final EventSearchResultCache eventSearchResultCache;
 
 
     @Value("${server.application.name:ewm-service}")
@@ -78,9 +101,8 @@ public class EventServiceImpl implements EventService {
 
 
     @Override
-    public List<EventFullDto> getAllEventFromAdmin(SearchEventParamsAdmin searchEventParamsAdmin) {
-        PageRequest pageable = PageRequest.of(searchEventParamsAdmin.getFrom() / searchEventParamsAdmin.getSize(),
-                searchEventParamsAdmin.getSize());
+    public Window<EventFullDto> getAllEventFromAdmin(SearchEventParamsAdmin searchEventParamsAdmin,
+                                                     ScrollPosition position) {
         Specification<Event> specification = Specification.where(null);
 
         List<Long> users = searchEventParamsAdmin.getUsers();
@@ -109,17 +131,9 @@ public class EventServiceImpl implements EventService {
             specification = specification.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.greaterThanOrEqualTo(root.get("eventDate"), rangeStart));
         }
-        Page<Event> events = eventRepository.findAll(specification, pageable);
-
-        List<EventFullDto> result = events.getContent()
-                .stream().map(EventMapper::toEventFullDto).collect(Collectors.toList());
-
-        Map<Long, List<Request>> confirmedRequestsCountMap = getConfirmedRequestsCount(events.toList());
-        for (EventFullDto event : result) {
-            List<Request> requests = confirmedRequestsCountMap.getOrDefault(event.getId(), List.of());
-            event.setConfirmedRequests(requests.size());
-        }
-        return result;
+        ScrollPositions.requireKeys(position, ID_ORDER, Event.class);
+        return eventRepository.findDetails(specification, ID_ORDER, position, searchEventParamsAdmin.getSize())
+                .map(EventMapper::toEventFullDto);
     }
 
 
@@ -160,6 +174,11 @@ public class EventServiceImpl implements EventService {
         Event eventAfterUpdate = null;
         if (hasChanges) {
             eventAfterUpdate = eventRepository.save(eventForUpdate);
+            eventSearchIndex.update(eventAfterUpdate);
+            eventReadModelCache.invalidate(eventId);
+            if (EventStatus.PUBLISHED.equals(eventAfterUpdate.getEventStatus())) {
+                eventSearchResultCache.invalidateCategory(eventAfterUpdate.getCategory().getId());
+            }
         }
         return eventAfterUpdate != null ? EventMapper.toEventFullDto(eventAfterUpdate) : null;
     }
@@ -204,19 +223,20 @@ public class EventServiceImpl implements EventService {
         Event eventAfterUpdate = null;
         if (hasChanges) {
             eventAfterUpdate = eventRepository.save(eventForUpdate);
+            eventReadModelCache.invalidate(eventId);
         }
 
         return eventAfterUpdate != null ? EventMapper.toEventFullDto(eventAfterUpdate) : null;
     }
 
     @Override
-    public List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size) {
+    public Window<EventShortDto> getEventsByUserId(Long userId, ScrollPosition position, Integer size) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь с id= " + userId + " не найден");
         }
-        PageRequest pageRequest = PageRequest.of(from / size, size, org.springframework.data.domain.Sort.by(Sort.Direction.ASC, "id"));
-        return eventRepository.findAll(pageRequest).getContent()
-                .stream().map(EventMapper::toEventShortDto).collect(Collectors.toList());
+        Specification<Event> byInitiator = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("initiator").get("id"), userId);
+        return scroll(byInitiator, ID_ORDER, position, size).map(EventMapper::toEventShortDto);
     }
 
     @Override
@@ -270,7 +290,7 @@ public class EventServiceImpl implements EventService {
         }
         RequestStatus status = inputUpdate.getStatus();
 
-        int confirmedRequestsCount = requestRepository.countByEventIdAndStatus(event.getId(), RequestStatus.CONFIRMED);
+        int confirmedRequestsCount = event.getConfirmedRequests();
         switch (status) {
             case CONFIRMED:
                 if (event.getParticipantLimit() == confirmedRequestsCount) {
@@ -318,7 +338,8 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<EventShortDto> getAllEventFromPublic(SearchEventParams searchEventParams, HttpServletRequest request) {
+    public Window<EventShortDto> getAllEventFromPublic(SearchEventParams searchEventParams, ScrollPosition position,
+                                                       HttpServletRequest request) {
 
         if (searchEventParams.getRangeEnd() != null && searchEventParams.getRangeStart() != null) {
             if (searchEventParams.getRangeEnd().isBefore(searchEventParams.getRangeStart())) {
@@ -328,26 +349,43 @@ public class EventServiceImpl implements EventService {
 
         addStatsClient(request);
 
-        Pageable pageable = PageRequest.of(searchEventParams.getFrom() / searchEventParams.getSize(), searchEventParams.getSize());
+        LocalDateTime startDateTime = Objects.requireNonNullElse(searchEventParams.getRangeStart(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+        Sort order = publicOrder(searchEventParams.getSort());
+        SearchKey key = SearchKey.of(searchEventParams, startDateTime, position);
+        ResultPage cached = eventSearchResultCache.get(key);
+        Window<EventShortDto> result;
+        if (cached != null) {
+            result = assemble(cached);
+        } else {
+            Window<EventSummary> found = search(searchEventParams, startDateTime, order, position);
+            eventSearchResultCache.put(key, found);
+            result = found.map(EventMapper::toEventShortDto);
+        }
+        Map<Long, Long> viewStatsMap = getViewsAllEvents(result.stream().map(EventShortDto::getId).toList());
 
+        for (EventShortDto event : result) {
+            Long viewsFromMap = viewStatsMap.getOrDefault(event.getId(), 0L);
+            event.setViews(viewsFromMap);
+        }
+
+        return result;
+    }
+
+    private Window<EventSummary> search(SearchEventParams searchEventParams, LocalDateTime startDateTime, Sort order,
+                                        ScrollPosition position) {
         Specification<Event> specification = Specification.where(null);
-        LocalDateTime now = LocalDateTime.now();
 
-        if (searchEventParams.getText() != null) {
-            String searchText = searchEventParams.getText().toLowerCase();
+        if (searchEventParams.getCategories() != null && !searchEventParams.getCategories().isEmpty()) {
             specification = specification.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.or(
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("annotation")), "%" + searchText + "%"),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + searchText + "%")
-                    ));
+                    root.get("category").get("id").in(searchEventParams.getCategories()));
         }
 
-        if (searchEventParams.getCategories() != null && !searchEventParams.getCategories().isEmpty()) {
+        if (searchEventParams.getPaid() != null) {
             specification = specification.and((root, query, criteriaBuilder) ->
-                    root.get("category").get("id").in(searchEventParams.getCategories()));
+                    criteriaBuilder.equal(root.get("paid"), searchEventParams.getPaid()));
         }
 
-        LocalDateTime startDateTime = Objects.requireNonNullElse(searchEventParams.getRangeStart(), now);
         specification = specification.and((root, query, criteriaBuilder) ->
                 criteriaBuilder.greaterThan(root.get("eventDate"), startDateTime));
 
@@ -356,41 +394,155 @@ public class EventServiceImpl implements EventService {
                     criteriaBuilder.lessThan(root.get("eventDate"), searchEventParams.getRangeEnd()));
         }
 
-        if (searchEventParams.getOnlyAvailable() != null) {
-            specification = specification.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.greaterThanOrEqualTo(root.get("participantLimit"), 0));
+        if (Boolean.TRUE.equals(searchEventParams.getOnlyAvailable())) {
+            specification = specification.and(EventAvailability.hasFreeSlots());
         }
 
         specification = specification.and((root, query, criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("eventStatus"), EventStatus.PUBLISHED));
 
-        List<Event> resultEvents = eventRepository.findAll(specification, pageable).getContent();
-        List<EventShortDto> result = resultEvents
-                .stream().map(EventMapper::toEventShortDto).collect(Collectors.toList());
-        Map<Long, Long> viewStatsMap = getViewsAllEvents(resultEvents);
-
-        for (EventShortDto event : result) {
-            Long viewsFromMap = viewStatsMap.getOrDefault(event.getId(), 0L);
-            event.setViews(viewsFromMap);
+        long[] rankedIds = searchEventParams.getText() != null && order == null
+                ? eventSearchIndex.search(searchEventParams.getText())
+                : null;
+        if (rankedIds != null) {
+            return findAmongRanked(specification, rankedIds, position, searchEventParams.getSize());
+        }
+        Sort sort = order != null ? order : ID_ORDER;
+        if (searchEventParams.getText() != null) {
+            specification = specification.and(eventTextSearch.matching(searchEventParams.getText()));
+            if (order == null && position instanceof OffsetScrollPosition) {
+                sort = Sort.unsorted();
+            }
         }
+        return scroll(specification, sort, position, searchEventParams.getSize());
+    }
 
-        return result;
+    /**
+     * Builds a cached page of search results from the read models of its events, with their current confirmed
+     * requests. Events that no longer exist are left out.
+     */
+    private Window<EventShortDto> assemble(ResultPage page) {
+        Map<Long, EventDetails> events = eventReadModelCache.getAll(page.ids());
+        Map<Long, Integer> confirmedRequests = eventRepository.findConfirmedRequestsByIdIn(page.ids()).stream()
+                .collect(Collectors.toMap(EventConfirmedRequests::getId, EventConfirmedRequests::getConfirmedRequests));
+        List<EventShortDto> content = new ArrayList<>(page.ids().size());
+        List<ScrollPosition> positions = new ArrayList<>(page.ids().size());
+        for (int i = 0; i < page.ids().size(); i++) {
+            EventDetails event = events.get(page.ids().get(i));
+            if (event == null) {
+                continue;
+            }
+            EventShortDto eventShortDto = EventMapper.toEventShortDto(event);
+            eventShortDto.setConfirmedRequests(confirmedRequests.getOrDefault(event.id(), event.confirmedRequests()));
+            content.add(eventShortDto);
+            positions.add(page.positions().get(i));
+        }
+        return Window.from(content, positions::get, page.hasNext());
     }
 
     @Override
-    public EventFullDto getEventById(Long eventId, HttpServletRequest request) {
-        Event event = checkEvent(eventId);
-        if (!event.getEventStatus().equals(EventStatus.PUBLISHED)) {
+    public EventFullDto getEventById(Long eventId, HttpServletRequest request, WebRequest webRequest) {
+        EventVersion version = eventRepository.findVersionById(eventId)
+                .orElseThrow(() -> new NotFoundException("События с id = " + eventId + " не существует"));
+        if (!version.getEventStatus().equals(EventStatus.PUBLISHED)) {
             throw new NotFoundException("Событие с id = " + eventId + " не опубликовано");
         }
-        addStatsClient(request);
+        addStatsClient(request, eventId);
+        if (webRequest.checkNotModified(ETags.of(eventId + ":" + version.getVersion() + ","
+                + version.getCategoryVersion() + "," + version.getConfirmedRequests() + "," + version.getViews()))) {
+            return null;
+        }
+        EventDetails event = eventReadModelCache.get(eventId);
+        if (event != null && !Objects.equals(event.version(), version.getVersion())) {
+            eventReadModelCache.invalidate(eventId);
+            event = eventReadModelCache.get(eventId);
+        }
+        if (event == null) {
+            throw new NotFoundException("События с id = " + eventId + " не существует");
+        }
         EventFullDto eventFullDto = EventMapper.toEventFullDto(event);
-        Map<Long, Long> viewStatsMap = getViewsAllEvents(List.of(event));
-        Long views = viewStatsMap.getOrDefault(event.getId(), 0L);
-        eventFullDto.setViews(views);
+        eventFullDto.setConfirmedRequests(version.getConfirmedRequests());
+        eventFullDto.setViews(version.getViews());
         return eventFullDto;
     }
 
+    /**
+     * Order of the public listing for {@code sort}, or {@code null} for the default: relevance when searching by text,
+     * otherwise by id. Views are the stored counts kept current by the views refresher.
+     */
+    private static Sort publicOrder(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        EventSort eventSort;
+        try {
+            eventSort = EventSort.valueOf(sort);
+        } catch (IllegalArgumentException e) {
+            throw new UncorrectedParametersException("Неизвестный порядок сортировки: " + sort);
+        }
+        return switch (eventSort) {
+            case EVENT_DATE -> EVENT_DATE_ORDER;
+            case VIEWS -> VIEWS_ORDER;
+        };
+    }
+
+    /**
+     * Fetches one window of short rows without a count query. Offset positions keep the {@code from}/{@code size}
+     * contract, keyset positions seek past the last returned sort key.
+     */
+    private Window<EventSummary> scroll(Specification<Event> specification, Sort sort, ScrollPosition position,
+                                        int size) {
+        ScrollPositions.requireKeys(position, sort, Event.class);
+        return eventRepository.findSummaries(specification, sort, position, size);
+    }
+
+    /**
+     * Walks the ranked candidates of the search index in chunks, keeping the ones that pass the other filters, until
+     * the requested page is filled. A keyset position for this order is the index of the next candidate to examine.
+     */
+    private Window<EventSummary> findAmongRanked(Specification<Event> specification, long[] rankedIds,
+                                                 ScrollPosition position, int size) {
+        int offset = 0;
+        int first = 0;
+        if (position instanceof OffsetScrollPosition offsetPosition) {
+            offset = offsetPosition.isInitial() ? 0 : (int) offsetPosition.getOffset() + 1;
+        } else if (!position.isInitial()) {
+            Object rank = ((KeysetScrollPosition) position).getKeys().get(RANK_KEY);
+            if (!(rank instanceof Long next) || next < 0) {
+                throw new UncorrectedParametersException("Токен продолжения выдан для другого порядка сортировки");
+            }
+            first = (int) Math.min(next, rankedIds.length);
+        }
+        List<EventSummary> page = new ArrayList<>(size + 1);
+        List<Integer> nextCandidates = new ArrayList<>(size + 1);
+        int skipped = 0;
+        for (int start = first; start < rankedIds.length && page.size() <= size; start += SEARCH_CANDIDATE_CHUNK) {
+            int end = Math.min(rankedIds.length, start + SEARCH_CANDIDATE_CHUNK);
+            List<Long> chunk = Arrays.stream(rankedIds, start, end).boxed().toList();
+            Map<Long, EventSummary> found = eventRepository.findSummaries(specification.and(
+                            (root, query, criteriaBuilder) -> root.get("id").in(chunk))).stream()
+                    .collect(Collectors.toMap(EventSummary::id, Function.identity()));
+            for (int i = 0; i < chunk.size() && page.size() <= size; i++) {
+                EventSummary event = found.get(chunk.get(i));
+                if (event == null) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page.add(event);
+                    nextCandidates.add(start + i + 1);
+                }
+            }
+        }
+        boolean hasNext = page.size() > size;
+        List<EventSummary> content = hasNext ? page.subList(0, size) : page;
+        int startOffset = offset;
+        return Window.from(content, position instanceof OffsetScrollPosition
+                ? index -> ScrollPosition.offset(startOffset + index)
+                : index -> ScrollPosition.forward(Map.of(RANK_KEY, (long) nextCandidates.get(index))), hasNext);
+    }
+
     private Event checkEvent(Long eventId) {
         return eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("События с id = " + eventId + " не существует"));
@@ -402,7 +554,7 @@ public class EventServiceImpl implements EventService {
     }
 
     private List<Request> checkRequestOrEventList(Long eventId, List<Long> requestId) {
-        return requestRepository.findByEventIdAndIdIn(eventId, requestId).orElseThrow(
+        return requestRepository.findByEventIdAndIdInOrderById(eventId, requestId).orElseThrow(
                 () -> new NotFoundException("Запроса с id = " + requestId + " или события с id = "
                         + eventId + "не существуют"));
     }
@@ -424,34 +576,11 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private Map<Long, Long> getViewsAllEvents(List<Event> events) {
-        List<String> uris = events.stream()
-                .map(event -> String.format("/events/%s", event.getId()))
-                .collect(Collectors.toList());
-
-        List<LocalDateTime> startDates = events.stream()
-                .map(Event::getCreatedDate)
-                .collect(Collectors.toList());
-        LocalDateTime earliestDate = startDates.stream()
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
-        Map<Long, Long> viewStatsMap = new HashMap<>();
-
-        if (earliestDate != null) {
-            ResponseEntity<Object> response = statsClient.getStats(earliestDate, LocalDateTime.now(),
-                    uris, true);
-
-            List<ViewStats> viewStatsList = objectMapper.convertValue(response.getBody(), new TypeReference<>() {
-            });
-
-            viewStatsMap = viewStatsList.stream()
-                    .filter(statsDto -> statsDto.getUri().startsWith("/events/"))
-                    .collect(Collectors.toMap(
-                            statsDto -> Long.parseLong(statsDto.getUri().substring("/events/".length())),
-                            ViewStats::getHits
-                    ));
-        }
-        return viewStatsMap;
+    private Map<Long, Long> getViewsAllEvents(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+        return cachingStatsClient.getEventViews(eventIds, true);
     }
 
     private CaseUpdatedStatusDto updatedStatusConfirmed(Event event, CaseUpdatedStatusDto caseUpdatedStatus,
@@ -462,10 +591,17 @@ public class EventServiceImpl implements EventService {
         List<Request> requestListLoaded = checkRequestOrEventList(event.getId(), ids);
         List<Request> requestList = new ArrayList<>();
 
+        int confirmedDelta = 0;
+
         for (Request request : requestListLoaded) {
             if (freeRequest == 0) {
                 break;
             }
+            if (status == RequestStatus.CONFIRMED && request.getStatus() != RequestStatus.CONFIRMED) {
+                confirmedDelta++;
+            } else if (status != RequestStatus.CONFIRMED && request.getStatus() == RequestStatus.CONFIRMED) {
+                confirmedDelta--;
+            }
 
             request.setStatus(status);
             requestList.add(request);
@@ -474,6 +610,12 @@ public class EventServiceImpl implements EventService {
             freeRequest--;
         }
 
+        if (confirmedDelta > 0 && eventRepository.reserveConfirmedRequests(event.getId(), confirmedDelta) == 0) {
+            throw new ConflictException("Лимит участников исчерпан");
+        }
+        if (confirmedDelta < 0) {
+            eventRepository.releaseConfirmedRequests(event.getId(), -confirmedDelta);
+        }
         requestRepository.saveAll(requestList);
         caseUpdatedStatus.setProcessedIds(processedIds);
         return caseUpdatedStatus;
@@ -497,20 +639,20 @@ public class EventServiceImpl implements EventService {
     }
 
     private void addStatsClient(HttpServletRequest request) {
+        addStatsClient(request, null);
+    }
+
+    private void addStatsClient(HttpServletRequest request, Long eventId) {
         statsClient.postStats(EndpointHit.builder()
                 .app(applicationName)
                 .uri(request.getRequestURI())
                 .ip(request.getRemoteAddr())
                 .timestamp(LocalDateTime.now())
+                .entityType(eventId == null ? null : "event")
+                .entityId(eventId)
                 .build());
     }
 
-    private Map<Long, List<Request>> getConfirmedRequestsCount(List<Event> events) {
-        List<Request> requests = requestRepository.findAllByEventIdInAndStatus(events
-                .stream().map(Event::getId).collect(Collectors.toList()), RequestStatus.CONFIRMED);
-        return requests.stream().collect(Collectors.groupingBy(r -> r.getEvent().getId()));
-    }
-
     private Event universalUpdate(Event oldEvent, UpdateEventRequest updateEvent) {
         boolean hasChanges = false;
         String gotAnnotation = updateEvent.getAnnotation();
@@ -2,6 +2,7 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.ParticipationRequestDto;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.NotFoundException;
@@ -29,6 +30,7 @@ public class RequestServiceImpl implements RequestService {
     private final EventRepository eventRepository;
 
     @Override
+    @Transactional
     public ParticipationRequestDto addNewRequest(Long userId, Long eventId) {
         User user = checkUser(userId);
 
@@ -41,18 +43,17 @@ public class RequestServiceImpl implements RequestService {
         request.setRequester(user);
         request.setEvent(event);
 
-        if (event.isRequestModeration()) {
+        if (event.isRequestModeration() && event.getParticipantLimit() != 0) {
             request.setStatus(RequestStatus.PENDING);
         } else {
+            if (eventRepository.reserveConfirmedRequests(eventId, 1) == 0) {
+                throw new ConflictException("Превышен лимит участников события");
+            }
             request.setStatus(RequestStatus.CONFIRMED);
         }
 
         requestRepository.save(request);
 
-        if (event.getParticipantLimit() == 0) {
-            request.setStatus(RequestStatus.CONFIRMED);
-        }
-
         return RequestMapper.toParticipationRequestDto(request);
     }
 
@@ -64,6 +65,7 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
+    @Transactional
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
         checkUser(userId);
         Request request = requestRepository.findByIdAndRequesterId(requestId, userId).orElseThrow(
@@ -71,6 +73,9 @@ public class RequestServiceImpl implements RequestService {
         if (request.getStatus().equals(RequestStatus.CANCELED) || request.getStatus().equals(RequestStatus.REJECTED)) {
             throw new UncorrectedParametersException("Запрос не подтвержден");
         }
+        if (request.getStatus().equals(RequestStatus.CONFIRMED)) {
+            eventRepository.releaseConfirmedRequests(request.getEvent().getId(), 1);
+        }
         request.setStatus(RequestStatus.CANCELED);
         Request requestAfterSave = requestRepository.save(request);
         return RequestMapper.toParticipationRequestDto(requestAfterSave);
@@ -85,7 +90,7 @@ public class RequestServiceImpl implements RequestService {
         if (event.getInitiator().getId().equals(userId)) {
             throw new ConflictException("Пользователь с id= " + userId + " не инициатор события");
         }
-        if (event.getParticipantLimit() > 0 && event.getParticipantLimit() <= requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED)) {
+        if (event.getParticipantLimit() > 0 && event.getParticipantLimit() <= event.getConfirmedRequests()) {
             throw new ConflictException("Превышен лимит участников события");
         }
         if (!event.getEventStatus().equals(EventStatus.PUBLISHED)) {
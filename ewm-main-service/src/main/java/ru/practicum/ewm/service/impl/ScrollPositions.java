@@ -0,0 +1,40 @@
+package ru.practicum.ewm.service.impl;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
+import ru.practicum.ewm.exception.UncorrectedParametersException;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashSet;
+import java.util.Set;
+
+final class ScrollPositions {
+
+    private ScrollPositions() {
+    }
+
+    /**
+     * Rejects a keyset position whose keys do not belong to the requested order, e.g. a token issued for another sort,
+     * or whose values do not fit the types of the {@code entity} properties they are compared with.
+     */
+    static ScrollPosition requireKeys(ScrollPosition position, Sort sort, Class<?> entity) {
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            Set<String> properties = new HashSet<>();
+            sort.forEach(order -> properties.add(order.getProperty()));
+            if (!properties.equals(keyset.getKeys().keySet())) {
+                throw new UncorrectedParametersException("Токен продолжения выдан для другого порядка сортировки");
+            }
+            keyset.getKeys().forEach((property, value) -> {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entity, property);
+                if (descriptor == null || !ClassUtils.isAssignableValue(descriptor.getPropertyType(), value)) {
+                    throw new UncorrectedParametersException("Некорректное значение ключа " + property
+                            + " в токене продолжения");
+                }
+            });
+        }
+        return position;
+    }
+}
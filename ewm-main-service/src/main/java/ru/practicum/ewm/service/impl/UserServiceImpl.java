@@ -1,7 +1,10 @@
 package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.NewUserRequest;
@@ -13,12 +16,13 @@ import ru.practicum.ewm.repository.UserRepository;
 import ru.practicum.ewm.service.UserService;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    private static final Sort ID_ORDER = Sort.by("id");
+
     private final UserRepository userRepository;
 
     @Transactional
@@ -38,10 +42,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getListUsers(List<Long> ids, Integer from, Integer size) {
-        PageRequest page = PageRequest.of(from / size, size);
-        return (ids != null) ? userRepository.findByIdIn(ids, page)
-                .stream().map(UserMapper::toUserDto).collect(Collectors.toList()) : userRepository.findAll(page)
-                .stream().map(UserMapper::toUserDto).collect(Collectors.toList());
+    public Window<UserDto> getListUsers(List<Long> ids, ScrollPosition position, Integer size) {
+        ScrollPositions.requireKeys(position, ID_ORDER, User.class);
+        Window<User> users = (ids != null) ? userRepository.findByIdIn(ids, position, Limit.of(size), ID_ORDER)
+                : userRepository.findAllBy(position, Limit.of(size), ID_ORDER);
+        return users.map(UserMapper::toUserDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+CREATE OR REPLACE FUNCTION event_search_vector(title TEXT, annotation TEXT, description TEXT) RETURNS tsvector AS
+$$
+SELECT setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+           || setweight(to_tsvector('simple', coalesce(annotation, '')), 'B')
+           || setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION event_text_matches(title TEXT, annotation TEXT, description TEXT, query TEXT)
+    RETURNS BOOLEAN AS
+$$
+SELECT event_search_vector(title, annotation, description) @@ to_tsquery('simple', query)
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION event_text_rank(title TEXT, annotation TEXT, description TEXT, query TEXT)
+    RETURNS REAL AS
+$$
+SELECT ts_rank_cd(event_search_vector(title, annotation, description), to_tsquery('simple', query))
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE INDEX IF NOT EXISTS events_search_idx ON events USING GIN (event_search_vector(title, annotation, description));
+
+CREATE INDEX IF NOT EXISTS events_available_idx ON events (id)
+    WHERE participant_limit = 0 OR confirmed_requests < participant_limit;
+
+CREATE INDEX IF NOT EXISTS events_available_date_idx ON events (event_date, id)
+    WHERE participant_limit = 0 OR confirmed_requests < participant_limit;
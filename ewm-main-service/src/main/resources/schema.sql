@@ -15,8 +15,9 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS categories
 (
-    id   BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
-    name VARCHAR(50) UNIQUE NOT NULL
+    id      BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
+    name    VARCHAR(50) UNIQUE NOT NULL,
+    version BIGINT DEFAULT 0   NOT NULL
     );
 
 CREATE TABLE IF NOT EXISTS location
@@ -31,7 +32,7 @@ CREATE TABLE IF NOT EXISTS events
     id                 BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
     annotation         VARCHAR(2000)               NOT NULL,
     category_id        BIGINT                      NOT NULL,
-    confirmed_Requests BIGINT,
+    confirmed_requests INTEGER DEFAULT 0           NOT NULL,
     create_date        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     description        VARCHAR(7000),
     event_date         TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -43,11 +44,17 @@ CREATE TABLE IF NOT EXISTS events
     request_moderation BOOLEAN DEFAULT true,
     status             VARCHAR(200)                NOT NULL,
     title              VARCHAR(120)                NOT NULL,
+    views              BIGINT  DEFAULT 0           NOT NULL,
+    version            BIGINT  DEFAULT 0           NOT NULL,
     CONSTRAINT fk_event_to_user FOREIGN KEY (initiator_id) REFERENCES users (id),
     CONSTRAINT fk_event_to_category FOREIGN KEY (category_id) REFERENCES categories (id),
     CONSTRAINT fk_location FOREIGN KEY (location_id) REFERENCES location (id)
     );
 
+CREATE INDEX IF NOT EXISTS events_initiator_idx ON events (initiator_id, id);
+CREATE INDEX IF NOT EXISTS events_event_date_idx ON events (event_date, id);
+CREATE INDEX IF NOT EXISTS events_views_idx ON events (views DESC, id);
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -59,11 +66,14 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT fk_requests_to_user FOREIGN KEY (requester_id) REFERENCES users (id)
     );
 
+CREATE INDEX IF NOT EXISTS requests_event_status_idx ON requests (event_id, status);
+
 CREATE TABLE IF NOT EXISTS compilations
 (
-    id     BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
-    pinned BOOLEAN      NOT NULL,
-    title  VARCHAR(50) NOT NULL
+    id      BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
+    pinned  BOOLEAN     NOT NULL,
+    title   VARCHAR(50) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
     );
 
 CREATE TABLE IF NOT EXISTS compilations_to_event
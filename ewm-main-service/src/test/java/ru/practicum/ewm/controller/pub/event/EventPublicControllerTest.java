@@ -7,8 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.ewm.controller.ContinuationTokens;
 import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.dto.event.EventFullDto;
 import ru.practicum.ewm.dto.event.EventShortDto;
@@ -20,11 +25,15 @@ import ru.practicum.ewm.service.event.EventService;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -92,18 +101,40 @@ public class EventPublicControllerTest {
 
     @Test
     void getAllEvents_WithMinimalParams_ShouldReturnOkStatus() throws Exception {
-        when(eventService.getAllEventFromPublic(any(SearchEventParams.class), any())).thenReturn(List.of(eventShortDto));
+        when(eventService.getAllEventFromPublic(any(SearchEventParams.class), any(), any()))
+                .thenReturn(Window.from(List.of(eventShortDto), ScrollPosition::offset));
 
         mockMvc.perform(get("/events"))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(eventShortDto.getId()))
-                .andExpect(jsonPath("$[0].title").value(eventShortDto.getTitle()));
+                .andExpect(jsonPath("$[0].title").value(eventShortDto.getTitle()))
+                .andExpect(header().doesNotExist(ContinuationTokens.HEADER));
+    }
+
+    @Test
+    void getAllEvents_WithCursor_ShouldSeekAndReturnContinuationToken() throws Exception {
+        ScrollPosition next = ScrollPosition.forward(Map.of("id", 1L));
+        when(eventService.getAllEventFromPublic(any(SearchEventParams.class), eq(next), any()))
+                .thenReturn(Window.from(List.of(eventShortDto), index -> ScrollPosition.forward(Map.of("id", 2L)),
+                        true));
+
+        mockMvc.perform(get("/events").param("cursor", ContinuationTokens.encode(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(eventShortDto.getId()))
+                .andExpect(header().string(ContinuationTokens.HEADER,
+                        ContinuationTokens.encode(ScrollPosition.forward(Map.of("id", 2L)))));
+    }
+
+    @Test
+    void getAllEvents_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/events").param("cursor", "not-a-token"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void getEventById_ShouldReturnOkStatus() throws Exception {
-        when(eventService.getEventById(anyLong(), any())).thenReturn(eventFullDto);
+        when(eventService.getEventById(anyLong(), any(), any())).thenReturn(eventFullDto);
 
         mockMvc.perform(get("/events/1"))
                 .andDo(MockMvcResultHandlers.print())
@@ -112,4 +143,19 @@ public class EventPublicControllerTest {
                 .andExpect(jsonPath("$.title").value(eventFullDto.getTitle()))
                 .andExpect(jsonPath("$.description").value(eventFullDto.getDescription()));
     }
+
+    @Test
+    void getEventById_WhenClientHasCurrentVersion_ShouldReturnNotModified() throws Exception {
+        when(eventService.getEventById(anyLong(), any(), any())).thenAnswer(invocation ->
+                invocation.<WebRequest>getArgument(2).checkNotModified("\"v1\"") ? null : eventFullDto);
+
+        mockMvc.perform(get("/events/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/events/1").header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(jsonPath("$.id").value(eventFullDto.getId()));
+    }
 }
\ No newline at end of file
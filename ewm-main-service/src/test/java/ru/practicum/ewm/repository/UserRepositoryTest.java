@@ -0,0 +1,77 @@
+package ru.practicum.ewm.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import ru.practicum.ewm.controller.ContinuationTokens;
+import ru.practicum.ewm.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class UserRepositoryTest {
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            ids.add(userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build())
+                    .getId());
+        }
+    }
+
+    @Test
+    void findAllBy_WithOffsetPosition_ShouldHonourFromAndContinueFromToken() {
+        Window<User> first = userRepository.findAllBy(ContinuationTokens.position(null, 1), Limit.of(2), ID_ORDER);
+        String token = ContinuationTokens.encode(first.positionAt(first.size() - 1));
+        Window<User> second = userRepository.findAllBy(ContinuationTokens.position(token, 0), Limit.of(2), ID_ORDER);
+
+        assertEquals(ids.subList(1, 3), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(ids.subList(3, 5), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findAllBy_WithKeysetPosition_ShouldSeekPastLastId() {
+        Window<User> first = userRepository.findAllBy(ContinuationTokens.position("", 0), Limit.of(3), ID_ORDER);
+        String token = ContinuationTokens.encode(first.positionAt(first.size() - 1));
+        Window<User> second = userRepository.findAllBy(ContinuationTokens.position(token, 0), Limit.of(3), ID_ORDER);
+
+        assertEquals(ids.subList(0, 3), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(ids.subList(3, 5), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findByIdIn_WithKeysetPosition_ShouldKeepIdFilter() {
+        List<Long> wanted = List.of(ids.get(0), ids.get(2), ids.get(4));
+        Window<User> first = userRepository.findByIdIn(wanted, ScrollPosition.keyset(), Limit.of(2), ID_ORDER);
+        Window<User> second = userRepository.findByIdIn(wanted, first.positionAt(first.size() - 1), Limit.of(2),
+                ID_ORDER);
+
+        assertEquals(wanted.subList(0, 2), ids(first));
+        assertEquals(wanted.subList(2, 3), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    private List<Long> ids(Window<User> window) {
+        return window.stream().map(User::getId).toList();
+    }
+}
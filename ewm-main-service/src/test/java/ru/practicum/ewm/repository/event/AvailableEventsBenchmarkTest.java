@@ -0,0 +1,141 @@
+package ru.practicum.ewm.repository.event;
+
+import jakarta.persistence.criteria.Subquery;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.Request;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.constants.RequestStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the first page of {@code onlyAvailable=true} on a generated table where most events are full, filtering
+ * by the maintained {@code confirmed_requests} counter and, for comparison, by counting confirmed requests per event.
+ * Excluded from the regular build, run with {@code mvn test -P benchmark [-Dewm.benchmark.events=1000000]}; see
+ * {@link EventTextSearchBenchmarkTest} for running it against PostgreSQL.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "stats-client.async.enabled=false",
+        "stats-client.spool.enabled=false",
+        "ewm.search.index.enabled=false",
+        "ewm.views.refresh.enabled=false",
+        "ewm.requests.reconcile.enabled=false"
+})
+class AvailableEventsBenchmarkTest {
+    private static final int PARTICIPANT_LIMIT = 2;
+    private static final double FULL_SHARE = 0.95;
+    private static final int BATCH = 5_000;
+    private static final int PAGE = 10;
+    private static final int WARMUP_QUERIES = 20;
+    private static final int QUERIES = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void onlyAvailable() {
+        int size = Integer.getInteger("ewm.benchmark.events", 1_000_000);
+        Random random = new Random(size);
+        long started = System.nanoTime();
+        load(size, random);
+        log.info("Loaded {} events, {}% full, in {} s", size, Math.round(FULL_SHARE * 100),
+                String.format("%.1f", (System.nanoTime() - started) / 1e9));
+
+        for (Sort order : List.of(Sort.by("id"), Sort.by("eventDate", "id"))) {
+            measure("counter " + order, EventAvailability.hasFreeSlots(), order);
+            measure("count subquery " + order, countingFreeSlots(), order);
+        }
+    }
+
+    private void measure(String name, Specification<Event> available, Sort order) {
+        Specification<Event> specification = available.and((root, query, cb) ->
+                cb.equal(root.get("eventStatus"), EventStatus.PUBLISHED));
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            firstPage(specification, order);
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long queryStarted = System.nanoTime();
+            firstPage(specification, order);
+            latencies[i] = System.nanoTime() - queryStarted;
+        }
+        Arrays.sort(latencies);
+        log.info("{}: p50={} ms p95={} ms p99={} ms max={} ms", name, millis(latencies[QUERIES / 2]),
+                millis(latencies[QUERIES * 95 / 100]), millis(latencies[QUERIES * 99 / 100]),
+                millis(latencies[QUERIES - 1]));
+    }
+
+    private void firstPage(Specification<Event> specification, Sort order) {
+        eventRepository.findBy(specification, query -> query.sortBy(order).limit(PAGE).scroll(ScrollPosition.keyset()));
+    }
+
+    private static Specification<Event> countingFreeSlots() {
+        return (root, query, cb) -> {
+            Subquery<Long> confirmed = query.subquery(Long.class);
+            var request = confirmed.from(Request.class);
+            confirmed.select(cb.count(request)).where(cb.equal(request.get("event"), root),
+                    cb.equal(request.get("status"), RequestStatus.CONFIRMED));
+            return cb.or(cb.equal(root.get("participantLimit"), 0),
+                    cb.lessThan(confirmed, root.get("participantLimit").as(Long.class)));
+        };
+    }
+
+    private void load(int size, Random random) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('benchmark', 'benchmark@mail.ru')");
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('benchmark')");
+        Long userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> events = new ArrayList<>(BATCH);
+        int[] confirmed = new int[size];
+        for (int i = 0; i < size; i++) {
+            confirmed[i] = random.nextDouble() < FULL_SHARE ? PARTICIPANT_LIMIT : random.nextInt(PARTICIPANT_LIMIT);
+            events.add(new Object[]{categoryId, Timestamp.valueOf(now),
+                    Timestamp.valueOf(now.plusMinutes(1 + random.nextInt(100_000))), userId, confirmed[i]});
+            if (events.size() == BATCH || i == size - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO events (annotation, category_id, create_date, event_date, "
+                        + "initiator_id, paid, participant_limit, request_moderation, status, title, "
+                        + "confirmed_requests) VALUES ('benchmark', ?, ?, ?, ?, false, " + PARTICIPANT_LIMIT
+                        + ", true, 'PUBLISHED', 'benchmark', ?)", events);
+                events.clear();
+            }
+        }
+        Long firstEventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events", Long.class);
+        List<Object[]> requests = new ArrayList<>(BATCH);
+        Timestamp created = Timestamp.valueOf(now);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < confirmed[i]; j++) {
+                requests.add(new Object[]{firstEventId + i, userId, created});
+            }
+            if (requests.size() >= BATCH || i == size - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO requests (event_id, requester_id, create_date, status) "
+                        + "VALUES (?, ?, ?, 'CONFIRMED')", requests);
+                requests.clear();
+            }
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
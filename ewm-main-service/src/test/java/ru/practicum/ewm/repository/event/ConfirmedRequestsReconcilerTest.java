@@ -0,0 +1,84 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Request;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.constants.RequestStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.RequestRepository;
+import ru.practicum.ewm.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ConfirmedRequestsReconcilerTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcile_ShouldFixDriftedCountersOnly() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("concerts").build());
+        Event drifted = event(user, category);
+        Event exact = event(user, category);
+        request(drifted, user, RequestStatus.CONFIRMED);
+        request(drifted, user, RequestStatus.PENDING);
+        request(exact, user, RequestStatus.CONFIRMED);
+        jdbcTemplate.update("UPDATE events SET confirmed_requests = 5 WHERE id = ?", drifted.getId());
+        jdbcTemplate.update("UPDATE events SET confirmed_requests = 1 WHERE id = ?", exact.getId());
+
+        int fixed = new ConfirmedRequestsReconciler(jdbcTemplate, false, 1000, 1).reconcile();
+
+        assertEquals(1, fixed);
+        assertEquals(1, confirmedRequests(drifted));
+        assertEquals(1, confirmedRequests(exact));
+    }
+
+    private int confirmedRequests(Event event) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_requests FROM events WHERE id = ?", Integer.class,
+                event.getId());
+    }
+
+    private void request(Event event, User user, RequestStatus status) {
+        requestRepository.save(Request.builder()
+                .event(event)
+                .requester(user)
+                .created(LocalDateTime.now())
+                .status(status)
+                .build());
+    }
+
+    private Event event(User user, Category category) {
+        return eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(user)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+}
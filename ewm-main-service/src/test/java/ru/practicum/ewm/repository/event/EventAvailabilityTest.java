@@ -0,0 +1,66 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class EventAvailabilityTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hasFreeSlots_ShouldKeepUnlimitedAndNotYetFullEvents() {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("concerts").build());
+        Long unlimited = event(user, category, 0, 7);
+        event(user, category, 2, 2);
+        Long free = event(user, category, 2, 1);
+        event(user, category, 3, 3);
+
+        List<Long> found = eventRepository.findAll(EventAvailability.hasFreeSlots(), Sort.by("id")).stream()
+                .map(Event::getId)
+                .toList();
+
+        assertEquals(List.of(unlimited, free), found);
+    }
+
+    private Long event(User user, Category category, int participantLimit, int confirmedRequests) {
+        Long id = eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(user)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .participantLimit(participantLimit)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build()).getId();
+        jdbcTemplate.update("UPDATE events SET confirmed_requests = ? WHERE id = ?", confirmedRequests, id);
+        return id;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.ewm.repository.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Location;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EventProjectionsTest {
+    private static final Sort EVENT_DATE_ORDER = Sort.by("eventDate", "id");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User initiator = entityManager.persist(User.builder().name("initiator").email("initiator@mail.ru").build());
+        Category category = entityManager.persist(Category.builder().name("concerts").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            Location location = entityManager.persist(Location.builder().lat(55.7f + i).lon(37.6f).build());
+            ids.add(entityManager.persist(Event.builder()
+                    .title("Event " + i)
+                    .annotation("Annotation " + i)
+                    .description("Description " + i)
+                    .category(category)
+                    .initiator(initiator)
+                    .location(location)
+                    .createdDate(start)
+                    .eventDate(start.plusHours(5 - i))
+                    .participantLimit(10)
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .build()).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findSummaries_ShouldJoinCategoryAndInitiatorInOneStatementPerWindow() {
+        Window<EventSummary> first = eventRepository.findSummaries(published(), EVENT_DATE_ORDER,
+                ScrollPosition.keyset(), 3);
+        Window<EventSummary> second = eventRepository.findSummaries(published(), EVENT_DATE_ORDER,
+                first.positionAt(first.size() - 1), 3);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2)), first.stream().map(EventSummary::id).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(ids.get(1), ids.get(0)), second.stream().map(EventSummary::id).toList());
+        assertFalse(second.hasNext());
+        EventSummary summary = first.getContent().get(0);
+        assertEquals("concerts", summary.categoryName());
+        assertEquals("initiator", summary.initiatorName());
+        assertEquals("Event 4", summary.title());
+    }
+
+    @Test
+    void findDetails_ShouldJoinLocationAndResumeAfterOffset() {
+        Window<EventDetails> window = eventRepository.findDetails(published(), Sort.by("id"),
+                ScrollPosition.offset(0), 2);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(ids.get(1), ids.get(2)), window.stream().map(EventDetails::id).toList());
+        EventDetails details = window.getContent().get(0);
+        assertEquals("Description 1", details.description());
+        assertEquals(56.7f, details.lat());
+        assertEquals(EventStatus.PUBLISHED, details.eventStatus());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private static Specification<Event> published() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("eventStatus"), EventStatus.PUBLISHED);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.ewm.repository.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EventReadModelCache.class, SimpleMeterRegistry.class})
+class EventReadModelCacheTest {
+
+    @Autowired
+    private EventReadModelCache cache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Category concerts;
+    private Long first;
+    private Long second;
+
+    @BeforeEach
+    void setUp() {
+        User initiator = entityManager.persist(User.builder().name("initiator").email("initiator@mail.ru").build());
+        concerts = entityManager.persist(Category.builder().name("concerts").build());
+        Category lectures = entityManager.persist(Category.builder().name("lectures").build());
+        first = event(initiator, concerts, "First");
+        second = event(initiator, lectures, "Second");
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAll_ShouldLoadMissesInOneStatementAndServeHitsWithoutQueries() {
+        assertEquals("First", cache.get(first).title());
+        Map<Long, EventDetails> events = cache.getAll(List.of(first, second, Long.MAX_VALUE));
+        cache.get(second);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals("Second", events.get(second).title());
+        assertEquals(2, events.size());
+        assertNull(cache.get(-1L));
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "event-read-models").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void invalidate_ShouldReloadChangedEventAndCategoryChangesShouldDropItsEvents() {
+        cache.getAll(List.of(first, second));
+        jdbcTemplate.update("UPDATE events SET title = 'Renamed' WHERE id = ?", first);
+        jdbcTemplate.update("UPDATE categories SET name = 'music' WHERE id = ?", concerts.getId());
+
+        assertEquals("First", cache.get(first).title());
+        cache.invalidate(first);
+        assertEquals("Renamed", cache.get(first).title());
+
+        jdbcTemplate.update("UPDATE events SET title = 'Renamed again' WHERE id = ?", second);
+        statistics.clear();
+        cache.invalidateCategory(concerts.getId());
+
+        assertEquals("music", cache.get(first).categoryName());
+        assertEquals("Second", cache.get(second).title());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Long event(User initiator, Category category, String title) {
+        return entityManager.persist(Event.builder()
+                .title(title)
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(initiator)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .eventStatus(EventStatus.PUBLISHED)
+                .build()).getId();
+    }
+}
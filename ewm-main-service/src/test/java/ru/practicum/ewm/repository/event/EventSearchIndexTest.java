@@ -0,0 +1,118 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex(eventRepository, true, 2, 3);
+    }
+
+    @Test
+    void search_BeforeRebuild_ShouldFallBack() {
+        assertNull(index.search("jazz"));
+    }
+
+    @Test
+    void rebuild_ShouldIndexEveryPageAndRankByField() {
+        rebuildWith(List.of(
+                new Text(1L, "Evening", "Music and friends", "Jazz quartet on the roof"),
+                new Text(2L, "Jazz night", "Music", "Live band"),
+                new Text(3L, "Evening", "Best JAZZ in town", "Live band"),
+                new Text(4L, "Evening", "Rock and roll", "Live band"),
+                new Text(5L, "Jazzy evening", "Music", "Live")));
+
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{2, 5, 3, 1}, index.search("jazz"));
+        assertArrayEquals(new long[]{3, 4, 5}, index.search("evening  li"));
+        assertArrayEquals(new long[0], index.search("jazz rock"));
+    }
+
+    @Test
+    void update_ShouldAddPublishedAndDropOtherEvents() {
+        rebuildWith(List.of(new Text(1L, "Jazz night", "Music", "Live band")));
+
+        index.update(event(7L, "Jazz brunch", EventStatus.PUBLISHED));
+        assertArrayEquals(new long[]{1, 7}, index.search("jazz"));
+
+        index.update(event(1L, "Rock night", EventStatus.PUBLISHED));
+        assertArrayEquals(new long[]{7}, index.search("jazz"));
+        assertArrayEquals(new long[]{1}, index.search("rock"));
+
+        index.update(event(7L, "Jazz brunch", EventStatus.CANCELED));
+        assertArrayEquals(new long[0], index.search("jazz"));
+    }
+
+    @Test
+    void update_ShouldReplaceOnlyTermsOfPreviousText() {
+        rebuildWith(List.of(
+                new Text(1L, "Jazz night", "Music", "Live band"),
+                new Text(2L, "Jazz brunch", "Music", "Live band")));
+
+        index.update(event(2L, "Rock brunch", EventStatus.PUBLISHED));
+        index.update(event(2L, "Rock brunch", EventStatus.PUBLISHED));
+
+        assertArrayEquals(new long[]{1}, index.search("jazz"));
+        assertArrayEquals(new long[]{2}, index.search("brunch"));
+        assertArrayEquals(new long[]{1, 2}, index.search("live"));
+    }
+
+    @Test
+    void rebuild_ShouldMergeManyPagesInIdOrder() {
+        List<EventText> texts = LongStream.rangeClosed(1, 101)
+                .mapToObj(id -> (EventText) new Text(id, "Event " + id, "Common words", "Description"))
+                .toList();
+        rebuildWith(texts);
+
+        assertArrayEquals(LongStream.rangeClosed(1, 101).toArray(), index.search("common"));
+        assertArrayEquals(new long[]{42}, index.search("event 42"));
+    }
+
+    private void rebuildWith(List<EventText> texts) {
+        when(eventRepository.findTextsByStatusAfter(eq(EventStatus.PUBLISHED), any(Long.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(1);
+                    int size = invocation.<Pageable>getArgument(2).getPageSize();
+                    return texts.stream().filter(text -> text.getId() > afterId).limit(size).toList();
+                });
+        index.rebuild();
+    }
+
+    private static Event event(long id, String title, EventStatus status) {
+        return Event.builder()
+                .id(id)
+                .title(title)
+                .annotation("Music")
+                .description("Live band")
+                .eventStatus(status)
+                .build();
+    }
+
+    private record Text(Long getId, String getTitle, String getAnnotation, String getDescription)
+            implements EventText {
+    }
+}
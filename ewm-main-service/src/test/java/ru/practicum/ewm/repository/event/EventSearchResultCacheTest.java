@@ -0,0 +1,75 @@
+package ru.practicum.ewm.repository.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.ewm.dto.SearchEventParams;
+import ru.practicum.ewm.repository.event.EventSearchResultCache.ResultPage;
+import ru.practicum.ewm.repository.event.EventSearchResultCache.SearchKey;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSearchResultCacheTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private EventSearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EventSearchResultCache(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                1000, 60_000);
+    }
+
+    @Test
+    void get_ShouldShareEntryBetweenEquivalentCategoryLists() {
+        SearchKey key = key(List.of(3L, 1L, 3L), ScrollPosition.offset());
+        cache.put(key, Window.from(List.of(summary(7L), summary(5L)), ScrollPosition::offset, true));
+
+        ResultPage page = cache.get(key(List.of(1L, 3L), ScrollPosition.offset()));
+
+        assertNotNull(page);
+        assertEquals(List.of(7L, 5L), page.ids());
+        assertEquals(ScrollPosition.offset(1), page.positions().get(1));
+        assertTrue(page.hasNext());
+        assertNull(cache.get(key(List.of(1L, 3L), ScrollPosition.offset(9))));
+    }
+
+    @Test
+    void invalidateCategory_ShouldDropTaggedAndUnfilteredEntriesOnly() {
+        SearchKey music = key(List.of(1L, 3L), ScrollPosition.offset());
+        SearchKey lectures = key(List.of(2L), ScrollPosition.offset());
+        SearchKey all = key(null, ScrollPosition.offset());
+        for (SearchKey key : List.of(music, lectures, all)) {
+            cache.put(key, Window.from(List.of(summary(1L)), ScrollPosition::offset, false));
+        }
+
+        cache.invalidateCategory(3L);
+
+        assertNull(cache.get(music));
+        assertNull(cache.get(all));
+        assertNotNull(cache.get(lectures));
+    }
+
+    private static SearchKey key(List<Long> categories, ScrollPosition position) {
+        SearchEventParams params = SearchEventParams.builder()
+                .categories(categories)
+                .onlyAvailable(false)
+                .size(10)
+                .build();
+        return SearchKey.of(params, START, position);
+    }
+
+    private static EventSummary summary(Long id) {
+        return new EventSummary(id, "Annotation", 1L, "concerts", 0, START.plusDays(1), 1L, "initiator", false,
+                "Event", 0);
+    }
+}
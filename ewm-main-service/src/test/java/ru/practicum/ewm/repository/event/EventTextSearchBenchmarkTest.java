@@ -0,0 +1,172 @@
+package ru.practicum.ewm.repository.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Latency of the public text search on a generated table of events, through the database search and through the
+ * in-memory {@link EventSearchIndex}. Excluded from the regular build, run with
+ * {@code mvn test -P benchmark [-Dewm.benchmark.events=1000000]}. Uses the in-memory H2 database and the
+ * {@code LIKE} search by default; add {@code -Dspring.datasource.url=jdbc:postgresql://...
+ * -Dspring.sql.init.schema-locations=classpath:schema.sql,classpath:schema-postgresql.sql
+ * -Dewm.search.text-engine=postgres} (and the credentials) to measure the full-text index.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "stats-client.async.enabled=false",
+        "stats-client.spool.enabled=false",
+        "ewm.search.index.enabled=false",
+        "ewm.views.refresh.enabled=false"
+})
+class EventTextSearchBenchmarkTest {
+    private static final int VOCABULARY = 20_000;
+    private static final int DESCRIPTION_WORDS = 80;
+    private static final int BATCH = 5_000;
+    private static final int WARMUP_QUERIES = 20;
+    private static final int QUERIES = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventTextSearch eventTextSearch;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Test
+    void search() {
+        int size = Integer.getInteger("ewm.benchmark.events", 1_000_000);
+        Random random = new Random(size);
+        String[] words = vocabulary(random);
+        long started = System.nanoTime();
+        load(size, words, random);
+        log.info("{}: loaded {} events in {} s", eventTextSearch.getClass().getSimpleName(), size,
+                String.format("%.1f", (System.nanoTime() - started) / 1e9));
+
+        started = System.nanoTime();
+        eventSearchIndex.rebuild();
+        log.info("EventSearchIndex: built in {} s", String.format("%.1f", (System.nanoTime() - started) / 1e9));
+
+        measure(eventTextSearch.getClass().getSimpleName(), words, random, this::searchDatabase);
+        measure(EventSearchIndex.class.getSimpleName(), words, random, this::searchIndex);
+    }
+
+    private void measure(String name, String[] words, Random random, Consumer<String> search) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            search.accept(words[random.nextInt(100)]);
+        }
+        for (Shape shape : Shape.values()) {
+            long[] latencies = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                String text = shape.text(words, random);
+                long queryStarted = System.nanoTime();
+                search.accept(text);
+                latencies[i] = System.nanoTime() - queryStarted;
+            }
+            Arrays.sort(latencies);
+            log.info("{}: {} p50={} ms p95={} ms p99={} ms max={} ms", name, shape, millis(latencies[QUERIES / 2]),
+                    millis(latencies[QUERIES * 95 / 100]), millis(latencies[QUERIES * 99 / 100]),
+                    millis(latencies[QUERIES - 1]));
+        }
+    }
+
+    private void searchDatabase(String text) {
+        Specification<Event> published = (root, query, cb) -> cb.equal(root.get("eventStatus"), EventStatus.PUBLISHED);
+        eventRepository.findAll(published.and(eventTextSearch.matching(text)), PageRequest.of(0, 10));
+    }
+
+    private void searchIndex(String text) {
+        long[] ranked = eventSearchIndex.search(text);
+        eventRepository.findAllById(Arrays.stream(ranked, 0, Math.min(10, ranked.length)).boxed().toList());
+    }
+
+    private void load(int size, String[] words, Random random) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('benchmark', 'benchmark@mail.ru')");
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('benchmark')");
+        Long userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp eventDate = Timestamp.valueOf(LocalDateTime.now().plusMonths(1));
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < size; i++) {
+            batch.add(new Object[]{text(words, random, 12), categoryId, now, text(words, random, DESCRIPTION_WORDS),
+                    eventDate, userId, text(words, random, 4)});
+            if (batch.size() == BATCH || i == size - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO events (annotation, category_id, create_date, description, "
+                        + "event_date, initiator_id, paid, participant_limit, request_moderation, status, title) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, false, 0, true, 'PUBLISHED', ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static String[] vocabulary(Random random) {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            char[] word = new char[4 + random.nextInt(6)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(word);
+        }
+        return words;
+    }
+
+    /**
+     * Word ranks follow a rough Zipf distribution, so the first words of the vocabulary are in most events.
+     */
+    private static String word(String[] words, Random random) {
+        return words[(int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1)];
+    }
+
+    private static String text(String[] words, Random random, int length) {
+        StringBuilder text = new StringBuilder(length * 8);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word(words, random));
+        }
+        return text.toString();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private enum Shape {
+        COMMON_WORD,
+        RARE_WORD,
+        TWO_WORDS;
+
+        String text(String[] words, Random random) {
+            return switch (this) {
+                case COMMON_WORD -> words[random.nextInt(10)];
+                case RARE_WORD -> words[VOCABULARY / 2 + random.nextInt(VOCABULARY / 2)];
+                case TWO_WORDS -> words[random.nextInt(100)] + " " + words[100 + random.nextInt(1000)];
+            };
+        }
+    }
+}
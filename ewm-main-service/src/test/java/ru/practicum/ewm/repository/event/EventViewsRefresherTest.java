@@ -0,0 +1,120 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.CachingStatsClient;
+import ru.practicum.ewm.HitsByEventId;
+import ru.practicum.ewm.StatsClient;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+class EventViewsRefresherTest {
+    private static final Sort VIEWS_ORDER = Sort.by(Sort.Order.desc("views"), Sort.Order.asc("id"));
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    private EventViewsRefresher refresher;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new EventViewsRefresher(statsClient, jdbcTemplate, false, 1000, 60_000, 2);
+        User user = userRepository.save(User.builder().name("user").email("user@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("concerts").build());
+        ids = List.of(save(user, category, 3), save(user, category, 1), save(user, category, 2));
+    }
+
+    @Test
+    void refresh_ShouldStoreUniqueViewsOfHitEventsAndOrderByThem() {
+        when(statsClient.getEventHits(any(), any(), eq(List.of()), eq(false)))
+                .thenReturn(hits(Map.of(ids.get(0), 7L, ids.get(2), 20L)));
+        when(statsClient.getEventHits(eq(CachingStatsClient.STATS_EPOCH), any(), any(), eq(true)))
+                .thenReturn(hits(Map.of(ids.get(0), 5L, ids.get(2), 9L)));
+
+        assertEquals(2, refresher.refresh());
+
+        Window<Event> byViews = eventRepository.findBy(Specification.where(null), query -> query.sortBy(VIEWS_ORDER)
+                .limit(2).scroll(ScrollPosition.keyset()));
+        assertEquals(List.of(ids.get(2), ids.get(0)), byViews.stream().map(Event::getId).toList());
+        Window<Event> next = eventRepository.findBy(Specification.where(null), query -> query.sortBy(VIEWS_ORDER)
+                .limit(2).scroll(byViews.positionAt(1)));
+        assertEquals(List.of(ids.get(1)), next.stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void refresh_ShouldOnlyReloadEventsHitSinceThePreviousPass() {
+        when(statsClient.getEventHits(any(), any(), eq(List.of()), eq(false)))
+                .thenReturn(hits(Map.of()))
+                .thenReturn(hits(Map.of(ids.get(1), 1L)));
+        when(statsClient.getEventHits(eq(CachingStatsClient.STATS_EPOCH), any(), any(), eq(true)))
+                .thenReturn(hits(Map.of(ids.get(1), 4L)));
+
+        refresher.refresh();
+        LocalDateTime firstPassEnd = LocalDateTime.now();
+        assertEquals(1, refresher.refresh());
+
+        verify(statsClient).getEventHits(argThat(since -> since.isAfter(CachingStatsClient.STATS_EPOCH)
+                && !since.isAfter(firstPassEnd.minusSeconds(60))), any(), eq(List.of()), anyBoolean());
+        verify(statsClient).getEventHits(eq(CachingStatsClient.STATS_EPOCH), any(), eq(List.of(ids.get(1))),
+                eq(true));
+        assertEquals(4L, jdbcTemplate.queryForObject("SELECT views FROM events WHERE id = ?", Long.class,
+                ids.get(1)));
+    }
+
+    private static HitsByEventId hits(Map<Long, Long> views) {
+        HitsByEventId hits = new HitsByEventId(views.size());
+        views.forEach(hits::add);
+        return hits;
+    }
+
+    private Long save(User user, Category category, int daysAhead) {
+        return eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(user)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(daysAhead))
+                .eventStatus(EventStatus.PUBLISHED)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(LikeEventTextSearch.class)
+class LikeEventTextSearchTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventTextSearch eventTextSearch;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().name("user").email("user@mail.ru").build());
+        category = categoryRepository.save(Category.builder().name("concerts").build());
+    }
+
+    @Test
+    void matching_ShouldRankTitleAboveAnnotationAboveDescription() {
+        Event inDescription = save("Evening", "Music and friends", "Jazz quartet on the roof");
+        Event inTitle = save("Jazz night", "Music and friends", "Live band");
+        Event inAnnotation = save("Evening", "Best JAZZ in town", "Live band");
+        save("Evening", "Rock and roll", "Live band");
+
+        List<Long> found = ids(eventTextSearch.matching("jazz"));
+
+        assertEquals(List.of(inTitle.getId(), inAnnotation.getId(), inDescription.getId()), found);
+    }
+
+    @Test
+    void matching_ShouldTreatWildcardsLiterally() {
+        Event discount = save("Sale", "50% off", "Tickets");
+        save("Sale", "50 euro off", "Tickets");
+
+        assertEquals(List.of(discount.getId()), ids(eventTextSearch.matching("50%")));
+    }
+
+    private List<Long> ids(Specification<Event> specification) {
+        return eventRepository.findAll(specification, PageRequest.of(0, 10)).stream()
+                .map(Event::getId)
+                .toList();
+    }
+
+    private Event save(String title, String annotation, String description) {
+        return eventRepository.save(Event.builder()
+                .title(title)
+                .annotation(annotation)
+                .description(description)
+                .category(category)
+                .initiator(user)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.ewm.repository.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PostgresEventTextSearchTest {
+
+    @Test
+    void toTsQuery_ShouldAndPrefixesOfWords() {
+        assertEquals("джаз:* & night:*", PostgresEventTextSearch.toTsQuery("  Джаз, NIGHT! "));
+    }
+
+    @Test
+    void toTsQuery_ShouldDropTsQueryOperators() {
+        assertEquals("a:* & b:* & c:*", PostgresEventTextSearch.toTsQuery("a & !b | (c):*"));
+    }
+
+    @Test
+    void matching_WithoutWords_ShouldNotFilter() {
+        assertNull(new PostgresEventTextSearch().matching(" ?! "));
+    }
+}
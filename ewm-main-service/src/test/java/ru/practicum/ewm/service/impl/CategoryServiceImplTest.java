@@ -8,6 +8,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.dto.NewCategoryDto;
 import ru.practicum.ewm.exception.ConflictException;
@@ -15,6 +20,7 @@ import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.model.event.Event;
 import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
 import ru.practicum.ewm.repository.event.EventRepository;
 
 import java.util.Collections;
@@ -23,6 +29,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -42,6 +49,9 @@ public class CategoryServiceImplTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventReadModelCache eventReadModelCache;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -72,7 +82,7 @@ public class CategoryServiceImplTest {
         when(categoryRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(category)));
 
-        List<CategoryDto> result = categoryService.getCategories(0, 10);
+        List<CategoryDto> result = categoryService.getCategories(0, 10, webRequest());
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -85,7 +95,7 @@ public class CategoryServiceImplTest {
     void getCategoryById_WhenCategoryExists_ShouldReturnCategoryDto() {
         when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
 
-        CategoryDto result = categoryService.getCategoryById(1L);
+        CategoryDto result = categoryService.getCategoryById(1L, webRequest());
 
         assertNotNull(result);
         assertEquals(category.getId(), result.getId());
@@ -93,11 +103,31 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getCategoryById_WhenClientHasCurrentVersion_ShouldReturnNotModified() {
+        category.setVersion(3L);
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        categoryService.getCategoryById(1L,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/categories/1"), first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/categories/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertNull(categoryService.getCategoryById(1L, new ServletWebRequest(request, second)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+
+        category.setVersion(4L);
+        assertNotNull(categoryService.getCategoryById(1L,
+                new ServletWebRequest(request, new MockHttpServletResponse())));
+    }
+
     @Test
     void getCategoryById_WhenCategoryDoesNotExist_ShouldThrowNotFoundException() {
         when(categoryRepository.findById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> categoryService.getCategoryById(1L));
+        assertThrows(NotFoundException.class, () -> categoryService.getCategoryById(1L, webRequest()));
         verify(categoryRepository, times(1)).findById(1L);
     }
 
@@ -161,6 +191,7 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).findById(1L);
         verify(categoryRepository, times(1)).existsByNameIgnoreCase("Updated Category");
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(eventReadModelCache, times(1)).invalidateCategory(1L);
     }
 
     @Test
@@ -213,4 +244,8 @@ public class CategoryServiceImplTest {
         verify(categoryRepository, never()).existsByNameIgnoreCase(anyString());
         verify(categoryRepository, never()).save(any(Category.class));
     }
-}
\ No newline at end of file
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/categories/1"), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.ewm.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.practicum.ewm.dto.CompilationDto;
+import ru.practicum.ewm.dto.event.EventShortDto;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.Compilation;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CompilationServiceImpl.class)
+class CompilationServiceImplTest {
+
+    @Autowired
+    private CompilationServiceImpl compilationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        User initiator = entityManager.persist(User.builder().name("initiator").email("initiator@mail.ru").build());
+        category = entityManager.persist(Category.builder().name("concerts").build());
+        for (int i = 0; i < 4; i++) {
+            Set<Event> events = new HashSet<>();
+            for (int j = 0; j <= i; j++) {
+                events.add(entityManager.persist(Event.builder()
+                        .title("Event " + i + "." + j)
+                        .annotation("Annotation")
+                        .description("Description")
+                        .category(category)
+                        .initiator(initiator)
+                        .createdDate(LocalDateTime.now())
+                        .eventDate(LocalDateTime.now().plusDays(1))
+                        .eventStatus(EventStatus.PUBLISHED)
+                        .build()));
+            }
+            entityManager.persist(Compilation.builder().title("Compilation " + i).pinned(false).events(events).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getCompilations_ShouldReadEventsOfAllCompilationsWithConstantStatements() {
+        List<CompilationDto> compilations = compilationService.getCompilations(false, 0, 10, new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/compilations"), new MockHttpServletResponse()));
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(compilations.size(), statistics.getEntityLoadCount());
+        assertEquals(List.of(1, 2, 3, 4), compilations.stream()
+                .sorted(Comparator.comparing(CompilationDto::getTitle))
+                .map(compilation -> compilation.getEvents().size())
+                .collect(Collectors.toList()));
+        EventShortDto event = compilations.get(0).getEvents().iterator().next();
+        assertEquals("concerts", event.getCategory().getName());
+        assertEquals("initiator", event.getInitiator().getName());
+    }
+
+    @Test
+    void getCompilations_WhenClientHasCurrentVersion_ShouldSkipEventsUntilAnEventChanges() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        compilationService.getCompilations(false, 0, 10,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/compilations"), first));
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/compilations");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        statistics.clear();
+
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(compilationService.getCompilations(false, 0, 10, new ServletWebRequest(conditional, notModified)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModified.getStatus());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        Category renamed = entityManager.find(Category.class, category.getId());
+        renamed.setName("music");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CompilationDto> changed = compilationService.getCompilations(false, 0, 10,
+                new ServletWebRequest(conditional, new MockHttpServletResponse()));
+        assertNotNull(changed);
+        assertEquals("music", changed.get(0).getEvents().iterator().next().getCategory().getName());
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.ewm.CachingStatsClient;
+import ru.practicum.ewm.StatsClient;
+import ru.practicum.ewm.dto.SearchEventParams;
+import ru.practicum.ewm.dto.event.EventShortDto;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
+import ru.practicum.ewm.repository.event.EventRepository;
+import ru.practicum.ewm.repository.event.EventSearchIndex;
+import ru.practicum.ewm.repository.event.EventSearchResultCache;
+import ru.practicum.ewm.repository.event.EventTextSearch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(EventServiceImpl.class)
+class EventPublicSearchTest {
+
+    @Autowired
+    private EventServiceImpl eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @MockBean
+    private CachingStatsClient cachingStatsClient;
+
+    @MockBean
+    private EventTextSearch eventTextSearch;
+
+    @MockBean
+    private EventSearchIndex eventSearchIndex;
+
+    @MockBean
+    private EventReadModelCache eventReadModelCache;
+
+    @MockBean
+    private EventSearchResultCache eventSearchResultCache;
+
+    private Event free;
+    private Event paid;
+
+    @BeforeEach
+    void setUp() {
+        User initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("concerts").build());
+        free = eventRepository.save(event(initiator, category, false));
+        paid = eventRepository.save(event(initiator, category, true));
+    }
+
+    @Test
+    void getAllEventFromPublic_WithPaid_ShouldReturnOnlyEventsOfThatKind() {
+        assertEquals(List.of(paid.getId()), search(true));
+        assertEquals(List.of(free.getId()), search(false));
+        assertEquals(List.of(free.getId(), paid.getId()), search(null));
+    }
+
+    private List<Long> search(Boolean isPaid) {
+        SearchEventParams params = SearchEventParams.builder()
+                .paid(isPaid)
+                .onlyAvailable(false)
+                .size(10)
+                .build();
+        return eventService.getAllEventFromPublic(params, ScrollPosition.offset(),
+                        new MockHttpServletRequest("GET", "/events"))
+                .stream()
+                .map(EventShortDto::getId)
+                .toList();
+    }
+
+    private static Event event(User initiator, Category category, boolean paid) {
+        return Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(initiator)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .paid(paid)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.practicum.ewm.CachingStatsClient;
+import ru.practicum.ewm.StatsClient;
+import ru.practicum.ewm.dto.event.EventFullDto;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.repository.event.EventDetails;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
+import ru.practicum.ewm.repository.event.EventRepository;
+import ru.practicum.ewm.repository.event.EventVersion;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventServiceImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private StatsClient statsClient;
+
+    @Mock
+    private CachingStatsClient cachingStatsClient;
+
+    @Mock
+    private EventReadModelCache eventReadModelCache;
+
+    @InjectMocks
+    private EventServiceImpl eventService;
+
+    private EventVersion version;
+
+    @BeforeEach
+    void setUp() {
+        version = mock(EventVersion.class);
+        when(version.getEventStatus()).thenReturn(EventStatus.PUBLISHED);
+        when(version.getVersion()).thenReturn(2L);
+        when(version.getCategoryVersion()).thenReturn(1L);
+        when(version.getConfirmedRequests()).thenReturn(3);
+        when(version.getViews()).thenReturn(7L);
+        when(eventRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+    }
+
+    @Test
+    void getEventById_ShouldTakeViewsFromTheVersionItIsTaggedWith() {
+        when(eventReadModelCache.get(1L)).thenReturn(details());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        EventFullDto result = eventService.getEventById(1L, request(),
+                new ServletWebRequest(request(), response));
+
+        assertNotNull(result);
+        assertEquals(7L, result.getViews());
+        assertEquals(3, result.getConfirmedRequests());
+        assertFalse(response.getHeader(HttpHeaders.ETAG).startsWith("W/"));
+        verifyNoInteractions(cachingStatsClient);
+    }
+
+    @Test
+    void getEventById_WhenClientHasCurrentVersion_ShouldReturnNotModified() {
+        when(eventReadModelCache.get(1L)).thenReturn(details());
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        eventService.getEventById(1L, request(), new ServletWebRequest(request(), first));
+
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertNull(eventService.getEventById(1L, request, new ServletWebRequest(request, second)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+
+        when(version.getViews()).thenReturn(8L);
+        EventFullDto result = eventService.getEventById(1L, request,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+        assertEquals(8L, result.getViews());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/events/1");
+    }
+
+    private static EventDetails details() {
+        return new EventDetails(1L, "Annotation", 1L, "concerts", 0, LocalDateTime.now().plusDays(1), 1L,
+                "initiator", false, "Event", 0L, LocalDateTime.now(), "Description", 55.75f, 37.62f, 5,
+                LocalDateTime.now(), true, EventStatus.PUBLISHED, 2L);
+    }
+}
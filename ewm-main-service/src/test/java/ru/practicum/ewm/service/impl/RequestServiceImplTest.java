@@ -0,0 +1,108 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.dto.ParticipationRequestDto;
+import ru.practicum.ewm.exception.ConflictException;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.constants.RequestStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+import ru.practicum.ewm.repository.event.EventRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(RequestServiceImpl.class)
+class RequestServiceImplTest {
+
+    @Autowired
+    private RequestServiceImpl requestService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User initiator;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        initiator = user("initiator");
+        category = categoryRepository.save(Category.builder().name("concerts").build());
+    }
+
+    @Test
+    void addNewRequest_WithoutModeration_ShouldTakeSlotAndCancelShouldReleaseIt() {
+        Event event = event(2, false);
+        User requester = user("requester");
+
+        ParticipationRequestDto request = requestService.addNewRequest(requester.getId(), event.getId());
+        assertEquals(RequestStatus.CONFIRMED, request.getStatus());
+        assertEquals(1, confirmedRequests(event));
+
+        requestService.cancelRequest(requester.getId(), request.getId());
+        assertEquals(0, confirmedRequests(event));
+    }
+
+    @Test
+    void addNewRequest_WhenLimitIsTaken_ShouldThrowConflict() {
+        Event event = event(1, false);
+        requestService.addNewRequest(user("first").getId(), event.getId());
+        Long second = user("second").getId();
+
+        assertThrows(ConflictException.class, () -> requestService.addNewRequest(second, event.getId()));
+        assertEquals(1, confirmedRequests(event));
+    }
+
+    @Test
+    void addNewRequest_WithModeration_ShouldNotTakeSlot() {
+        Event event = event(2, true);
+
+        requestService.addNewRequest(user("requester").getId(), event.getId());
+
+        assertEquals(0, confirmedRequests(event));
+    }
+
+    private int confirmedRequests(Event event) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_requests FROM events WHERE id = ?", Integer.class,
+                event.getId());
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+    }
+
+    private Event event(int participantLimit, boolean requestModeration) {
+        return eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(initiator)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .participantLimit(participantLimit)
+                .requestModeration(requestModeration)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+}
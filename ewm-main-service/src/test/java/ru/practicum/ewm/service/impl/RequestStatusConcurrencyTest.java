@@ -0,0 +1,189 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.CachingStatsClient;
+import ru.practicum.ewm.StatsClient;
+import ru.practicum.ewm.dto.ParticipationRequestDto;
+import ru.practicum.ewm.dto.event.EventRequestStatusUpdateRequest;
+import ru.practicum.ewm.exception.UncorrectedParametersException;
+import ru.practicum.ewm.model.Category;
+import ru.practicum.ewm.model.User;
+import ru.practicum.ewm.model.constants.EventStatus;
+import ru.practicum.ewm.model.constants.RequestStatus;
+import ru.practicum.ewm.model.event.Event;
+import ru.practicum.ewm.repository.CategoryRepository;
+import ru.practicum.ewm.repository.UserRepository;
+import ru.practicum.ewm.repository.event.EventReadModelCache;
+import ru.practicum.ewm.repository.event.EventRepository;
+import ru.practicum.ewm.repository.event.EventSearchIndex;
+import ru.practicum.ewm.repository.event.EventSearchResultCache;
+import ru.practicum.ewm.repository.event.EventTextSearch;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Two transactions change the status of the same request at once: the first holds its transaction open until the
+ * second has started, so without row locks both would see the old status and adjust the counter twice.
+ */
+@DataJpaTest
+@Import({RequestServiceImpl.class, EventServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestStatusConcurrencyTest {
+
+    @Autowired
+    private RequestServiceImpl requestService;
+
+    @Autowired
+    private EventServiceImpl eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @MockBean
+    private CachingStatsClient cachingStatsClient;
+
+    @MockBean
+    private EventTextSearch eventTextSearch;
+
+    @MockBean
+    private EventSearchIndex eventSearchIndex;
+
+    @MockBean
+    private EventReadModelCache eventReadModelCache;
+
+    @MockBean
+    private EventSearchResultCache eventSearchResultCache;
+
+    private User initiator;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        initiator = user("initiator");
+        category = categoryRepository.save(Category.builder().name("concerts").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void updateStatusRequest_WhenSameRequestIsConfirmedTwiceAtOnce_ShouldTakeOneSlot() throws Exception {
+        Event event = event(5, true);
+        Long requestId = requestService.addNewRequest(user("requester").getId(), event.getId()).getId();
+        EventRequestStatusUpdateRequest confirm = EventRequestStatusUpdateRequest.builder()
+                .requestIds(Set.of(requestId))
+                .status(RequestStatus.CONFIRMED)
+                .build();
+
+        inConcurrentTransactions(() -> eventService.updateStatusRequest(initiator.getId(), event.getId(), confirm));
+
+        assertEquals(1, confirmedRequests(event));
+    }
+
+    @Test
+    void cancelRequest_WhenSameRequestIsCanceledTwiceAtOnce_ShouldReleaseOneSlot() throws Exception {
+        Event event = event(5, false);
+        User requester = user("requester");
+        ParticipationRequestDto request = requestService.addNewRequest(requester.getId(), event.getId());
+        requestService.addNewRequest(user("other").getId(), event.getId());
+
+        ExecutionException second = assertThrows(ExecutionException.class, () ->
+                inConcurrentTransactions(() -> requestService.cancelRequest(requester.getId(), request.getId())));
+
+        assertInstanceOf(UncorrectedParametersException.class, second.getCause());
+        assertEquals(1, confirmedRequests(event));
+    }
+
+    /**
+     * Runs {@code change} in a transaction that commits only after a second, concurrent run of it has had time to
+     * reach the same rows, and returns after both finished; a failure of the second run is rethrown.
+     */
+    private void inConcurrentTransactions(Runnable change) throws Exception {
+        CountDownLatch changed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    change.run();
+                    changed.countDown();
+                    await(release);
+                }));
+        changed.await(10, TimeUnit.SECONDS);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(change);
+        Thread.sleep(300);
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int confirmedRequests(Event event) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_requests FROM events WHERE id = ?", Integer.class,
+                event.getId());
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+    }
+
+    private Event event(int participantLimit, boolean requestModeration) {
+        return eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation")
+                .description("Description")
+                .category(category)
+                .initiator(initiator)
+                .createdDate(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .participantLimit(participantLimit)
+                .requestModeration(requestModeration)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+}
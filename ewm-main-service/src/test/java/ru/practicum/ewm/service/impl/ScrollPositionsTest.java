@@ -0,0 +1,55 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import ru.practicum.ewm.controller.ContinuationTokens;
+import ru.practicum.ewm.exception.UncorrectedParametersException;
+import ru.practicum.ewm.model.event.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScrollPositionsTest {
+    private static final Sort EVENT_DATE_ORDER = Sort.by("eventDate", "id");
+    private static final Sort VIEWS_ORDER = Sort.by(Sort.Order.desc("views"), Sort.Order.asc("id"));
+
+    @Test
+    void requireKeys_WhenValuesFitTheProperties_ShouldReturnPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("eventDate", LocalDateTime.of(2024, 1, 1, 12, 0));
+        keys.put("id", 1L);
+        ScrollPosition position = ContinuationTokens.position(
+                ContinuationTokens.encode(ScrollPosition.forward(keys)), 0);
+
+        assertSame(position, ScrollPositions.requireKeys(position, EVENT_DATE_ORDER, Event.class));
+        ScrollPosition views = ScrollPosition.forward(Map.of("views", 5L, "id", 1L));
+        assertSame(views, ScrollPositions.requireKeys(views, VIEWS_ORDER, Event.class));
+    }
+
+    @Test
+    void requireKeys_WhenForgedValueDoesNotFitTheProperty_ShouldThrowUncorrectedParametersException() {
+        ScrollPosition position = ContinuationTokens.position(token("k:eventDate=l5;id=l1"), 0);
+
+        assertThrows(UncorrectedParametersException.class,
+                () -> ScrollPositions.requireKeys(position, EVENT_DATE_ORDER, Event.class));
+    }
+
+    @Test
+    void requireKeys_WhenForgedIdIsADate_ShouldThrowUncorrectedParametersException() {
+        ScrollPosition position = ContinuationTokens.position(token("k:id=t2024-01-01T12:00"), 0);
+
+        assertThrows(UncorrectedParametersException.class,
+                () -> ScrollPositions.requireKeys(position, Sort.by("id"), Event.class));
+    }
+
+    private static String token(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ru.practicum.ewm.dto.NewUserRequest;
 import ru.practicum.ewm.dto.UserDto;
 import ru.practicum.ewm.exception.NotFoundException;
@@ -96,29 +98,32 @@ public class UserServiceImplTest {
     @Test
     void getListUsers_WithIds_ShouldReturnUserDtoList() {
         List<Long> ids = List.of(1L);
-        when(userRepository.findByIdIn(any(), any(PageRequest.class))).thenReturn(List.of(user));
+        when(userRepository.findByIdIn(any(), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(user), ScrollPosition::offset));
 
-        List<UserDto> result = userService.getListUsers(ids, 0, 10);
+        Window<UserDto> result = userService.getListUsers(ids, ScrollPosition.offset(), 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(user.getId(), result.get(0).getId());
-        assertEquals(user.getName(), result.get(0).getName());
-        assertEquals(user.getEmail(), result.get(0).getEmail());
-        verify(userRepository, times(1)).findByIdIn(any(), any(PageRequest.class));
+        assertEquals(user.getId(), result.getContent().get(0).getId());
+        assertEquals(user.getName(), result.getContent().get(0).getName());
+        assertEquals(user.getEmail(), result.getContent().get(0).getEmail());
+        verify(userRepository, times(1)).findByIdIn(any(), any(ScrollPosition.class), any(Limit.class),
+                any(Sort.class));
     }
 
     @Test
     void getListUsers_WithoutIds_ShouldReturnAllUserDtoList() {
-        when(userRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(user)));
+        when(userRepository.findAllBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(user), ScrollPosition::offset));
 
-        List<UserDto> result = userService.getListUsers(null, 0, 10);
+        Window<UserDto> result = userService.getListUsers(null, ScrollPosition.offset(), 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(user.getId(), result.get(0).getId());
-        assertEquals(user.getName(), result.get(0).getName());
-        assertEquals(user.getEmail(), result.get(0).getEmail());
-        verify(userRepository, times(1)).findAll(any(PageRequest.class));
+        assertEquals(user.getId(), result.getContent().get(0).getId());
+        assertEquals(user.getName(), result.getContent().get(0).getName());
+        assertEquals(user.getEmail(), result.getContent().get(0).getEmail());
+        verify(userRepository, times(1)).findAllBy(any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded hand-off between request threads and stat-server. {@link #offer} never blocks: when the queue is full
+ * the hit is dropped and counted, so a slow stat-server cannot add latency to the caller.
+ * Workers send hits in batches of up to {@code maxBatchSize}; a batch waits at most {@code lingerMs} for more hits,
+ * and the wait shrinks as the queue fills up, so a backlog is flushed in full batches without any delay.
+ */
+@Slf4j
+public class AsyncHitQueue implements AutoCloseable {
+    private static final long POLL_MS = 100;
+
+    private final BlockingQueue<EndpointHit> queue;
+    private final Consumer<List<EndpointHit>> sender;
+    private final Consumer<List<EndpointHit>> failureHandler;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long lingerMs;
+    private final ExecutorService workers;
+    private final Counter enqueued;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+    private volatile boolean running = true;
+
+    public AsyncHitQueue(Consumer<List<EndpointHit>> sender, int capacity, int workerCount, int maxBatchSize,
+                         long lingerMs, MeterRegistry meterRegistry) {
+        this(sender, null, capacity, workerCount, maxBatchSize, lingerMs, meterRegistry);
+    }
+
+    /**
+     * Batches that fail to send, and hits still queued when {@link #close(long)} times out, are passed to
+     * {@code failureHandler}, for example to spool them to disk.
+     */
+    public AsyncHitQueue(Consumer<List<EndpointHit>> sender, @Nullable Consumer<List<EndpointHit>> failureHandler,
+                         int capacity, int workerCount, int maxBatchSize, long lingerMs, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sender = sender;
+        this.failureHandler = failureHandler;
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+        this.enqueued = hitCounter(meterRegistry, "enqueued");
+        this.sent = hitCounter(meterRegistry, "sent");
+        this.dropped = hitCounter(meterRegistry, "dropped");
+        this.failed = hitCounter(meterRegistry, "failed");
+        this.batchSize = DistributionSummary.builder("stats.client.batch.size").register(meterRegistry);
+        Gauge.builder("stats.client.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stats-hit-sender-", 0).factory());
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    public boolean offer(EndpointHit hit) {
+        if (running && queue.offer(hit)) {
+            enqueued.increment();
+            return true;
+        }
+        dropped.increment();
+        log.debug("Hit {} dropped, sending queue is full", hit.getUri());
+        return false;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void work() {
+        try {
+            while (running || !queue.isEmpty()) {
+                EndpointHit hit = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (hit != null) {
+                    send(collectBatch(hit));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<EndpointHit> collectBatch(EndpointHit first) throws InterruptedException {
+        List<EndpointHit> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs());
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || !running || remaining <= 0) {
+                break;
+            }
+            EndpointHit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private long lingerMs() {
+        double free = 1.0 - (double) queue.size() / capacity;
+        return (long) (lingerMs * free * free);
+    }
+
+    private void send(List<EndpointHit> batch) {
+        batchSize.record(batch.size());
+        try {
+            sender.accept(batch);
+            sent.increment(batch.size());
+        } catch (PartialDeliveryException e) {
+            List<EndpointHit> undelivered = e.getUndelivered();
+            sent.increment(batch.size() - undelivered.size());
+            failed.increment(undelivered.size());
+            log.warn("Failed to send {} of {} hits to stat-server: {}", undelivered.size(), batch.size(),
+                    e.getMessage());
+            if (failureHandler != null) {
+                failureHandler.accept(undelivered);
+            }
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Failed to send {} hits to stat-server: {}", batch.size(), e.getMessage());
+            if (failureHandler != null) {
+                failureHandler.accept(batch);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting hits and gives the workers up to {@code timeoutMs} to deliver what is already queued.
+     */
+    public void close(long timeoutMs) {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+                List<EndpointHit> unsent = new ArrayList<>();
+                queue.drainTo(unsent);
+                log.warn("{} hits were not sent to stat-server before shutdown", unsent.size());
+                if (failureHandler != null && !unsent.isEmpty()) {
+                    failureHandler.accept(unsent);
+                } else {
+                    dropped.increment(unsent.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() {
+        close(0);
+    }
+
+    private static Counter hitCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stats.client.hits")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -22,16 +23,28 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, parameters, null, defaultHeaders());
     }
 
-    protected <T> void post(T body) {
-        makeAndSendRequest(HttpMethod.POST, "/hit", null, body);
+    protected <T> T get(String path, Map<String, Object> parameters, ResponseExtractor<T> extractor) {
+        return restTemplate.execute(path, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)), extractor, parameters);
+    }
+
+    protected <T> ResponseEntity<Object> post(T body) {
+        return makeAndSendRequest(HttpMethod.POST, "/hit", null, body, defaultHeaders());
+    }
+
+    protected <T> ResponseEntity<Object> post(String path, T body, HttpHeaders headers) {
+        HttpHeaders requestHeaders = defaultHeaders();
+        requestHeaders.addAll(headers);
+        return makeAndSendRequest(HttpMethod.POST, path, null, body, requestHeaders);
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders());
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          HttpHeaders headers) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
         ResponseEntity<Object> responseEntity;
         try {
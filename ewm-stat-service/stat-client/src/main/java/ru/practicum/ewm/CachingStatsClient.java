@@ -0,0 +1,133 @@
+package ru.practicum.ewm;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+/**
+ * View counts per event, counted from the beginning of the statistics by the entity the hits were tagged with
+ * (see {@link StatsClient#getEventHits}), kept for a short TTL. Concurrent lookups of the same event share one
+ * in-flight request, and a lookup of several events only asks stat-server for those that are not cached yet. Calls go through {@link StatsCallGuard};
+ * when stat-server is unavailable the last known counts are served instead.
+ */
+@Slf4j
+@Service
+public class CachingStatsClient {
+    public static final LocalDateTime STATS_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+
+    private final StatsClient statsClient;
+    private final StatsCallGuard callGuard;
+    private final AsyncLoadingCache<ViewKey, Long> views;
+    private final Cache<ViewKey, Long> lastKnown;
+    private final Counter staleServed;
+
+    public CachingStatsClient(StatsClient statsClient,
+                              StatsCallGuard callGuard,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              @Value("${stats-client.cache.max-size:100000}") long maxSize,
+                              @Value("${stats-client.cache.ttl-ms:5000}") long ttlMs,
+                              @Value("${stats-client.cache.stale-ttl-ms:86400000}") long staleTtlMs) {
+        this.statsClient = statsClient;
+        this.callGuard = callGuard;
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(staleTtlMs))
+                .build();
+        this.staleServed = Counter.builder("stats.client.stale.served")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(task -> Thread.ofVirtual().name("stats-views-loader").start(task))
+                .recordStats()
+                .buildAsync(new ViewsLoader());
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, views, "stats-views"));
+    }
+
+    public Map<Long, Long> getEventViews(Collection<Long> eventIds, boolean unique) {
+        List<ViewKey> keys = eventIds.stream()
+                .map(eventId -> new ViewKey(eventId, unique))
+                .toList();
+        try {
+            Map<Long, Long> result = new HashMap<>();
+            views.getAll(keys).join().forEach((key, hits) -> result.put(key.eventId(), hits));
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(long eventId) {
+        views.synchronous().invalidate(new ViewKey(eventId, true));
+        views.synchronous().invalidate(new ViewKey(eventId, false));
+    }
+
+    private Map<ViewKey, Long> fetch(Set<? extends ViewKey> keys) {
+        Map<ViewKey, Long> result = new HashMap<>();
+        for (boolean unique : new boolean[]{false, true}) {
+            List<Long> eventIds = new ArrayList<>();
+            for (ViewKey key : keys) {
+                if (key.unique() == unique) {
+                    eventIds.add(key.eventId());
+                }
+            }
+            if (eventIds.isEmpty()) {
+                continue;
+            }
+            try {
+                HitsByEventId hits = callGuard.call(() ->
+                        statsClient.getEventHits(STATS_EPOCH, LocalDateTime.now(), eventIds, unique));
+                for (Long eventId : eventIds) {
+                    ViewKey key = new ViewKey(eventId, unique);
+                    result.put(key, hits.get(eventId));
+                    lastKnown.put(key, hits.get(eventId));
+                }
+            } catch (StatsUnavailableException e) {
+                log.warn("Serving last known views for {} events: {}", eventIds.size(), e.getMessage());
+                staleServed.increment(eventIds.size());
+                for (Long eventId : eventIds) {
+                    ViewKey key = new ViewKey(eventId, unique);
+                    result.put(key, lastKnown.asMap().getOrDefault(key, 0L));
+                }
+            }
+        }
+        return result;
+    }
+
+    private record ViewKey(long eventId, boolean unique) {
+    }
+
+    private class ViewsLoader implements CacheLoader<ViewKey, Long> {
+        @Override
+        public Long load(ViewKey key) {
+            return fetch(Set.of(key)).get(key);
+        }
+
+        @Override
+        public Map<ViewKey, Long> loadAll(Set<? extends ViewKey> keys) {
+            return fetch(keys);
+        }
+    }
+}
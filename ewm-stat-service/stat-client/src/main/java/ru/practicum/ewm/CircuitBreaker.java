@@ -0,0 +1,75 @@
+package ru.practicum.ewm;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row calls are rejected
+ * for {@code openMs}; then a single probe is let through and its outcome closes or re-opens the circuit.
+ */
+@Slf4j
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final LongSupplier clock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt = -1;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this(failureThreshold, openMs, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.clock = clock;
+    }
+
+    public boolean allowRequest() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> probeInFlight.compareAndSet(false, true);
+        };
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt >= 0) {
+            log.info("stat-server answered again, closing the circuit");
+        }
+        openedAt = -1;
+        probeInFlight.set(false);
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (probeInFlight.getAndSet(false) || (openedAt < 0 && failures >= failureThreshold)) {
+            log.warn("stat-server failed {} times in a row, opening the circuit for {} ms", failures, openMs);
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Releases the probe of a call abandoned without an answer from stat-server, so that the next call can probe.
+     */
+    public void onAbandoned() {
+        probeInFlight.set(false);
+    }
+
+    public State state() {
+        long opened = openedAt;
+        if (opened < 0) {
+            return State.CLOSED;
+        }
+        return clock.getAsLong() - opened < openMs ? State.OPEN : State.HALF_OPEN;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.ewm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hash ring with {@code virtualNodes} points per node, so adding or removing a node moves about 1/n of the keys
+ * and spreads them over all remaining nodes. Points depend only on node names, never on their order.
+ */
+final class ConsistentHashRing {
+    private final long[] points;
+    private final String[] owners;
+
+    ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one node");
+        }
+        record Point(long hash, String node) {
+        }
+
+        Point[] ring = new Point[nodes.size() * virtualNodes];
+        int i = 0;
+        for (String node : nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring[i++] = new Point(hash(node + "#" + replica), node);
+            }
+        }
+        Arrays.sort(ring, (a, b) -> a.hash() != b.hash() ? Long.compare(a.hash(), b.hash())
+                : a.node().compareTo(b.node()));
+        points = new long[ring.length];
+        owners = new String[ring.length];
+        for (int j = 0; j < ring.length; j++) {
+            points[j] = ring[j].hash();
+            owners[j] = ring[j].node();
+        }
+    }
+
+    String owner(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    List<String> nodes() {
+        return Arrays.stream(owners).distinct().sorted().toList();
+    }
+
+    static String key(String app, String uri) {
+        return app + '\n' + uri;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer, which spreads similar keys such as
+     * {@code /events/1} and {@code /events/2} over the whole ring.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e2b3fL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,305 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Append-only spool for hits that could not be sent. Hits are written as JSON lines into segment files
+ * that rotate at {@code segmentBytes}; when the spool grows past {@code maxBytes} the oldest segments are
+ * discarded. A background task replays closed segments oldest first, at most {@code ratePerSecond} hits
+ * per second, and checkpoints its position so a restart resumes where it stopped.
+ */
+@Slf4j
+public class HitSpool implements AutoCloseable {
+    private static final String PREFIX = "spool-";
+    private static final String SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int MAX_READ = 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final int batchSize;
+    private final int ratePerSecond;
+    private final ObjectMapper objectMapper;
+    private final Consumer<List<EndpointHit>> sender;
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private final ScheduledExecutorService replayer;
+    private final Counter spooled;
+    private final Counter replayed;
+    private final Counter discarded;
+
+    private FileChannel active;
+    private long activeSequence;
+    private long checkpointSequence;
+    private long checkpointOffset;
+
+    public HitSpool(Path directory, long segmentBytes, long maxBytes, int batchSize, int ratePerSecond,
+                    ObjectMapper objectMapper, Consumer<List<EndpointHit>> sender, MeterRegistry meterRegistry)
+            throws IOException {
+        this(directory, segmentBytes, maxBytes, batchSize, ratePerSecond, objectMapper, sender, meterRegistry, 1000);
+    }
+
+    HitSpool(Path directory, long segmentBytes, long maxBytes, int batchSize, int ratePerSecond,
+             ObjectMapper objectMapper, Consumer<List<EndpointHit>> sender, MeterRegistry meterRegistry,
+             long replayIntervalMs) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.spooled = spoolCounter(meterRegistry, "spooled");
+        this.replayed = spoolCounter(meterRegistry, "replayed");
+        this.discarded = spoolCounter(meterRegistry, "discarded");
+        Gauge.builder("stats.client.spool.bytes", this, HitSpool::sizeBytes).register(meterRegistry);
+
+        Files.createDirectories(directory);
+        loadSegments();
+        loadCheckpoint();
+        activeSequence = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        openActive();
+        if (segments.size() > 1) {
+            log.info("Resuming replay of {} spooled bytes from {}", sizeBytes(), directory);
+        }
+        replayer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stats-spool-replay")
+                .daemon().factory());
+        replayer.scheduleWithFixedDelay(this::replay, replayIntervalMs, replayIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void append(List<EndpointHit> hits) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (EndpointHit hit : hits) {
+                lines.write(objectMapper.writeValueAsBytes(hit));
+                lines.write('\n');
+            }
+            if (segments.get(activeSequence) + lines.size() > segmentBytes && segments.get(activeSequence) > 0) {
+                rotate();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            segments.merge(activeSequence, (long) lines.size(), Long::sum);
+            spooled.increment(hits.size());
+            enforceLimit();
+        } catch (IOException e) {
+            discarded.increment(hits.size());
+            log.error("Failed to spool {} hits, they are lost", hits.size(), e);
+        }
+    }
+
+    public synchronized long sizeBytes() {
+        long size = 0;
+        for (Map.Entry<Long, Long> segment : segments.entrySet()) {
+            size += segment.getValue();
+        }
+        return size - checkpointOffset;
+    }
+
+    /**
+     * Sends up to one second's worth of spooled hits. Stops at the first failure and retries on the next run.
+     */
+    void replay() {
+        int budget = ratePerSecond;
+        try {
+            while (budget > 0) {
+                Batch batch = nextBatch(Math.min(batchSize, budget));
+                if (batch == null) {
+                    return;
+                }
+                if (!batch.hits().isEmpty()) {
+                    try {
+                        sender.accept(batch.hits());
+                    } catch (PartialDeliveryException e) {
+                        append(e.getUndelivered());
+                        replayed.increment(batch.hits().size() - e.getUndelivered().size());
+                        commit(batch);
+                        throw e;
+                    }
+                    replayed.increment(batch.hits().size());
+                }
+                commit(batch);
+                budget -= Math.max(1, batch.hits().size());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read hit spool", e);
+        } catch (RuntimeException e) {
+            log.debug("stat-server is still unavailable, spooled hits will be replayed later: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Batch nextBatch(int limit) throws IOException {
+        if (segments.firstKey() == activeSequence) {
+            if (segments.get(activeSequence) == 0) {
+                return null;
+            }
+            rotate();
+        }
+        long sequence = segments.firstKey();
+        if (checkpointSequence != sequence) {
+            checkpointSequence = sequence;
+            checkpointOffset = 0;
+        }
+        long length = segments.get(sequence);
+        long offset = checkpointOffset;
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length - offset, MAX_READ));
+        try (FileChannel channel = FileChannel.open(segmentPath(sequence), StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(buffer, offset + buffer.position());
+            } while (read > 0 && buffer.hasRemaining());
+        }
+        List<EndpointHit> hits = new ArrayList<>();
+        byte[] bytes = buffer.array();
+        int start = 0;
+        for (int i = 0; i < buffer.position() && hits.size() < limit; i++) {
+            if (bytes[i] == '\n') {
+                parseLine(bytes, start, i - start, hits);
+                start = i + 1;
+            }
+        }
+        offset += start;
+        if (start == 0 && offset < length) {
+            log.warn("Skipping {} bytes without a complete record in {}", length - offset, segmentPath(sequence));
+            discarded.increment();
+            offset = length;
+        }
+        return new Batch(hits, sequence, offset, offset >= length);
+    }
+
+    private void parseLine(byte[] chunk, int start, int length, List<EndpointHit> hits) {
+        try {
+            hits.add(objectMapper.readValue(chunk, start, length, EndpointHit.class));
+        } catch (IOException e) {
+            discarded.increment();
+            log.warn("Skipping unreadable spooled hit: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void commit(Batch batch) throws IOException {
+        if (!segments.containsKey(batch.sequence())) {
+            return;
+        }
+        if (batch.endOfSegment()) {
+            Files.deleteIfExists(segmentPath(batch.sequence()));
+            segments.remove(batch.sequence());
+            checkpointSequence = segments.firstKey();
+            checkpointOffset = 0;
+        } else {
+            checkpointSequence = batch.sequence();
+            checkpointOffset = batch.offset();
+        }
+        writeCheckpoint();
+    }
+
+    private void rotate() throws IOException {
+        active.force(false);
+        active.close();
+        activeSequence++;
+        openActive();
+    }
+
+    private void openActive() throws IOException {
+        active = FileChannel.open(segmentPath(activeSequence), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segments.put(activeSequence, active.size());
+    }
+
+    private void enforceLimit() throws IOException {
+        while (sizeBytes() > maxBytes && segments.firstKey() != activeSequence) {
+            long oldest = segments.pollFirstEntry().getKey();
+            Files.deleteIfExists(segmentPath(oldest));
+            discarded.increment();
+            log.warn("Hit spool exceeds {} bytes, discarded segment {}", maxBytes, oldest);
+            if (checkpointSequence == oldest) {
+                checkpointSequence = segments.firstKey();
+                checkpointOffset = 0;
+                writeCheckpoint();
+            }
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long sequence = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                segments.put(sequence, Files.size(file));
+            }
+        }
+    }
+
+    private void loadCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        long sequence = buffer.getLong();
+        long offset = buffer.getLong();
+        if (segments.containsKey(sequence) && offset <= segments.get(sequence)) {
+            checkpointSequence = sequence;
+            checkpointOffset = offset;
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        Files.write(tmp, ByteBuffer.allocate(2 * Long.BYTES).putLong(checkpointSequence).putLong(checkpointOffset)
+                .array());
+        Files.move(tmp, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    @Override
+    public synchronized void close() {
+        replayer.shutdownNow();
+        try {
+            active.force(false);
+            active.close();
+            if (segments.get(activeSequence) == 0) {
+                Files.deleteIfExists(segmentPath(activeSequence));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close hit spool", e);
+        }
+    }
+
+    private static Counter spoolCounter(MeterRegistry meterRegistry, String event) {
+        return Counter.builder("stats.client.spool.hits")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+
+    private record Batch(List<EndpointHit> hits, long sequence, long offset, boolean endOfSegment) {
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.ewm;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from event id to hits without boxing. Missing ids have zero hits.
+ */
+public final class HitsByEventId {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public HitsByEventId(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public long get(long eventId) {
+        int slot = slot(keys, eventId);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    public boolean contains(long eventId) {
+        return keys[slot(keys, eventId)] != EMPTY;
+    }
+
+    public void add(long eventId, long hits) {
+        int slot = slot(keys, eventId);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = eventId;
+            size++;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+            slot = slot(keys, eventId);
+        }
+        values[slot] += hits;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] eventIds() {
+        long[] ids = new long[size];
+        int next = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                ids[next++] = key;
+            }
+        }
+        return ids;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
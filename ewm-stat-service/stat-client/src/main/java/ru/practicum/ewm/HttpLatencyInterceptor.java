@@ -0,0 +1,42 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records a latency histogram per stat-server endpoint ({@code /hit}, {@code /hit/batch}, {@code /stats}), up to
+ * the moment the response headers arrive.
+ */
+final class HttpLatencyInterceptor implements ClientHttpRequestInterceptor {
+    private final MeterRegistry registry;
+
+    HttpLatencyInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(registry);
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            sample.stop(Timer.builder("stats.client.http.requests")
+                    .description("Latency of requests to stat-server")
+                    .tag("endpoint", request.getURI().getPath())
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+public class HttpStatsTransport extends BaseClient implements StatsTransport {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String STATS_PATH = "/stats?start={start}&end={end}&uris={uris}&unique={unique}";
+    private static final String ENTITY_STATS_PATH = STATS_PATH + "&entityType={entityType}&entityIds={entityIds}";
+
+    private final ObjectMapper objectMapper;
+    private final ViewStatsReader viewStatsReader;
+    private final boolean gzip;
+
+    public HttpStatsTransport(RestTemplate restTemplate, ObjectMapper objectMapper, boolean gzip) {
+        super(restTemplate);
+        this.objectMapper = objectMapper;
+        this.viewStatsReader = new ViewStatsReader(objectMapper);
+        this.gzip = gzip;
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        checkStatus(post(hit));
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!gzip) {
+            checkStatus(post("/hit/batch", hits, headers));
+            return;
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        checkStatus(post("/hit/batch", compress(hits), headers));
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        return get(statsPath(request), statsParameters(request), response -> viewStatsReader.readList(response.getBody()));
+    }
+
+    @Override
+    public HitsByEventId getEventHits(ViewsStatsRequest request, String prefix) {
+        return get(statsPath(request), statsParameters(request),
+                response -> viewStatsReader.readHitsByEventId(response.getBody(), prefix, StatsTransport.expectedSize(request)));
+    }
+
+    ResponseEntity<Object> getRaw(ViewsStatsRequest request) {
+        return get(statsPath(request), statsParameters(request));
+    }
+
+    private byte[] compress(List<EndpointHit> hits) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(body)) {
+            objectMapper.writeValue(out, hits);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress hits", e);
+        }
+        return body.toByteArray();
+    }
+
+    private static void checkStatus(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("stat-server responded with " + response.getStatusCode());
+        }
+    }
+
+    private static String statsPath(ViewsStatsRequest request) {
+        return request.getEntityType() == null ? STATS_PATH : ENTITY_STATS_PATH;
+    }
+
+    private static Map<String, Object> statsParameters(ViewsStatsRequest request) {
+        if (request.getEntityType() == null) {
+            return Map.of(
+                    "start", request.getStart().format(formatter),
+                    "end", request.getEnd().format(formatter),
+                    "uris", String.join(",", request.getUris()),
+                    "unique", request.isUnique()
+            );
+        }
+        return Map.of(
+                "start", request.getStart().format(formatter),
+                "end", request.getEnd().format(formatter),
+                "uris", String.join(",", request.getUris()),
+                "unique", request.isUnique(),
+                "entityType", request.getEntityType(),
+                "entityIds", StatsTransport.joinIds(request.getEntityIds())
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.ewm;
+
+import java.util.List;
+
+/**
+ * Calls a {@link LocalStatsEndpoint} running in the same JVM, so there is no serialization, socket or thread hop.
+ */
+public class InProcessStatsTransport implements StatsTransport {
+    private final LocalStatsEndpoint statsService;
+
+    public InProcessStatsTransport(LocalStatsEndpoint statsService) {
+        this.statsService = statsService;
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        statsService.saveHit(hit);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        statsService.saveHits(hits);
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        return statsService.getViewStatsList(request);
+    }
+}
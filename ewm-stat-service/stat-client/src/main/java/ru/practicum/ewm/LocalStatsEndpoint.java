@@ -0,0 +1,16 @@
+package ru.practicum.ewm;
+
+import java.util.List;
+
+/**
+ * The statistics service of the same application, called by {@link InProcessStatsTransport}. stat-server provides it
+ * as {@code StatsServiceLocalEndpoint}, delegating to its {@code StatsService}, so that stat-client does not depend
+ * on the server API.
+ */
+public interface LocalStatsEndpoint {
+    void saveHit(EndpointHit hit);
+
+    void saveHits(List<EndpointHit> hits);
+
+    List<ViewStats> getViewStatsList(ViewsStatsRequest request);
+}
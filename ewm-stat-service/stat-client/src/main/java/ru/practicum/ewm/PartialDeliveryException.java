@@ -0,0 +1,19 @@
+package ru.practicum.ewm;
+
+import java.util.List;
+
+/**
+ * Thrown when only part of a batch reached stat-server, so callers retry just the hits that did not.
+ */
+public class PartialDeliveryException extends RuntimeException {
+    private final List<EndpointHit> undelivered;
+
+    public PartialDeliveryException(List<EndpointHit> undelivered, Throwable cause) {
+        super(undelivered.size() + " hits were not delivered: " + cause.getMessage(), cause);
+        this.undelivered = undelivered;
+    }
+
+    public List<EndpointHit> getUndelivered() {
+        return undelivered;
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.ewm;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Spreads hits over several stat-server nodes by consistent hashing of (app, uri), so all hits of one uri land on
+ * one node and the per-node lists returned by /stats can be merged by summing.
+ * <p>
+ * While keys migrate after a node is added or removed, the previous node list is kept in a second ring: writes
+ * follow the current ring, reads ask the owners under both rings. Unique counts of a uri whose hits are split
+ * between two nodes may then count an ip twice until old data ages out of the queried range.
+ */
+@Slf4j
+public class ShardedStatsTransport implements StatsTransport {
+    private static final Executor QUERY_EXECUTOR = task -> Thread.ofVirtual().name("stats-shard-query").start(task);
+
+    private final Map<String, StatsTransport> transports;
+    private final ConsistentHashRing ring;
+    private final ConsistentHashRing previousRing;
+
+    /**
+     * {@code transports} must contain every node of {@code nodes} and {@code previousNodes}; pass an empty
+     * {@code previousNodes} when no rebalancing is in progress.
+     */
+    public ShardedStatsTransport(Map<String, StatsTransport> transports, Collection<String> nodes,
+                                 Collection<String> previousNodes, int virtualNodes) {
+        Set<String> missing = new LinkedHashSet<>(nodes);
+        missing.addAll(previousNodes);
+        missing.removeAll(transports.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("No transport for stat-server nodes " + missing);
+        }
+        this.transports = Map.copyOf(transports);
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+        this.previousRing = previousNodes.isEmpty() ? null : new ConsistentHashRing(previousNodes, virtualNodes);
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        transports.get(ring.owner(ConsistentHashRing.key(hit.getApp(), hit.getUri()))).saveHit(hit);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        Map<String, List<EndpointHit>> byNode = new LinkedHashMap<>();
+        for (EndpointHit hit : hits) {
+            byNode.computeIfAbsent(ring.owner(ConsistentHashRing.key(hit.getApp(), hit.getUri())),
+                    node -> new ArrayList<>()).add(hit);
+        }
+        if (byNode.size() == 1) {
+            Map.Entry<String, List<EndpointHit>> only = byNode.entrySet().iterator().next();
+            transports.get(only.getKey()).saveHits(only.getValue());
+            return;
+        }
+        Map<String, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        byNode.forEach((node, nodeHits) -> sends.put(node,
+                CompletableFuture.runAsync(() -> transports.get(node).saveHits(nodeHits), QUERY_EXECUTOR)));
+        List<EndpointHit> undelivered = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Map.Entry<String, CompletableFuture<Void>> send : sends.entrySet()) {
+            try {
+                send.getValue().join();
+            } catch (CompletionException e) {
+                failure = unwrap(e);
+                undelivered.addAll(byNode.get(send.getKey()));
+                log.warn("Failed to send {} hits to stat-server node {}: {}", byNode.get(send.getKey()).size(),
+                        send.getKey(), failure.getMessage());
+            }
+        }
+        if (failure != null) {
+            throw new PartialDeliveryException(undelivered, failure);
+        }
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        Map<String, ViewsStatsRequest> requests = route(request);
+        List<CompletableFuture<List<ViewStats>>> queries = new ArrayList<>(requests.size());
+        requests.forEach((node, nodeRequest) -> queries.add(
+                CompletableFuture.supplyAsync(() -> transports.get(node).getStats(nodeRequest), QUERY_EXECUTOR)));
+        List<List<ViewStats>> partials = new ArrayList<>(queries.size());
+        for (CompletableFuture<List<ViewStats>> query : queries) {
+            try {
+                partials.add(query.join());
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+        return merge(partials, request.getApplication());
+    }
+
+    /**
+     * Without an application or uris the owner of a result row is unknown, so every node is asked; otherwise each
+     * owning node gets only the uris it owns.
+     */
+    private Map<String, ViewsStatsRequest> route(ViewsStatsRequest request) {
+        Map<String, ViewsStatsRequest> requests = new LinkedHashMap<>();
+        if (request.getApplication() == null || request.getUris() == null || request.getUris().isEmpty()) {
+            Set<String> nodes = new LinkedHashSet<>(ring.nodes());
+            if (previousRing != null) {
+                nodes.addAll(previousRing.nodes());
+            }
+            nodes.forEach(node -> requests.put(node, request));
+            return requests;
+        }
+        Map<String, Set<String>> urisByNode = new LinkedHashMap<>();
+        for (String uri : request.getUris()) {
+            String key = ConsistentHashRing.key(request.getApplication(), uri);
+            urisByNode.computeIfAbsent(ring.owner(key), node -> new LinkedHashSet<>()).add(uri);
+            if (previousRing != null) {
+                urisByNode.computeIfAbsent(previousRing.owner(key), node -> new LinkedHashSet<>()).add(uri);
+            }
+        }
+        urisByNode.forEach((node, uris) -> requests.put(node, request.toBuilder().uris(List.copyOf(uris)).build()));
+        return requests;
+    }
+
+    static List<ViewStats> merge(List<List<ViewStats>> partials, String application) {
+        if (partials.size() == 1 && application == null) {
+            return partials.get(0);
+        }
+        Map<String, ViewStats> merged = new HashMap<>();
+        for (List<ViewStats> partial : partials) {
+            for (ViewStats stats : partial) {
+                if (application != null && !application.equals(stats.getApp())) {
+                    continue;
+                }
+                String key = stats.getEntityType() == null
+                        ? ConsistentHashRing.key(stats.getApp(), stats.getUri())
+                        : ConsistentHashRing.key(stats.getApp(), stats.getEntityType() + ':' + stats.getEntityId());
+                merged.merge(key, stats, (a, b) -> new ViewStats(a.getApp(),
+                        a.getUri().compareTo(b.getUri()) <= 0 ? a.getUri() : b.getUri(), a.getHits() + b.getHits(),
+                        sampled(a, b), a.getEntityType(), a.getEntityId()));
+            }
+        }
+        List<ViewStats> result = new ArrayList<>(merged.values());
+        result.sort(Comparator.comparing(ViewStats::getHits, Comparator.reverseOrder())
+                .thenComparing(ViewStats::getUri));
+        return result;
+    }
+
+    private static Boolean sampled(ViewStats a, ViewStats b) {
+        return Boolean.TRUE.equals(a.getSampled()) || Boolean.TRUE.equals(b.getSampled()) ? Boolean.TRUE : null;
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs read calls to stat-server with a deadline, behind a {@link CircuitBreaker}, and optionally hedges:
+ * when the first attempt is slower than the recent p95 latency a second one is started and the first
+ * successful answer wins.
+ */
+@Component
+public class StatsCallGuard {
+    private static final int LATENCY_WINDOW = 256;
+    private static final int MIN_SAMPLES_FOR_HEDGING = 20;
+
+    private final CircuitBreaker circuitBreaker;
+    private final long deadlineMs;
+    private final boolean hedging;
+    private final long minHedgeDelayMs;
+    private final Executor executor = task -> Thread.ofVirtual().name("stats-call").start(task);
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter timedOut;
+    private final Counter rejected;
+    private final Counter hedged;
+    private long recorded;
+    private volatile long hedgeDelayMs = -1;
+
+    @Autowired
+    public StatsCallGuard(@Value("${stats-client.resilience.deadline-ms:500}") long deadlineMs,
+                          @Value("${stats-client.resilience.failure-threshold:5}") int failureThreshold,
+                          @Value("${stats-client.resilience.open-ms:10000}") long openMs,
+                          @Value("${stats-client.resilience.hedge.enabled:true}") boolean hedging,
+                          @Value("${stats-client.resilience.hedge.min-delay-ms:20}") long minHedgeDelayMs,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new CircuitBreaker(failureThreshold, openMs), deadlineMs, hedging, minHedgeDelayMs,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    StatsCallGuard(CircuitBreaker circuitBreaker, long deadlineMs, boolean hedging, long minHedgeDelayMs,
+                   MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.deadlineMs = deadlineMs;
+        this.hedging = hedging;
+        this.minHedgeDelayMs = minHedgeDelayMs;
+        this.succeeded = callCounter(meterRegistry, "success");
+        this.failed = callCounter(meterRegistry, "failure");
+        this.timedOut = callCounter(meterRegistry, "timeout");
+        this.rejected = callCounter(meterRegistry, "rejected");
+        this.hedged = Counter.builder("stats.client.hedged.calls").register(meterRegistry);
+        Gauge.builder("stats.client.circuit.open", circuitBreaker,
+                        breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> request) {
+        if (!circuitBreaker.allowRequest()) {
+            rejected.increment();
+            throw new StatsUnavailableException("Circuit to stat-server is open");
+        }
+        long started = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger(1);
+        attempt(request, result, attempts);
+        long delay = hedgeDelayMs;
+        if (hedging && delay >= 0 && delay < deadlineMs) {
+            CompletableFuture.runAsync(() -> {
+                if (!result.isDone()) {
+                    attempts.incrementAndGet();
+                    hedged.increment();
+                    attempt(request, result, attempts);
+                }
+            }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor));
+        }
+        try {
+            T value = result.get(deadlineMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            succeeded.increment();
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return value;
+        } catch (TimeoutException e) {
+            circuitBreaker.onFailure();
+            timedOut.increment();
+            throw new StatsUnavailableException("stat-server did not answer within " + deadlineMs + " ms");
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            failed.increment();
+            throw new StatsUnavailableException("stat-server call failed", e.getCause());
+        } catch (InterruptedException e) {
+            circuitBreaker.onAbandoned();
+            Thread.currentThread().interrupt();
+            throw new StatsUnavailableException("Interrupted while waiting for stat-server", e);
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private <T> void attempt(Supplier<T> request, CompletableFuture<T> result, AtomicInteger attempts) {
+        CompletableFuture.supplyAsync(request, executor).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (attempts.decrementAndGet() == 0) {
+                result.completeExceptionally(error instanceof CompletionException
+                        && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+    private synchronized void recordLatency(long millis) {
+        latencies[(int) (recorded % LATENCY_WINDOW)] = millis;
+        recorded++;
+        if (recorded >= MIN_SAMPLES_FOR_HEDGING && recorded % 16 == 0) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(recorded, LATENCY_WINDOW));
+            Arrays.sort(window);
+            hedgeDelayMs = Math.max(minHedgeDelayMs, window[(int) (window.length * 0.95)]);
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("stats.client.calls")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
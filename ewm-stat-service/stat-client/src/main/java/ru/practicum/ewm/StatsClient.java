@@ -1,44 +1,151 @@
 package ru.practicum.ewm;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 @Service
-public class StatsClient extends BaseClient {
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+public class StatsClient implements DisposableBean {
+    private static final String EVENT_URI_PREFIX = "/events/";
+    private static final String EVENT_ENTITY_TYPE = "event";
+
+    private final StatsTransport transport;
+    private final AsyncHitQueue hitQueue;
+    private final HitSpool hitSpool;
+    private final long shutdownTimeoutMs;
+    private final boolean entityLookups;
 
     @Autowired
-    public StatsClient(@Value("http://stats-server:9090") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
-                        .build()
-        );
+    public StatsClient(StatsTransport transport,
+                       ObjectProvider<MeterRegistry> meterRegistry,
+                       ObjectProvider<ObjectMapper> objectMapper,
+                       @Value("${stats-client.async.enabled:true}") boolean async,
+                       @Value("${stats-client.async.queue-capacity:10000}") int queueCapacity,
+                       @Value("${stats-client.async.workers:4}") int workers,
+                       @Value("${stats-client.async.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+                       @Value("${stats-client.batch.max-size:100}") int batchMaxSize,
+                       @Value("${stats-client.batch.linger-ms:50}") long batchLingerMs,
+                       @Value("${stats-client.spool.enabled:true}") boolean spool,
+                       @Value("${stats-client.spool.directory:stats-spool}") String spoolDirectory,
+                       @Value("${stats-client.spool.segment-bytes:8388608}") long spoolSegmentBytes,
+                       @Value("${stats-client.spool.max-bytes:268435456}") long spoolMaxBytes,
+                       @Value("${stats-client.spool.replay-rate-per-second:1000}") int spoolReplayRate,
+                       @Value("${stats-client.entity-lookups:true}") boolean entityLookups)
+            throws IOException {
+        this.transport = transport;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.hitSpool = async && spool
+                ? new HitSpool(Path.of(spoolDirectory), spoolSegmentBytes, spoolMaxBytes, batchMaxSize, spoolReplayRate,
+                objectMapper.getIfAvailable(() -> new ObjectMapper().findAndRegisterModules()), this::sendBatch,
+                registry)
+                : null;
+        this.hitQueue = async
+                ? new AsyncHitQueue(this::sendBatch, hitSpool != null ? hitSpool::append : null, queueCapacity, workers,
+                batchMaxSize, batchLingerMs, registry)
+                : null;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.entityLookups = entityLookups;
     }
 
     public void postStats(EndpointHit endpointHitDto) {
-        post(endpointHitDto);
+        if (hitQueue != null) {
+            hitQueue.offer(endpointHitDto);
+        } else {
+            postStatsNow(endpointHitDto);
+        }
+    }
+
+    public void postStatsNow(EndpointHit endpointHitDto) {
+        transport.saveHit(withEntity(endpointHitDto));
+    }
+
+    public void postStatsBatch(List<EndpointHit> hits) {
+        transport.saveHits(hits.stream().map(StatsClient::withEntity).toList());
+    }
+
+    private void sendBatch(List<EndpointHit> hits) {
+        if (hits.size() == 1) {
+            postStatsNow(hits.get(0));
+        } else {
+            postStatsBatch(hits);
+        }
+    }
+
+    /**
+     * Tags a hit of {@code /events/{id}} that carries no entity with that event, so that hits spooled before tagging
+     * and untagged callers are counted by {@link #getEventHits} the same way for listings and the stored views.
+     */
+    static EndpointHit withEntity(EndpointHit hit) {
+        String uri = hit.getUri();
+        if (hit.getEntityType() != null || uri == null || !uri.startsWith(EVENT_URI_PREFIX)
+                || uri.length() == EVENT_URI_PREFIX.length() || uri.length() > EVENT_URI_PREFIX.length() + 18
+                || !uri.chars().skip(EVENT_URI_PREFIX.length()).allMatch(c -> c >= '0' && c <= '9')) {
+            return hit;
+        }
+        return new EndpointHit(hit.getId(), hit.getApp(), uri, hit.getIp(), hit.getTimestamp(), EVENT_ENTITY_TYPE,
+                Long.parseLong(uri, EVENT_URI_PREFIX.length(), uri.length(), 10));
     }
 
     public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris,
                                            Boolean unique) {
-        Map<String, Object> parameters = Map.of(
-                "start", start.format(formatter),
-                "end", end.format(formatter),
-                "uris", String.join(",", uris),
-                "unique", unique
-        );
-        return get("/stats?start={start}&end={end}&uris={uris}&unique={unique}", parameters);
-    }
-}
\ No newline at end of file
+        if (transport instanceof HttpStatsTransport http) {
+            return http.getRaw(request(start, end, uris, Boolean.TRUE.equals(unique)));
+        }
+        return ResponseEntity.ok(getViewStats(start, end, uris, Boolean.TRUE.equals(unique)));
+    }
+
+    public List<ViewStats> getViewStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique) {
+        return transport.getStats(request(start, end, uris, unique));
+    }
+
+    /**
+     * Hits per event. By default events are looked up by the entity id the hits were tagged with, which the server
+     * matches with an integer index; {@code stats-client.entity-lookups=false} falls back to one uri per event for
+     * hits stored before they carried an entity.
+     */
+    public HitsByEventId getEventHits(LocalDateTime start, LocalDateTime end, Collection<Long> eventIds,
+                                      boolean unique) {
+        if (entityLookups) {
+            return transport.getEventHits(request(start, end, List.of(), unique).toBuilder()
+                    .entityType(EVENT_ENTITY_TYPE)
+                    .entityIds(List.copyOf(eventIds))
+                    .build(), EVENT_URI_PREFIX);
+        }
+        List<String> uris = eventIds.stream()
+                .map(id -> EVENT_URI_PREFIX + id)
+                .toList();
+        return transport.getEventHits(request(start, end, uris, unique), EVENT_URI_PREFIX);
+    }
+
+    private static ViewsStatsRequest request(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                             boolean unique) {
+        return ViewsStatsRequest.builder()
+                .start(start)
+                .end(end)
+                .uris(uris)
+                .unique(unique)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        if (hitQueue != null) {
+            hitQueue.close(shutdownTimeoutMs);
+        }
+        if (hitSpool != null) {
+            hitSpool.close();
+        }
+    }
+}
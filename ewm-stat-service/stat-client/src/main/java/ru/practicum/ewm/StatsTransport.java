@@ -0,0 +1,54 @@
+package ru.practicum.ewm;
+
+import java.util.List;
+
+/**
+ * The way {@link StatsClient} reaches the statistics service: over HTTP, over a Unix domain socket, or by calling a
+ * co-located {@link LocalStatsEndpoint} directly.
+ */
+public interface StatsTransport {
+    void saveHit(EndpointHit hit);
+
+    void saveHits(List<EndpointHit> hits);
+
+    List<ViewStats> getStats(ViewsStatsRequest request);
+
+    static int expectedSize(ViewsStatsRequest request) {
+        return request.getEntityIds() != null && !request.getEntityIds().isEmpty()
+                ? request.getEntityIds().size()
+                : request.getUris().size();
+    }
+
+    static String joinIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return "";
+        }
+        StringBuilder joined = new StringBuilder(ids.size() * 8);
+        for (Long id : ids) {
+            if (!joined.isEmpty()) {
+                joined.append(',');
+            }
+            joined.append(id);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Sums hits per event id, taken from the entity id of a row or else from a uri of the form {@code prefix + id}.
+     * Transports that receive a response body override this to decode it without materializing the list.
+     */
+    default HitsByEventId getEventHits(ViewsStatsRequest request, String prefix) {
+        List<ViewStats> stats = getStats(request);
+        HitsByEventId result = new HitsByEventId(stats.size());
+        for (ViewStats viewStats : stats) {
+            String uri = viewStats.getUri();
+            if (viewStats.getEntityId() != null) {
+                result.add(viewStats.getEntityId(), viewStats.getHits());
+            } else if (uri.startsWith(prefix) && uri.length() > prefix.length()
+                    && uri.chars().skip(prefix.length()).allMatch(Character::isDigit)) {
+                result.add(Long.parseLong(uri.substring(prefix.length())), viewStats.getHits());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Selects the {@link StatsTransport} with {@code stats-client.transport}: {@code http} (default),
+ * {@code unix-socket} or {@code in-process}. The in-process transport needs the {@link LocalStatsEndpoint} bean
+ * that stat-server registers in the same application context. The unix socket transport uses the HTTP connect and
+ * response timeouts.
+ */
+@Configuration
+public class StatsTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "stats-client.transport", havingValue = "http", matchIfMissing = true)
+    public CloseableHttpClient statsHttpClient(@Value("${stats-client.http.max-connections:50}") int maxConnections,
+                                               @Value("${stats-client.http.connect-timeout-ms:1000}")
+                                               long connectTimeoutMs,
+                                               @Value("${stats-client.http.response-timeout-ms:5000}")
+                                               long responseTimeoutMs,
+                                               @Value("${stats-client.http.lease-timeout-ms:500}") long leaseTimeoutMs,
+                                               @Value("${stats-client.http.keep-alive-ms:15000}") long keepAliveMs,
+                                               @Value("${stats-client.http.connection-ttl-ms:300000}")
+                                               long connectionTtlMs,
+                                               @Value("${stats-client.http.validate-after-inactivity-ms:2000}")
+                                               long validateAfterInactivityMs,
+                                               @Value("${stats-client.cluster.nodes:}") List<String> clusterNodes,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections * Math.max(1, clusterNodes.size()))
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .build();
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, "stats-server").bindTo(registry);
+        return HttpClients.custom()
+                .setConnectionManager(new InstrumentedConnectionManager(pool, registry))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(leaseTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    /**
+     * A single node at {@code stats-client.url}, or a {@link ShardedStatsTransport} over
+     * {@code stats-client.cluster.nodes} when that list is set.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "stats-client.transport", havingValue = "http", matchIfMissing = true)
+    public StatsTransport httpStatsTransport(@Value("${stats-client.url:http://stats-server:9090}") String serverUrl,
+                                             @Value("${stats-client.cluster.nodes:}") List<String> clusterNodes,
+                                             @Value("${stats-client.cluster.previous-nodes:}")
+                                             List<String> previousNodes,
+                                             @Value("${stats-client.cluster.virtual-nodes:160}") int virtualNodes,
+                                             CloseableHttpClient statsHttpClient,
+                                             RestTemplateBuilder builder,
+                                             ObjectProvider<ObjectMapper> objectMapper,
+                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                             @Value("${stats-client.batch.gzip:false}") boolean gzip) {
+        HttpLatencyInterceptor latency = new HttpLatencyInterceptor(
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        Function<String, StatsTransport> transport = url -> new HttpStatsTransport(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(url))
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(statsHttpClient))
+                        .additionalInterceptors(latency)
+                        .build(),
+                objectMapper(objectMapper),
+                gzip
+        );
+        if (clusterNodes.isEmpty()) {
+            return transport.apply(serverUrl);
+        }
+        Map<String, StatsTransport> transports = new LinkedHashMap<>();
+        clusterNodes.forEach(node -> transports.computeIfAbsent(node, transport));
+        previousNodes.forEach(node -> transports.computeIfAbsent(node, transport));
+        return new ShardedStatsTransport(transports, clusterNodes, previousNodes, virtualNodes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stats-client.transport", havingValue = "unix-socket")
+    public StatsTransport unixSocketStatsTransport(@Value("${stats-client.unix-socket-path}") String socketPath,
+                                                   @Value("${stats-client.http.connect-timeout-ms:1000}")
+                                                   long connectTimeoutMs,
+                                                   @Value("${stats-client.http.response-timeout-ms:5000}")
+                                                   long responseTimeoutMs,
+                                                   ObjectProvider<ObjectMapper> objectMapper) {
+        return new UnixSocketStatsTransport(Path.of(socketPath), objectMapper(objectMapper),
+                Duration.ofMillis(connectTimeoutMs), Duration.ofMillis(responseTimeoutMs));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stats-client.transport", havingValue = "in-process")
+    public StatsTransport inProcessStatsTransport(ObjectProvider<LocalStatsEndpoint> statsService) {
+        LocalStatsEndpoint service = statsService.getIfAvailable();
+        if (service == null) {
+            throw new IllegalStateException("stats-client.transport=in-process requires stat-server in the same "
+                    + "application to provide a LocalStatsEndpoint bean");
+        }
+        return new InProcessStatsTransport(service);
+    }
+
+    private static ObjectMapper objectMapper(ObjectProvider<ObjectMapper> objectMapper) {
+        return objectMapper.getIfAvailable(() -> new ObjectMapper().findAndRegisterModules());
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.URLEncoder;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Talks HTTP/1.1 to stat-server over a Unix domain socket (see {@code stats.server.unix-socket-path}). Every call
+ * opens its own connection with {@code Connection: close}: connecting to a local socket costs a few microseconds, so
+ * there is no pool to size or evict. The channel is non-blocking and every wait for it is bounded, by the connect
+ * timeout while connecting and by the response timeout for the whole exchange after that, so a hung stat-server
+ * fails the call with a {@link SocketTimeoutException} like the HTTP transport does.
+ */
+public class UnixSocketStatsTransport implements StatsTransport {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private final UnixDomainSocketAddress address;
+    private final ObjectMapper objectMapper;
+    private final ViewStatsReader viewStatsReader;
+    private final Duration connectTimeout;
+    private final Duration responseTimeout;
+
+    public UnixSocketStatsTransport(Path socketPath, ObjectMapper objectMapper, Duration connectTimeout,
+                                    Duration responseTimeout) {
+        this.address = UnixDomainSocketAddress.of(socketPath);
+        this.objectMapper = objectMapper;
+        this.viewStatsReader = new ViewStatsReader(objectMapper);
+        this.connectTimeout = connectTimeout;
+        this.responseTimeout = responseTimeout;
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        post("/hit", hit);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        post("/hit/batch", hits);
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        try {
+            return viewStatsReader.readList(get(request));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read statistics from " + address, e);
+        }
+    }
+
+    @Override
+    public HitsByEventId getEventHits(ViewsStatsRequest request, String prefix) {
+        try {
+            return viewStatsReader.readHitsByEventId(get(request), prefix, StatsTransport.expectedSize(request));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read statistics from " + address, e);
+        }
+    }
+
+    private void post(String path, Object body) {
+        try {
+            exchange("POST", path, objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to send hits to " + address, e);
+        }
+    }
+
+    private InputStream get(ViewsStatsRequest request) throws IOException {
+        String query = "/stats?start=" + encode(request.getStart().format(formatter))
+                + "&end=" + encode(request.getEnd().format(formatter))
+                + "&uris=" + encode(String.join(",", request.getUris()))
+                + "&unique=" + request.isUnique();
+        if (request.getEntityType() != null) {
+            query += "&entityType=" + encode(request.getEntityType())
+                    + "&entityIds=" + StatsTransport.joinIds(request.getEntityIds());
+        }
+        return exchange("GET", query, null);
+    }
+
+    private InputStream exchange(String method, String target, byte[] body) throws IOException {
+        StringBuilder head = new StringBuilder(256)
+                .append(method).append(' ').append(target).append(" HTTP/1.1\r\n")
+                .append("Host: localhost\r\n")
+                .append("Accept: application/json\r\n")
+                .append("Connection: close\r\n");
+        if (body != null) {
+            head.append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        head.append("\r\n");
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+             Selector selector = Selector.open()) {
+            channel.configureBlocking(false);
+            if (!channel.connect(address)) {
+                long connectDeadline = System.nanoTime() + connectTimeout.toNanos();
+                do {
+                    await(selector, channel, SelectionKey.OP_CONNECT, connectDeadline);
+                } while (!channel.finishConnect());
+            }
+            long deadline = System.nanoTime() + responseTimeout.toNanos();
+            ByteBuffer headBuffer = ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer[] request = body == null
+                    ? new ByteBuffer[]{headBuffer}
+                    : new ByteBuffer[]{headBuffer, ByteBuffer.wrap(body)};
+            long remaining = headBuffer.remaining() + (body == null ? 0 : body.length);
+            while (remaining > 0) {
+                long written = channel.write(request);
+                if (written == 0) {
+                    await(selector, channel, SelectionKey.OP_WRITE, deadline);
+                }
+                remaining -= written;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                if (read == 0) {
+                    await(selector, channel, SelectionKey.OP_READ, deadline);
+                } else {
+                    response.write(buffer.array(), 0, read);
+                    buffer.clear();
+                }
+            }
+        }
+        return parseResponse(response.toByteArray());
+    }
+
+    private void await(Selector selector, SocketChannel channel, int operation, long deadline) throws IOException {
+        long timeoutMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        channel.register(selector, operation);
+        if (timeoutMs <= 0 || selector.select(timeoutMs) == 0) {
+            throw new SocketTimeoutException("No response from " + address + " in time");
+        }
+        selector.selectedKeys().clear();
+    }
+
+    private InputStream parseResponse(byte[] response) throws IOException {
+        int headerEnd = indexOf(response, HEADER_END, 0);
+        if (headerEnd < 0) {
+            throw new IOException("Malformed HTTP response from " + address);
+        }
+        String[] lines = new String(response, 0, headerEnd, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] statusLine = lines[0].split(" ", 3);
+        int status = statusLine.length > 1 ? Integer.parseInt(statusLine[1]) : 0;
+        boolean chunked = false;
+        int contentLength = -1;
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = lines[i].substring(colon + 1).trim();
+            if (name.equals("transfer-encoding")) {
+                chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            } else if (name.equals("content-length")) {
+                contentLength = Integer.parseInt(value);
+            }
+        }
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("stat-server responded with " + status);
+        }
+        int bodyStart = headerEnd + HEADER_END.length;
+        if (chunked) {
+            return new ByteArrayInputStream(dechunk(response, bodyStart));
+        }
+        int length = contentLength >= 0 ? Math.min(contentLength, response.length - bodyStart)
+                : response.length - bodyStart;
+        return new ByteArrayInputStream(response, bodyStart, length);
+    }
+
+    private static byte[] dechunk(byte[] response, int position) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(response.length - position);
+        while (true) {
+            int lineEnd = indexOf(response, HEADER_END, position, 2);
+            if (lineEnd < 0) {
+                throw new IOException("Truncated chunked response");
+            }
+            String sizeLine = new String(response, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            position = lineEnd + 2;
+            if (size == 0) {
+                return body.toByteArray();
+            }
+            if (position + size > response.length) {
+                throw new IOException("Truncated chunked response");
+            }
+            body.write(response, position, size);
+            position += size + 2;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        return indexOf(data, pattern, from, pattern.length);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from, int patternLength) {
+        outer:
+        for (int i = from; i <= data.length - patternLength; i++) {
+            for (int j = 0; j < patternLength; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
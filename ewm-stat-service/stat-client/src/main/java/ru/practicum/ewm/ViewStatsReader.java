@@ -0,0 +1,86 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads /stats responses straight from the response stream, without an intermediate tree of maps.
+ */
+public final class ViewStatsReader {
+    private final ObjectMapper objectMapper;
+    private final ObjectReader listReader;
+
+    public ViewStatsReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.listReader = objectMapper.readerForListOf(ViewStats.class);
+    }
+
+    public List<ViewStats> readList(InputStream body) throws IOException {
+        return listReader.readValue(body);
+    }
+
+    /**
+     * Sums hits per event id. The id is the {@code entityId} of a row when the server grouped by entity, otherwise it
+     * is parsed from uris of the form {@code prefix + id}; other uris are skipped.
+     */
+    public HitsByEventId readHitsByEventId(InputStream body, String prefix, int expectedSize) throws IOException {
+        HitsByEventId result = new HitsByEventId(expectedSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of view stats");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long eventId = -1;
+                long entityId = -1;
+                long hits = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("uri".equals(field)) {
+                        eventId = parseEventId(parser.getTextCharacters(), parser.getTextOffset(),
+                                parser.getTextLength(), prefix);
+                    } else if ("hits".equals(field)) {
+                        hits = parser.getLongValue();
+                    } else if ("entityId".equals(field) && parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                        entityId = parser.getLongValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (entityId >= 0) {
+                    result.add(entityId, hits);
+                } else if (eventId >= 0) {
+                    result.add(eventId, hits);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long parseEventId(char[] text, int offset, int length, String prefix) {
+        int prefixLength = prefix.length();
+        if (length <= prefixLength) {
+            return -1;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (text[offset + i] != prefix.charAt(i)) {
+                return -1;
+            }
+        }
+        long id = 0;
+        for (int i = offset + prefixLength; i < offset + length; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncHitQueueTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncHitQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.close(1000);
+    }
+
+    @Test
+    void offer_ShouldDeliverHitsInBackground() throws Exception {
+        List<EndpointHit> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        queue = new AsyncHitQueue(batch -> {
+            received.addAll(batch);
+            batch.forEach(hit -> delivered.countDown());
+        }, 10, 2, 1, 0, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer(hit("/events/" + i)));
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(3, received.size());
+        assertEquals(3.0, count("enqueued"));
+    }
+
+    @Test
+    void offer_WhenQueueIsFull_ShouldDropWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        queue = new AsyncHitQueue(blockingSender(started, release), 2, 1, 1, 0, meterRegistry);
+
+        queue.offer(hit("/events/0"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.offer(hit("/events/1"));
+        queue.offer(hit("/events/2"));
+
+        assertFalse(queue.offer(hit("/events/3")));
+        assertEquals(1.0, count("dropped"));
+        release.countDown();
+    }
+
+    @Test
+    void send_WhenSenderFails_ShouldCountFailure() throws Exception {
+        CountDownLatch attempted = new CountDownLatch(1);
+        queue = new AsyncHitQueue(batch -> {
+            attempted.countDown();
+            throw new IllegalStateException("stat-server is down");
+        }, 10, 1, 1, 0, meterRegistry);
+
+        queue.offer(hit("/events/1"));
+
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50 && count("failed") == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(1.0, count("failed"));
+    }
+
+    @Test
+    void send_WhenBatchIsPartlyDelivered_ShouldHandOnlyUndeliveredHitsToFailureHandler() throws Exception {
+        List<EndpointHit> handedOver = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        queue = new AsyncHitQueue(batch -> {
+            throw new PartialDeliveryException(batch.subList(1, batch.size()), new IllegalStateException("node down"));
+        }, hits -> {
+            handedOver.addAll(hits);
+            handled.countDown();
+        }, 10, 1, 3, 1000, meterRegistry);
+
+        queue.offer(hit("/events/1"));
+        queue.offer(hit("/events/2"));
+        queue.offer(hit("/events/3"));
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("/events/2", "/events/3"), handedOver.stream().map(EndpointHit::getUri).toList());
+        assertEquals(1.0, count("sent"));
+        assertEquals(2.0, count("failed"));
+    }
+
+    @Test
+    void close_ShouldDeliverQueuedHits() {
+        List<EndpointHit> received = new CopyOnWriteArrayList<>();
+        queue = new AsyncHitQueue(received::addAll, 100, 1, 8, 1000, meterRegistry);
+        for (int i = 0; i < 20; i++) {
+            queue.offer(hit("/events/" + i));
+        }
+
+        queue.close(5000);
+
+        assertEquals(20, received.size());
+        assertFalse(queue.offer(hit("/events/late")));
+    }
+
+    @Test
+    void offer_ShouldCoalesceHitsIntoBatches() throws Exception {
+        List<List<EndpointHit>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(25);
+        queue = new AsyncHitQueue(batch -> {
+            batches.add(batch);
+            batch.forEach(hit -> delivered.countDown());
+        }, 100, 1, 10, 200, meterRegistry);
+
+        for (int i = 0; i < 25; i++) {
+            queue.offer(hit("/events/" + i));
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(3, batches.size());
+        assertEquals(10, batches.get(0).size());
+        assertEquals(5, batches.get(2).size());
+        for (int i = 0; i < 50 && count("sent") < 25; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(25.0, count("sent"));
+    }
+
+    private Consumer<List<EndpointHit>> blockingSender(CountDownLatch started, CountDownLatch release) {
+        return batch -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("stats.client.hits", "result", result).count();
+    }
+
+    private static EndpointHit hit(String uri) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip("127.0.0.1")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingStatsClientTest {
+
+    @Mock
+    private StatsClient statsClient;
+
+    private CachingStatsClient cachingStatsClient;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        StatsCallGuard callGuard = new StatsCallGuard(new CircuitBreaker(2, 60_000), 1000, false, 20,
+                new SimpleMeterRegistry());
+        cachingStatsClient = new CachingStatsClient(statsClient, callGuard,
+                beanFactory.getBeanProvider(MeterRegistry.class), 1000, 60_000, 60_000);
+    }
+
+    @Test
+    void getEventViews_ShouldServeRepeatedLookupsFromCache() {
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(1L)), eq(true)))
+                .thenReturn(response(Map.of(1L, 5L)));
+
+        assertEquals(Map.of(1L, 5L), cachingStatsClient.getEventViews(List.of(1L), true));
+        assertEquals(Map.of(1L, 5L), cachingStatsClient.getEventViews(List.of(1L), true));
+
+        verify(statsClient, times(1)).getEventHits(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getEventViews_ShouldFetchOnlyMissingEvents() {
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(1L)), eq(true)))
+                .thenReturn(response(Map.of(1L, 5L)));
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(2L)), eq(true)))
+                .thenReturn(response(Map.of()));
+
+        cachingStatsClient.getEventViews(List.of(1L), true);
+        Map<Long, Long> views = cachingStatsClient.getEventViews(List.of(1L, 2L), true);
+
+        assertEquals(Map.of(1L, 5L, 2L, 0L), views);
+        verify(statsClient).getEventHits(any(), any(), eq(List.of(2L)), eq(true));
+    }
+
+    @Test
+    void getEventViews_ShouldCoalesceConcurrentLookups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(1L)), eq(false)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return response(Map.of(1L, 7L));
+                });
+
+        List<Future<Map<Long, Long>>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cachingStatsClient.getEventViews(List.of(1L), false)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Map<Long, Long>> result : results) {
+                assertEquals(Map.of(1L, 7L), result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        verify(statsClient, times(1)).getEventHits(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getEventViews_WhenStatServerFails_ShouldServeLastKnownViews() {
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(1L)), eq(true)))
+                .thenReturn(response(Map.of(1L, 5L)));
+        cachingStatsClient.getEventViews(List.of(1L), true);
+        cachingStatsClient.invalidate(1L);
+        when(statsClient.getEventHits(any(LocalDateTime.class), any(LocalDateTime.class), any(), eq(true)))
+                .thenThrow(new IllegalStateException("Connection refused"));
+
+        Map<Long, Long> views = cachingStatsClient.getEventViews(List.of(1L, 2L), true);
+
+        assertEquals(Map.of(1L, 5L, 2L, 0L), views);
+    }
+
+    private static HitsByEventId response(Map<Long, Long> hits) {
+        HitsByEventId body = new HitsByEventId(hits.size());
+        hits.forEach(body::add);
+        return body;
+    }
+}
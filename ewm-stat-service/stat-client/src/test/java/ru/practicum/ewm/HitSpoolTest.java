@@ -0,0 +1,129 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HitSpoolTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<EndpointHit> sent = new ArrayList<>();
+    private HitSpool spool;
+
+    @AfterEach
+    void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    void replay_ShouldSendSpooledHitsInOrderAndDeleteSegments() throws IOException {
+        spool = open(1024, 1_000_000, 1000, sent::addAll);
+        spool.append(hits(0, 30));
+        spool.append(hits(30, 60));
+
+        spool.replay();
+
+        assertEquals(uris(0, 60), sent.stream().map(EndpointHit::getUri).toList());
+        assertEquals(0, spool.sizeBytes());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().endsWith(".log")).count());
+        }
+    }
+
+    @Test
+    void replay_ShouldRespectRateLimit() throws IOException {
+        spool = open(1024, 1_000_000, 25, sent::addAll);
+        spool.append(hits(0, 60));
+
+        spool.replay();
+        assertEquals(25, sent.size());
+
+        spool.replay();
+        assertEquals(50, sent.size());
+    }
+
+    @Test
+    void replay_WhenSendFails_ShouldKeepHitsForNextRun() throws IOException {
+        AtomicBoolean available = new AtomicBoolean(false);
+        spool = open(1024, 1_000_000, 1000, batch -> {
+            if (!available.get()) {
+                throw new IllegalStateException("Connection refused");
+            }
+            sent.addAll(batch);
+        });
+        spool.append(hits(0, 20));
+
+        spool.replay();
+        assertTrue(sent.isEmpty());
+
+        available.set(true);
+        spool.replay();
+        assertEquals(20, sent.size());
+    }
+
+    @Test
+    void append_WhenSpoolIsFull_ShouldDiscardOldestSegments() throws IOException {
+        spool = open(1024, 4096, 100_000, sent::addAll);
+        for (int i = 0; i < 20; i++) {
+            spool.append(hits(i * 10, i * 10 + 10));
+        }
+
+        assertTrue(spool.sizeBytes() <= 4096 + 1024);
+        spool.replay();
+
+        assertEquals(uris(200 - sent.size(), 200), sent.stream().map(EndpointHit::getUri).toList());
+    }
+
+    @Test
+    void reopen_ShouldResumeFromCheckpoint() throws IOException {
+        spool = open(1_000_000, 10_000_000, 10, sent::addAll);
+        spool.append(hits(0, 25));
+        spool.replay();
+        spool.close();
+
+        spool = open(1_000_000, 10_000_000, 1000, sent::addAll);
+        spool.replay();
+
+        assertEquals(uris(0, 25), sent.stream().map(EndpointHit::getUri).toList());
+    }
+
+    private HitSpool open(long segmentBytes, long maxBytes, int rate, Consumer<List<EndpointHit>> sender)
+            throws IOException {
+        return new HitSpool(directory, segmentBytes, maxBytes, 10, rate, objectMapper, sender,
+                new SimpleMeterRegistry(), 60_000);
+    }
+
+    private static List<EndpointHit> hits(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> EndpointHit.builder()
+                        .app("ewm-main-service")
+                        .uri("/events/" + i)
+                        .ip("127.0.0.1")
+                        .timestamp(TIMESTAMP)
+                        .build())
+                .toList();
+    }
+
+    private static List<String> uris(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "/events/" + i).toList();
+    }
+}
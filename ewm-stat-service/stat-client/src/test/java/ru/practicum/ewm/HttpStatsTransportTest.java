@@ -0,0 +1,134 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpStatsTransportTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private StatsTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] stats = objectMapper.writeValueAsBytes(List.of(new ViewStats("ewm-main-service", "/events/1", 3L, null)));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (exchange.getRequestURI().getPath().equals("/hit")) {
+                awaitRelease();
+                exchange.sendResponseHeaders(201, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, stats.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(stats);
+            }
+        });
+        server.start();
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        ObjectProvider<MeterRegistry> registry = beanFactory.getBeanProvider(MeterRegistry.class);
+        StatsTransportConfig config = new StatsTransportConfig();
+        httpClient = config.statsHttpClient(1, 1000, 5000, 200, 15_000, 300_000, 2000, List.of(), registry);
+        transport = config.httpStatsTransport("http://localhost:" + server.getAddress().getPort(), List.of(), List.of(),
+                160, httpClient,
+                new RestTemplateBuilder(), new StaticListableBeanFactory().getBeanProvider(ObjectMapper.class),
+                registry, false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void getStats_ShouldRecordLatencyPerEndpointAndPoolMetrics() {
+        release.countDown();
+        transport.saveHit(hit());
+        List<ViewStats> stats = transport.getStats(ViewsStatsRequest.builder()
+                .start(TIMESTAMP)
+                .end(TIMESTAMP.plusDays(1))
+                .uris(List.of("/events/1"))
+                .build());
+
+        assertEquals(3L, stats.get(0).getHits());
+        assertEquals(1, meterRegistry.get("stats.client.http.requests").tags("endpoint", "/stats", "status", "200")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("stats.client.http.requests").tags("endpoint", "/hit", "status", "201")
+                .timer().count());
+        assertEquals(2, meterRegistry.get("stats.client.pool.lease").tag("outcome", "acquired").timer().count());
+        assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    @Test
+    void saveHit_WhenPoolIsExhausted_ShouldTimeOutWaitingForConnection() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> transport.saveHit(hit()));
+            for (int i = 0; i < 100 && meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge().value() < 1; i++) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(RuntimeException.class, () -> transport.saveHit(hit()));
+            assertEquals(1, meterRegistry.get("stats.client.pool.lease").tag("outcome", "timeout").timer().count());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EndpointHit hit() {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri("/events/1")
+                .ip("192.168.1.1")
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedStatsTransportTest {
+    private static final String APP = "ewm-main-service";
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<StatsServerStub> nodes = new ArrayList<>();
+    private final StatsTransportConfig config = new StatsTransportConfig();
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            nodes.add(new StatsServerStub(objectMapper));
+        }
+        ObjectProvider<MeterRegistry> registry = new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+        httpClient = config.statsHttpClient(10, 1000, 5000, 500, 15_000, 300_000, 2000, urls(4), registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        nodes.forEach(StatsServerStub::close);
+    }
+
+    @Test
+    void saveHits_ShouldKeepEveryUriOnOneNodeAndSpreadUrisOverAllNodes() {
+        StatsTransport transport = cluster(urls(3), List.of());
+
+        transport.saveHits(hits(0, 300));
+
+        for (StatsServerStub node : nodes.subList(0, 3)) {
+            assertTrue(node.hits().size() > 30, "every node should own a share of the uris");
+            for (EndpointHit hit : node.hits()) {
+                nodes.stream().filter(other -> other != node)
+                        .forEach(other -> assertTrue(other.hits().stream()
+                                .noneMatch(otherHit -> otherHit.getUri().equals(hit.getUri()))));
+            }
+        }
+        assertEquals(300, nodes.stream().mapToInt(node -> node.hits().size()).sum());
+    }
+
+    @Test
+    void getStats_ShouldMergeShardsLikeASingleServer() {
+        StatsTransport transport = cluster(urls(3), List.of());
+        StatsServerStub reference = nodes.get(3);
+        List<EndpointHit> hits = hits(0, 500);
+        transport.saveHits(hits);
+        reference.saveHits(hits);
+
+        for (boolean unique : List.of(false, true)) {
+            ViewsStatsRequest request = request(List.of(), unique);
+            assertEquals(reference.getViewStatsList(request).toString(), transport.getStats(request).toString());
+        }
+    }
+
+    @Test
+    void getStats_WithApplication_ShouldAskOnlyOwningNodes() {
+        StatsTransport transport = cluster(urls(3), List.of());
+        transport.saveHits(hits(0, 100));
+
+        List<ViewStats> stats = transport.getStats(request(List.of("/events/1"), false).toBuilder()
+                .application(APP)
+                .build());
+
+        assertEquals(1, stats.size());
+        assertEquals(1, nodes.stream().mapToInt(StatsServerStub::statsRequests).sum());
+    }
+
+    @Test
+    void getStats_DuringRebalancing_ShouldFindHitsWrittenBeforeNodeWasAdded() {
+        StatsTransport before = cluster(urls(3), List.of());
+        before.saveHits(hits(0, 200));
+        StatsTransport after = cluster(urls(4), urls(3));
+        after.saveHits(hits(0, 200));
+
+        List<String> uris = IntStream.range(0, 20).mapToObj(i -> "/events/" + i).toList();
+        List<ViewStats> stats = after.getStats(request(uris, false).toBuilder().application(APP).build());
+
+        assertEquals(20, stats.size());
+        stats.forEach(viewStats -> assertEquals(4L, viewStats.getHits()));
+        assertTrue(nodes.get(3).hits().size() > 0, "the new node should receive new hits");
+    }
+
+    @Test
+    void getEventHits_ShouldSumEntityRowsFromEveryNode() {
+        StatsTransport transport = cluster(urls(3), List.of());
+        List<EndpointHit> hits = IntStream.range(0, 90)
+                .mapToObj(i -> EndpointHit.builder()
+                        .app(APP)
+                        .uri("/events/" + (i % 3) + "/v" + (i % 30))
+                        .ip("10.0.0." + i)
+                        .timestamp(TIMESTAMP)
+                        .entityType("event")
+                        .entityId((long) (i % 3))
+                        .build())
+                .toList();
+        transport.saveHits(hits);
+
+        HitsByEventId result = transport.getEventHits(request(List.of(), false).toBuilder()
+                .entityType("event")
+                .entityIds(List.of(0L, 2L))
+                .build(), "/events/");
+
+        assertEquals(2, result.size());
+        assertEquals(30L, result.get(0));
+        assertEquals(30L, result.get(2));
+    }
+
+    @Test
+    void ring_AddingNodeShouldMoveAboutAQuarterOfKeysAllToTheNewNode() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("a", "b", "c"), 160);
+        ConsistentHashRing four = new ConsistentHashRing(List.of("c", "a", "d", "b"), 160);
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String key = ConsistentHashRing.key(APP, "/events/" + i);
+            if (!three.owner(key).equals(four.owner(key))) {
+                moved++;
+                assertEquals("d", four.owner(key));
+            }
+        }
+
+        assertTrue(moved > 1_800 && moved < 3_200, "moved " + moved + " of 10000 keys");
+    }
+
+    @Test
+    void saveHits_WhenOneNodeIsDown_ShouldReportOnlyItsHitsAsUndelivered() {
+        StatsTransport transport = cluster(urls(3), List.of());
+        nodes.get(1).close();
+
+        PartialDeliveryException e = assertThrows(PartialDeliveryException.class,
+                () -> transport.saveHits(hits(0, 300)));
+
+        int delivered = nodes.get(0).hits().size() + nodes.get(2).hits().size();
+        assertEquals(300 - delivered, e.getUndelivered().size());
+        assertTrue(e.getUndelivered().size() > 30);
+    }
+
+    private StatsTransport cluster(List<String> clusterNodes, List<String> previousNodes) {
+        return config.httpStatsTransport("http://unused", clusterNodes, previousNodes, 160, httpClient,
+                new RestTemplateBuilder(), new StaticListableBeanFactory().getBeanProvider(ObjectMapper.class),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), false);
+    }
+
+    private List<String> urls(int count) {
+        return nodes.subList(0, count).stream().map(StatsServerStub::url).toList();
+    }
+
+    private static List<EndpointHit> hits(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> EndpointHit.builder()
+                        .app(APP)
+                        .uri("/events/" + (i % 100))
+                        .ip("10.0.0." + (i % 7))
+                        .timestamp(TIMESTAMP)
+                        .build())
+                .toList();
+    }
+
+    private static ViewsStatsRequest request(List<String> uris, boolean unique) {
+        return ViewsStatsRequest.builder()
+                .start(TIMESTAMP.minusDays(1))
+                .end(TIMESTAMP.plusDays(1))
+                .uris(uris)
+                .unique(unique)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.ewm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsCallGuardTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void call_WhenDeadlineExceeded_ShouldFailFast() {
+        StatsCallGuard guard = new StatsCallGuard(new CircuitBreaker(5, 60_000), 100, false, 20, meterRegistry);
+
+        long started = System.currentTimeMillis();
+        assertThrows(StatsUnavailableException.class, () -> guard.call(() -> sleepAndReturn(2000, "late")));
+
+        assertTrue(System.currentTimeMillis() - started < 1000);
+        assertEquals(1.0, meterRegistry.counter("stats.client.calls", "outcome", "timeout").count());
+    }
+
+    @Test
+    void call_AfterConsecutiveFailures_ShouldOpenCircuit() {
+        StatsCallGuard guard = new StatsCallGuard(new CircuitBreaker(2, 60_000), 1000, false, 20, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(StatsUnavailableException.class, () -> guard.call(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("Connection refused");
+            }));
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+        assertEquals(1.0, meterRegistry.counter("stats.client.calls", "outcome", "rejected").count());
+    }
+
+    @Test
+    void call_WhenPrimaryIsSlow_ShouldReturnHedgedAnswer() {
+        StatsCallGuard guard = new StatsCallGuard(new CircuitBreaker(5, 60_000), 2000, true, 20, meterRegistry);
+        for (int i = 0; i < 32; i++) {
+            guard.call(() -> "warm-up");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = guard.call(() -> attempts.incrementAndGet() == 1 ? sleepAndReturn(1500, "primary")
+                : "hedge");
+
+        assertEquals("hedge", result);
+        assertEquals(1.0, meterRegistry.counter("stats.client.hedged.calls").count());
+    }
+
+    @Test
+    void circuitBreaker_ShouldLetOneProbeThroughAfterOpenPeriod() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, 1000, now::get);
+        breaker.onFailure();
+        assertFalse(breaker.allowRequest());
+
+        now.set(1000);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void call_WhenHalfOpenProbeIsInterrupted_ShouldLetNextCallProbe() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, 1000, now::get);
+        breaker.onFailure();
+        now.set(1000);
+        StatsCallGuard guard = new StatsCallGuard(breaker, 2000, false, 20, meterRegistry);
+
+        Thread.currentThread().interrupt();
+        assertThrows(StatsUnavailableException.class, () -> guard.call(() -> sleepAndReturn(500, "late")));
+        assertTrue(Thread.interrupted());
+
+        assertEquals("answer", guard.call(() -> "answer"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitState());
+    }
+
+    private static String sleepAndReturn(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StatsClientTest {
+    private final List<EndpointHit> sent = new ArrayList<>();
+
+    @Test
+    void postStats_ShouldTagUntaggedEventHitsWithTheEvent() throws IOException {
+        StatsClient client = client();
+
+        client.postStatsBatch(List.of(hit("/events/42", null, null), hit("/events/7", "event", 7L),
+                hit("/events", null, null), hit("/events/4x", null, null), hit("/compilations/3", null, null)));
+
+        assertEquals("event", sent.get(0).getEntityType());
+        assertEquals(42L, sent.get(0).getEntityId());
+        assertEquals(7L, sent.get(1).getEntityId());
+        for (EndpointHit hit : sent.subList(2, sent.size())) {
+            assertNull(hit.getEntityType());
+            assertNull(hit.getEntityId());
+        }
+    }
+
+    @Test
+    void postStatsNow_ShouldKeepUriAndTagEventHit() throws IOException {
+        client().postStatsNow(hit("/events/9", null, null));
+
+        assertEquals("/events/9", sent.get(0).getUri());
+        assertEquals(9L, sent.get(0).getEntityId());
+    }
+
+    private StatsClient client() throws IOException {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new StatsClient(new RecordingTransport(), beans.getBeanProvider(MeterRegistry.class),
+                beans.getBeanProvider(ObjectMapper.class), false, 1, 1, 0, 1, 0, false, "", 0, 0, 0, true);
+    }
+
+    private static EndpointHit hit(String uri, String entityType, Long entityId) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip("192.168.1.1")
+                .timestamp(LocalDateTime.of(2023, 1, 2, 12, 0, 0))
+                .entityType(entityType)
+                .entityId(entityId)
+                .build();
+    }
+
+    private final class RecordingTransport implements StatsTransport {
+        @Override
+        public void saveHit(EndpointHit hit) {
+            sent.add(hit);
+        }
+
+        @Override
+        public void saveHits(List<EndpointHit> hits) {
+            sent.addAll(hits);
+        }
+
+        @Override
+        public List<ViewStats> getStats(ViewsStatsRequest request) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stat-server speaking the real /hit, /hit/batch and /stats protocol, so several nodes can run in one
+ * test JVM.
+ */
+public final class StatsServerStub implements LocalStatsEndpoint, AutoCloseable {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final List<EndpointHit> hits = new CopyOnWriteArrayList<>();
+    private final AtomicInteger statsRequests = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final HttpServer server;
+
+    public StatsServerStub(ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/hit", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (exchange.getRequestURI().getPath().equals("/hit/batch")) {
+                saveHits(Arrays.asList(objectMapper.readValue(body, EndpointHit[].class)));
+            } else {
+                saveHit(objectMapper.readValue(body, EndpointHit.class));
+            }
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.createContext("/stats", this::stats);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<EndpointHit> hits() {
+        return hits;
+    }
+
+    public int statsRequests() {
+        return statsRequests.get();
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        hits.add(hit);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> batch) {
+        hits.addAll(batch);
+    }
+
+    @Override
+    public List<ViewStats> getViewStatsList(ViewsStatsRequest request) {
+        Set<String> uris = request.getUris() == null ? Set.of() : new HashSet<>(request.getUris());
+        String entityType = request.getEntityType();
+        Set<Long> entityIds = request.getEntityIds() == null ? Set.of() : new HashSet<>(request.getEntityIds());
+        Map<List<Object>, Set<String>> ips = new HashMap<>();
+        Map<List<Object>, Long> counts = new HashMap<>();
+        Map<List<Object>, String> firstUris = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            if (hit.getTimestamp().isBefore(request.getStart()) || hit.getTimestamp().isAfter(request.getEnd())
+                    || (!uris.isEmpty() && !uris.contains(hit.getUri()))) {
+                continue;
+            }
+            if (entityType != null && (!entityType.equals(hit.getEntityType()) || hit.getEntityId() == null
+                    || (!entityIds.isEmpty() && !entityIds.contains(hit.getEntityId())))) {
+                continue;
+            }
+            List<Object> key = entityType == null
+                    ? List.of(hit.getApp(), hit.getUri())
+                    : List.of(hit.getApp(), hit.getEntityId());
+            ips.computeIfAbsent(key, k -> new HashSet<>()).add(hit.getIp());
+            counts.merge(key, 1L, Long::sum);
+            firstUris.merge(key, hit.getUri(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        List<ViewStats> result = new ArrayList<>();
+        counts.forEach((key, count) -> result.add(new ViewStats((String) key.get(0), firstUris.get(key),
+                request.isUnique() ? (long) ips.get(key).size() : count, null, entityType,
+                entityType == null ? null : (Long) key.get(1))));
+        result.sort(Comparator.comparing(ViewStats::getHits, Comparator.reverseOrder())
+                .thenComparing(ViewStats::getUri));
+        return result;
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        statsRequests.incrementAndGet();
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(pair[0], URLDecoder.decode(pair.length > 1 ? pair[1] : "", StandardCharsets.UTF_8));
+        }
+        String uris = query.getOrDefault("uris", "");
+        String entityIds = query.getOrDefault("entityIds", "");
+        byte[] body = objectMapper.writeValueAsBytes(getViewStatsList(ViewsStatsRequest.builder()
+                .start(LocalDateTime.parse(query.get("start"), formatter))
+                .end(LocalDateTime.parse(query.get("end"), formatter))
+                .uris(uris.isEmpty() ? List.of() : List.of(uris.split(",")))
+                .unique(Boolean.parseBoolean(query.get("unique")))
+                .entityType(query.get("entityType"))
+                .entityIds(entityIds.isEmpty() ? List.of() : Arrays.stream(entityIds.split(","))
+                        .map(Long::valueOf)
+                        .toList())
+                .build()));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
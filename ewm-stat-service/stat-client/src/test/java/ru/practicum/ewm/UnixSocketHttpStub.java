@@ -0,0 +1,112 @@
+package ru.practicum.ewm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Minimal HTTP/1.1 server on a Unix domain socket that answers every request with a chunked body, for tests and
+ * benchmarks of {@link UnixSocketStatsTransport}.
+ */
+public final class UnixSocketHttpStub implements AutoCloseable {
+    public interface Handler {
+        Response handle(String method, String target, byte[] body) throws IOException;
+    }
+
+    public record Response(int status, byte[] body) {
+    }
+
+    private final Path path;
+    private final ServerSocketChannel server;
+    private final Handler handler;
+    private final Thread acceptor;
+
+    public UnixSocketHttpStub(Path path, Handler handler) throws IOException {
+        this.path = path;
+        this.handler = handler;
+        Files.deleteIfExists(path);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(path));
+        acceptor = Thread.ofPlatform().name("uds-stub").daemon().start(this::acceptLoop);
+    }
+
+    private void acceptLoop() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                Thread.ofVirtual().start(() -> serve(channel));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            String head = readHead(in);
+            String[] lines = head.split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            int contentLength = 0;
+            for (String line : lines) {
+                if (line.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                }
+            }
+            byte[] body = in.readNBytes(contentLength);
+            Response response = handler.handle(requestLine[0], requestLine[1], body);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            out.write(("HTTP/1.1 " + response.status() + " X\r\nContent-Type: application/json\r\n"
+                    + "Transfer-Encoding: chunked\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            int half = response.body().length / 2;
+            writeChunk(out, response.body(), 0, half);
+            writeChunk(out, response.body(), half, response.body().length - half);
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        } catch (IOException e) {
+            // the client went away; nothing to answer
+        }
+    }
+
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int last = 0;
+        while (last != 0x0D0A0D0A) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Connection closed before the request head ended");
+            }
+            head.write(b);
+            last = (last << 8) | b;
+        }
+        return head.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static void writeChunk(OutputStream out, byte[] data, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        out.write((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(data, offset, length);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        acceptor.interrupt();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnixSocketStatsTransportTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+    private UnixSocketHttpStub server;
+    private UnixSocketStatsTransport transport;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private UnixSocketHttpStub.Response response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path socket = directory.resolve("stats.sock");
+        server = new UnixSocketHttpStub(socket, (method, target, body) -> {
+            requests.add(method + " " + URLDecoder.decode(target, StandardCharsets.UTF_8) + " "
+                    + new String(body, StandardCharsets.UTF_8));
+            return response;
+        });
+        transport = new UnixSocketStatsTransport(socket, objectMapper, Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        server.close();
+    }
+
+    @Test
+    void saveHits_ShouldPostJsonBatch() throws Exception {
+        response = new UnixSocketHttpStub.Response(201, new byte[0]);
+        List<EndpointHit> hits = List.of(hit("/events/1"), hit("/events/2"));
+
+        transport.saveHits(hits);
+
+        assertEquals("POST /hit/batch " + objectMapper.writeValueAsString(hits), requests.take());
+    }
+
+    @Test
+    void getStats_ShouldDecodeChunkedResponse() throws Exception {
+        List<ViewStats> stats = List.of(new ViewStats("ewm-main-service", "/events/1", 5L, null),
+                new ViewStats("ewm-main-service", "/events/2", 3L, null));
+        response = new UnixSocketHttpStub.Response(200, objectMapper.writeValueAsBytes(stats));
+
+        List<ViewStats> result = transport.getStats(ViewsStatsRequest.builder()
+                .start(TIMESTAMP)
+                .end(TIMESTAMP.plusDays(1))
+                .uris(List.of("/events/1", "/events/2"))
+                .unique(true)
+                .build());
+
+        assertEquals(2, result.size());
+        assertEquals(5L, result.get(0).getHits());
+        assertEquals("GET /stats?start=2024-01-01 12:00:00&end=2024-01-02 12:00:00&uris=/events/1,/events/2"
+                + "&unique=true ", requests.take());
+    }
+
+    @Test
+    void getEventHits_ShouldSumHitsPerEvent() throws Exception {
+        response = new UnixSocketHttpStub.Response(200, objectMapper.writeValueAsBytes(List.of(
+                new ViewStats("ewm-main-service", "/events/7", 4L, null),
+                new ViewStats("ewm-main-service", "/events/9", 1L, null))));
+
+        HitsByEventId hits = transport.getEventHits(ViewsStatsRequest.builder()
+                .start(TIMESTAMP)
+                .end(TIMESTAMP)
+                .uris(List.of("/events/7", "/events/9"))
+                .build(), "/events/");
+
+        assertEquals(4L, hits.get(7));
+        assertEquals(1L, hits.get(9));
+    }
+
+    @Test
+    void saveHit_WhenServerRejects_ShouldThrow() {
+        response = new UnixSocketHttpStub.Response(400, "{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalStateException.class, () -> transport.saveHit(hit("/events/1")));
+    }
+
+    @Test
+    void getStats_WhenServerHangs_ShouldTimeOut() throws IOException {
+        Path socket = directory.resolve("hanging.sock");
+        try (UnixSocketHttpStub hanging = new UnixSocketHttpStub(socket, (method, target, body) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new UnixSocketHttpStub.Response(200, "[]".getBytes(StandardCharsets.UTF_8));
+        })) {
+            UnixSocketStatsTransport hangingTransport = new UnixSocketStatsTransport(socket, objectMapper,
+                    Duration.ofSeconds(1), Duration.ofMillis(300));
+            long started = System.nanoTime();
+
+            UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> hangingTransport.getStats(
+                    ViewsStatsRequest.builder()
+                            .start(TIMESTAMP)
+                            .end(TIMESTAMP)
+                            .uris(List.of("/events/1"))
+                            .build()));
+
+            assertInstanceOf(SocketTimeoutException.class, error.getCause());
+            assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 5_000);
+        }
+    }
+
+    private static EndpointHit hit(String uri) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip("192.168.1.1")
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewStatsReaderTest {
+    private static final String BODY = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/12\",\"hits\":5,\"sampled\":true},"
+            + "{\"app\":\"ewm-main-service\",\"uri\":\"/events\",\"hits\":3},"
+            + "{\"app\":\"ewm-admin\",\"uri\":\"/events/12\",\"hits\":2},"
+            + "{\"hits\":1,\"uri\":\"/events/7\",\"app\":\"ewm-main-service\"}]";
+
+    private final ViewStatsReader reader = new ViewStatsReader(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void readList_ShouldMapResponseToViewStats() throws IOException {
+        List<ViewStats> stats = reader.readList(body());
+
+        assertEquals(4, stats.size());
+        assertEquals("/events/12", stats.get(0).getUri());
+        assertEquals(5L, stats.get(0).getHits());
+        assertTrue(stats.get(0).getSampled());
+        assertNull(stats.get(1).getSampled());
+    }
+
+    @Test
+    void readHitsByEventId_ShouldSumHitsOfEventUris() throws IOException {
+        HitsByEventId hits = reader.readHitsByEventId(body(), "/events/", 4);
+
+        assertEquals(2, hits.size());
+        assertEquals(7L, hits.get(12));
+        assertEquals(1L, hits.get(7));
+        assertEquals(0L, hits.get(3));
+        assertFalse(hits.contains(3));
+    }
+
+    @Test
+    void readHitsByEventId_ShouldPreferEntityIdOverUri() throws IOException {
+        String body = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/12?ref=feed\",\"hits\":4,"
+                + "\"entityType\":\"event\",\"entityId\":12},"
+                + "{\"app\":\"ewm-main-service\",\"uri\":\"/events/7\",\"hits\":2}]";
+
+        HitsByEventId hits = reader.readHitsByEventId(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                "/events/", 2);
+
+        assertEquals(4L, hits.get(12));
+        assertEquals(2L, hits.get(7));
+    }
+
+    @Test
+    void hitsByEventId_ShouldGrowBeyondExpectedSize() {
+        HitsByEventId hits = new HitsByEventId(1);
+        for (long id = 0; id < 10_000; id++) {
+            hits.add(id * 31, id);
+        }
+
+        assertEquals(10_000, hits.size());
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(id, hits.get(id * 31));
+        }
+    }
+
+    private static ByteArrayInputStream body() {
+        return new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.ewm.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.HttpStatsTransport;
+import ru.practicum.ewm.InProcessStatsTransport;
+import ru.practicum.ewm.LocalStatsEndpoint;
+import ru.practicum.ewm.StatsTransport;
+import ru.practicum.ewm.UnixSocketHttpStub;
+import ru.practicum.ewm.UnixSocketStatsTransport;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of one hit and one 100-element /stats lookup through each {@link StatsTransport}. The HTTP
+ * and unix-socket servers answer with canned bodies and the in-process transport calls a canned
+ * {@link LocalStatsEndpoint}, so the numbers are transport overhead only; stat-server's
+ * {@code InProcessStatsTransportBenchmarkTest} measures the in-process path with the real service. Run the main
+ * method from the IDE or with
+ * {@code java -cp target/test-classes:<test classpath> ru.practicum.ewm.benchmark.StatsTransportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsTransportBenchmark {
+    private static final int ELEMENTS = 100;
+
+    @Param({"in-process", "http", "unix-socket"})
+    private String transportType;
+
+    private StatsTransport transport;
+    private HttpServer httpServer;
+    private UnixSocketHttpStub unixServer;
+    private Path socketDirectory;
+    private EndpointHit hit;
+    private ViewsStatsRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        List<ViewStats> stats = new ArrayList<>(ELEMENTS);
+        List<String> uris = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            stats.add(new ViewStats("ewm-main-service", "/events/" + i, (long) i * 17, null));
+            uris.add("/events/" + i);
+        }
+        byte[] body = objectMapper.writeValueAsBytes(stats);
+        hit = EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri("/events/1")
+                .ip("192.168.1.1")
+                .timestamp(LocalDateTime.now())
+                .build();
+        request = ViewsStatsRequest.builder()
+                .start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now())
+                .uris(uris)
+                .build();
+
+        switch (transportType) {
+            case "in-process" -> transport = new InProcessStatsTransport(new CannedStatsService(stats));
+            case "http" -> {
+                // without it the JDK server's Nagle delay dominates every response
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+                httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+                httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+                httpServer.createContext("/", exchange -> {
+                    exchange.getRequestBody().readAllBytes();
+                    boolean stat = exchange.getRequestMethod().equals("GET");
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(stat ? 200 : 201, stat ? body.length : -1);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        if (stat) {
+                            out.write(body);
+                        }
+                    }
+                });
+                httpServer.start();
+                transport = new HttpStatsTransport(new RestTemplateBuilder()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:"
+                                + httpServer.getAddress().getPort()))
+                        .requestFactory(HttpComponentsClientHttpRequestFactory.class)
+                        .build(), objectMapper, false);
+            }
+            case "unix-socket" -> {
+                socketDirectory = Files.createTempDirectory("stats-uds");
+                Path socket = socketDirectory.resolve("stats.sock");
+                unixServer = new UnixSocketHttpStub(socket, (method, target, requestBody) ->
+                        new UnixSocketHttpStub.Response(method.equals("GET") ? 200 : 201,
+                                method.equals("GET") ? body : new byte[0]));
+                transport = new UnixSocketStatsTransport(socket, objectMapper, Duration.ofSeconds(1),
+                        Duration.ofSeconds(5));
+            }
+            default -> throw new IllegalArgumentException(transportType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        if (unixServer != null) {
+            unixServer.close();
+            Files.deleteIfExists(socketDirectory);
+        }
+    }
+
+    @Benchmark
+    public void saveHit() {
+        transport.saveHit(hit);
+    }
+
+    @Benchmark
+    public List<ViewStats> getStats() {
+        return transport.getStats(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StatsTransportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private record CannedStatsService(List<ViewStats> stats) implements LocalStatsEndpoint {
+        @Override
+        public void saveHit(EndpointHit hit) {
+        }
+
+        @Override
+        public void saveHits(List<EndpointHit> hits) {
+        }
+
+        @Override
+        public List<ViewStats> getViewStatsList(ViewsStatsRequest request) {
+            return stats;
+        }
+    }
+}
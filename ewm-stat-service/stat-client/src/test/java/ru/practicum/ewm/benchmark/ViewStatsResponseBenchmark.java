@@ -0,0 +1,87 @@
+package ru.practicum.ewm.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.ewm.HitsByEventId;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewStatsReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding of a 1,000-element /stats response the way EventServiceImpl used to do it
+ * (Object tree, then convertValue) with the typed readers. Run the main method from the IDE or with
+ * {@code java -cp target/test-classes:<test classpath> ru.practicum.ewm.benchmark.ViewStatsResponseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewStatsResponseBenchmark {
+    private static final int ELEMENTS = 1_000;
+    private static final String PREFIX = "/events/";
+
+    private ObjectMapper objectMapper;
+    private ViewStatsReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        reader = new ViewStatsReader(objectMapper);
+        List<ViewStats> stats = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            stats.add(new ViewStats("ewm-main-service", PREFIX + (100_000 + i), (long) i * 17, null));
+        }
+        body = objectMapper.writeValueAsBytes(stats);
+    }
+
+    @Benchmark
+    public Map<Long, Long> objectTreeThenConvert() throws IOException {
+        Object tree = objectMapper.readValue(body, Object.class);
+        List<ViewStats> stats = objectMapper.convertValue(tree, new TypeReference<>() {
+        });
+        Map<Long, Long> result = new HashMap<>();
+        for (ViewStats viewStats : stats) {
+            result.put(Long.parseLong(viewStats.getUri().substring(PREFIX.length())), viewStats.getHits());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ViewStats> typedList() throws IOException {
+        return reader.readList(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public HitsByEventId streamingHitsByEventId() throws IOException {
+        return reader.readHitsByEventId(new ByteArrayInputStream(body), PREFIX, ELEMENTS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ViewStatsResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
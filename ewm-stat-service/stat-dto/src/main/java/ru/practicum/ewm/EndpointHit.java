@@ -1,6 +1,7 @@
 package ru.practicum.ewm;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,4 +20,8 @@ public class EndpointHit {
     private String ip;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String entityType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long entityId;
 }
\ No newline at end of file
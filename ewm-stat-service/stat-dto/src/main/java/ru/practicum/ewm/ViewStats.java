@@ -1,5 +1,7 @@
 package ru.practicum.ewm;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -7,10 +9,20 @@ import lombok.ToString;
 
 @Builder
 @Getter
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 @ToString
 public class ViewStats {
     private String app;
     private String uri;
     private Long hits;
-}
\ No newline at end of file
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean sampled;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String entityType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long entityId;
+
+    public ViewStats(String app, String uri, Long hits, Boolean sampled) {
+        this(app, uri, hits, sampled, null, null);
+    }
+}
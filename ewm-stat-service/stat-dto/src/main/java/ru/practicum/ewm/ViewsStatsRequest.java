@@ -18,4 +18,6 @@ public class ViewsStatsRequest {
     private LocalDateTime end = LocalDateTime.now();
     private boolean unique;
     private String application;
+    private String entityType;
+    private List<Long> entityIds;
 }
\ No newline at end of file
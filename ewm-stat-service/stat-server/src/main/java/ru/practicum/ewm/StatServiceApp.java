@@ -1,11 +1,26 @@
 package ru.practicum.ewm;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
-@SpringBootApplication
+/**
+ * stat-client shares the base package and is on the classpath for the in-process transport, so its beans are
+ * excluded from the scan: stat-server on its own does not report to itself.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {StatsClient.class,
+                CachingStatsClient.class, StatsCallGuard.class, StatsTransportConfig.class})})
 public class StatServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(StatServiceApp.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package ru.practicum.ewm.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.exceptions.QueryCostExceededException;
+import ru.practicum.ewm.exceptions.StatsOverloadedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class StatsQueryAdmission implements DisposableBean {
+    private final JdbcTemplate jdbcTemplate;
+    private final StatsQueryCostEstimator costEstimator;
+    private final HikariDataSource heavyDataSource;
+    private final JdbcTemplate heavyJdbcTemplate;
+    private final Semaphore regularPermits;
+    private final Semaphore heavyPermits;
+    private final long heavyCostThreshold;
+    private final long maxCost;
+    private final long acquireTimeoutMs;
+
+    public StatsQueryAdmission(JdbcTemplate jdbcTemplate,
+                               StatsQueryCostEstimator costEstimator,
+                               DataSourceProperties dataSourceProperties,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                               @Value("${stats.admission.reserved-ingest-connections:2}") int reservedForIngest,
+                               @Value("${stats.admission.heavy-pool-size:2}") int heavyPoolSize,
+                               @Value("${stats.admission.heavy-query-timeout-seconds:30}") int heavyQueryTimeout,
+                               @Value("${stats.admission.heavy-cost-threshold:200000}") long heavyCostThreshold,
+                               @Value("${stats.admission.max-cost:50000000}") long maxCost,
+                               @Value("${stats.admission.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.costEstimator = costEstimator;
+        this.heavyCostThreshold = heavyCostThreshold;
+        this.maxCost = maxCost;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.regularPermits = new Semaphore(Math.max(1, poolSize - reservedForIngest), true);
+        this.heavyPermits = new Semaphore(heavyPoolSize, true);
+
+        heavyDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        heavyDataSource.setPoolName("stats-heavy-query");
+        heavyDataSource.setMaximumPoolSize(heavyPoolSize);
+        heavyDataSource.setMinimumIdle(0);
+        heavyDataSource.setReadOnly(true);
+        heavyJdbcTemplate = new JdbcTemplate(heavyDataSource);
+        heavyJdbcTemplate.setQueryTimeout(heavyQueryTimeout);
+    }
+
+    public <T> T execute(ViewsStatsRequest request, Function<JdbcTemplate, T> query) {
+        long cost = costEstimator.estimate(request);
+        if (cost > maxCost) {
+            log.info("Statistics query rejected, estimated cost {} exceeds budget {}", cost, maxCost);
+            throw new QueryCostExceededException("Estimated query cost " + cost + " exceeds the budget of " + maxCost
+                    + ". Narrow the date range or specify uris.");
+        }
+        boolean heavy = cost >= heavyCostThreshold;
+        Semaphore permits = heavy ? heavyPermits : regularPermits;
+        acquire(permits, heavy);
+        try {
+            log.debug("Statistics query with estimated cost {} runs on the {} pool", cost, heavy ? "heavy" : "regular");
+            return query.apply(heavy ? heavyJdbcTemplate : jdbcTemplate);
+        } catch (QueryTimeoutException e) {
+            throw new StatsOverloadedException("Statistics query timed out, narrow the date range or specify uris");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire(Semaphore permits, boolean heavy) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new StatsOverloadedException("Too many concurrent " + (heavy ? "expensive " : "")
+                        + "statistics queries, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StatsOverloadedException("Interrupted while waiting for a statistics query slot");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heavyDataSource.close();
+    }
+}
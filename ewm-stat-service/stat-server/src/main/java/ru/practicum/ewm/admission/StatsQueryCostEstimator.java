@@ -0,0 +1,118 @@
+package ru.practicum.ewm.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.ViewsStatsRequest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+public class StatsQueryCostEstimator {
+    private static final String POSTGRES_ROWS_QUERY =
+            "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'stats'";
+    private static final String H2_ROWS_QUERY =
+            "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'STATS'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double uriSelectivity;
+    private final double uniqueCostFactor;
+    private final long refreshIntervalMs;
+
+    private volatile TableStats tableStats;
+    private volatile String rowsQuery;
+
+    public StatsQueryCostEstimator(JdbcTemplate jdbcTemplate,
+                                   @Value("${stats.admission.uri-selectivity:0.01}") double uriSelectivity,
+                                   @Value("${stats.admission.unique-cost-factor:2}") double uniqueCostFactor,
+                                   @Value("${stats.admission.table-stats-refresh-ms:60000}") long refreshIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.uriSelectivity = uriSelectivity;
+        this.uniqueCostFactor = uniqueCostFactor;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public long estimate(ViewsStatsRequest request) {
+        TableStats stats = currentTableStats();
+        double cost = stats.rows() * rangeFraction(stats, request.getStart(), request.getEnd());
+        if (request.getUris() != null && !request.getUris().isEmpty()) {
+            cost *= Math.min(1.0, request.getUris().size() * uriSelectivity);
+        }
+        if (request.getEntityIds() != null && !request.getEntityIds().isEmpty()) {
+            cost *= Math.min(1.0, request.getEntityIds().size() * uriSelectivity);
+        }
+        if (request.isUnique()) {
+            cost *= uniqueCostFactor;
+        }
+        return (long) Math.ceil(cost);
+    }
+
+    private double rangeFraction(TableStats stats, LocalDateTime start, LocalDateTime end) {
+        if (stats.minCreated() == null || stats.maxCreated() == null) {
+            return 1.0;
+        }
+        long span = Duration.between(stats.minCreated(), stats.maxCreated()).toSeconds();
+        if (span <= 0) {
+            return 1.0;
+        }
+        LocalDateTime from = start.isAfter(stats.minCreated()) ? start : stats.minCreated();
+        LocalDateTime to = end.isBefore(stats.maxCreated()) ? end : stats.maxCreated();
+        if (to.isBefore(from)) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) Duration.between(from, to).toSeconds() / span);
+    }
+
+    private TableStats currentTableStats() {
+        TableStats stats = tableStats;
+        if (stats == null || System.currentTimeMillis() - stats.loadedAt() > refreshIntervalMs) {
+            stats = loadTableStats();
+            tableStats = stats;
+        }
+        return stats;
+    }
+
+    private TableStats loadTableStats() {
+        long rows = estimateRows();
+        return jdbcTemplate.queryForObject("SELECT MIN(created) AS min_created, MAX(created) AS max_created FROM stats",
+                (rs, rowNum) -> new TableStats(rows,
+                        toLocalDateTime(rs.getTimestamp("min_created")),
+                        toLocalDateTime(rs.getTimestamp("max_created")),
+                        System.currentTimeMillis()));
+    }
+
+    private long estimateRows() {
+        try {
+            Long rows = jdbcTemplate.queryForObject(rowsQuery(), Long.class);
+            if (rows != null && rows >= 0) {
+                return rows;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Row estimate is not available, falling back to COUNT: {}", e.getMessage());
+        }
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stats", Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    private String rowsQuery() {
+        if (rowsQuery == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            rowsQuery = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_ROWS_QUERY : H2_ROWS_QUERY;
+        }
+        return rowsQuery;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private record TableStats(long rows, LocalDateTime minCreated, LocalDateTime maxCreated, long loadedAt) {
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.ewm.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Adds a second Tomcat connector listening on a Unix domain socket, for stat-client's unix-socket transport
+ * when ewm-main-service runs on the same host.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stats.server.unix-socket-path")
+public class UnixSocketConnectorCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+    private final Path socketPath;
+
+    public UnixSocketConnectorCustomizer(@Value("${stats.server.unix-socket-path}") String socketPath) {
+        this.socketPath = Path.of(socketPath).toAbsolutePath();
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        try {
+            Files.createDirectories(socketPath.getParent());
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare unix socket " + socketPath, e);
+        }
+        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        connector.setProperty("unixDomainSocketPath", socketPath.toString());
+        connector.setProperty("unixDomainSocketPathPermissions", "rw-rw----");
+        factory.addAdditionalTomcatConnectors(connector);
+        log.info("stat-server also listens on unix socket {}", socketPath);
+    }
+}
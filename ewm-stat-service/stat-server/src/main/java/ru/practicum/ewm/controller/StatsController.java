@@ -35,22 +35,36 @@ public class StatsController {
         service.saveHit(hit);
     }
 
+    @PostMapping("/hit/batch")
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public void hits(@RequestBody List<EndpointHit> hits) {
+        log.info("POST request to save {} hits.", hits.size());
+        service.saveHits(hits);
+    }
+
     @GetMapping("/stats")
     public List<ViewStats> getStats(@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
                                     @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
                                     @RequestParam(defaultValue = "") List<String> uris,
-                                    @RequestParam(defaultValue = "false") boolean unique) {
+                                    @RequestParam(defaultValue = "false") boolean unique,
+                                    @RequestParam(required = false) String entityType,
+                                    @RequestParam(defaultValue = "") List<Long> entityIds) {
         log.info("GET request to get all statistic.");
         if (end.isBefore(start)) {
             log.info("Uncorrected format of dates start {} и end {}", start, end);
             throw new InvalidParameterException("Uncorrected format of dates");
         }
+        if (entityType == null && !entityIds.isEmpty()) {
+            throw new InvalidParameterException("entityIds require entityType");
+        }
         return service.getViewStatsList(
                 ViewsStatsRequest.builder()
                         .start(start)
                         .end(end)
                         .uris(uris)
                         .unique(unique)
+                        .entityType(entityType)
+                        .entityIds(entityIds)
                         .build()
         );
     }
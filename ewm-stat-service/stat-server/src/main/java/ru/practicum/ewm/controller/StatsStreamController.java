@@ -0,0 +1,34 @@
+package ru.practicum.ewm.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.ewm.live.LiveHitBroadcaster;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class StatsStreamController {
+    private final LiveHitBroadcaster broadcaster;
+
+    @GetMapping(path = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(defaultValue = "") List<String> uris,
+                                @RequestParam(required = false) String prefix,
+                                @RequestParam(defaultValue = "1000") long intervalMs) {
+        log.info("GET request to subscribe to live statistics.");
+        if (uris.isEmpty() && (prefix == null || prefix.isBlank())) {
+            throw new InvalidParameterException("Either uris or prefix must be specified");
+        }
+        if (intervalMs <= 0) {
+            throw new InvalidParameterException("intervalMs must be positive");
+        }
+        return broadcaster.subscribe(uris, prefix == null || prefix.isBlank() ? null : prefix, intervalMs);
+    }
+}
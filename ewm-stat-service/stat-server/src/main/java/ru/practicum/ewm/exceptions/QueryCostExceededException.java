@@ -0,0 +1,7 @@
+package ru.practicum.ewm.exceptions;
+
+public class QueryCostExceededException extends RuntimeException {
+    public QueryCostExceededException(String message) {
+        super(message);
+    }
+}
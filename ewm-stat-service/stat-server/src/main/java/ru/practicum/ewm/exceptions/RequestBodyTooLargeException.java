@@ -0,0 +1,7 @@
+package ru.practicum.ewm.exceptions;
+
+public class RequestBodyTooLargeException extends RuntimeException {
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
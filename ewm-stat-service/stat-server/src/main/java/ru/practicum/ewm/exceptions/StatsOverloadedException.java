@@ -0,0 +1,7 @@
+package ru.practicum.ewm.exceptions;
+
+public class StatsOverloadedException extends RuntimeException {
+    public StatsOverloadedException(String message) {
+        super(message);
+    }
+}
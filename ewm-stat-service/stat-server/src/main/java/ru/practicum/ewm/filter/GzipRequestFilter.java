@@ -0,0 +1,255 @@
+package ru.practicum.ewm.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.ewm.exceptions.RequestBodyTooLargeException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates request bodies sent with {@code Content-Encoding: gzip}, used by batched hit reporting. Both the compressed
+ * and the inflated body are limited to {@code stats.ingest.max-body-bytes}; reading past the limit throws
+ * {@link RequestBodyTooLargeException}, answered with 413, and a corrupt stream is answered with 400.
+ */
+@Component
+public class GzipRequestFilter extends OncePerRequestFilter {
+    private static final String GZIP = "gzip";
+
+    private final long maxBodyBytes;
+
+    public GzipRequestFilter(@Value("${stats.ingest.max-body-bytes:16777216}") long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !GZIP.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(new GzipRequest(request, maxBodyBytes), response);
+    }
+
+    private static final class GzipRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream inputStream;
+
+        private GzipRequest(HttpServletRequest request, long maxBodyBytes) throws IOException {
+            super(request);
+            this.inputStream = new InflatingInputStream(request.getInputStream(), maxBodyBytes);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+
+    /**
+     * Inflates the body while it is read. Blocking reads inflate straight from the request stream; with a
+     * {@link ReadListener} the compressed body is first collected from the non-blocking request stream and the
+     * listener is then served from memory, as {@link GZIPInputStream} can only read blocking.
+     */
+    private static final class InflatingInputStream extends ServletInputStream {
+        private final ServletInputStream source;
+        private final long maxBodyBytes;
+        private InputStream delegate;
+        private volatile boolean ready = true;
+        private boolean finished;
+
+        private InflatingInputStream(ServletInputStream source, long maxBodyBytes) {
+            this.source = source;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate().read();
+            finished = value < 0;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate().read(buffer, offset, length);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            ready = false;
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            source.setReadListener(new ReadListener() {
+                private boolean failed;
+
+                @Override
+                public void onDataAvailable() {
+                    byte[] buffer = new byte[8192];
+                    try {
+                        while (!failed && source.isReady()) {
+                            int read = source.read(buffer);
+                            if (read < 0) {
+                                return;
+                            }
+                            if (compressed.size() + read > maxBodyBytes) {
+                                onError(tooLarge(maxBodyBytes));
+                                return;
+                            }
+                            compressed.write(buffer, 0, read);
+                        }
+                    } catch (IOException e) {
+                        onError(e);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    if (failed) {
+                        return;
+                    }
+                    try {
+                        delegate = new LimitedInputStream(new GZIPInputStream(
+                                new ByteArrayInputStream(compressed.toByteArray())), maxBodyBytes);
+                    } catch (IOException e) {
+                        onError(e);
+                        return;
+                    }
+                    ready = true;
+                    readListener.onDataAvailable();
+                    if (finished) {
+                        readListener.onAllDataRead();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    if (!failed) {
+                        failed = true;
+                        readListener.onError(error);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            } else {
+                source.close();
+            }
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = new LimitedInputStream(new GZIPInputStream(new LimitedInputStream(source, maxBodyBytes)),
+                        maxBodyBytes);
+            }
+            return delegate;
+        }
+    }
+
+    private static RequestBodyTooLargeException tooLarge(long maxBodyBytes) {
+        return new RequestBodyTooLargeException("Request body exceeds " + maxBodyBytes + " bytes");
+    }
+
+    /**
+     * Fails once more than {@code limit} bytes have been read through it.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) {
+            count += bytes;
+            if (count > limit) {
+                throw tooLarge(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.ewm.ingest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class IngestSampler {
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int threshold;
+    private final double minProbability;
+
+    public IngestSampler(@Value("${stats.ingest.sampling-threshold:64}") int threshold,
+                         @Value("${stats.ingest.min-sampling-probability:0.05}") double minProbability,
+                         MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.minProbability = minProbability;
+        Gauge.builder("stats.ingest.pending", pending, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("stats.ingest.sampling.probability", this, IngestSampler::samplingProbability)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the weight the hit has to be stored with, or 0 if the hit is dropped by sampling.
+     * Every admitted hit must be followed by {@link #complete()}.
+     */
+    public double admit() {
+        double probability = probability(pending.incrementAndGet());
+        if (probability >= 1.0) {
+            return 1.0;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < probability) {
+            log.debug("Ingestion is overloaded, hit accepted with probability {}", probability);
+            return 1.0 / probability;
+        }
+        pending.decrementAndGet();
+        return 0;
+    }
+
+    /**
+     * Admits a batch as {@code hits.size()} pending hits and samples each hit on its own, so that a batch weighs as
+     * much as the single hits it replaces. The kept hits share one weight. Every batch with kept hits must be
+     * followed by {@link #complete(int)} with their number.
+     */
+    public <T> Batch<T> admit(List<T> hits) {
+        double probability = probability(pending.addAndGet(hits.size()));
+        if (probability >= 1.0) {
+            return new Batch<>(hits, 1.0);
+        }
+        List<T> kept = new ArrayList<>();
+        for (T hit : hits) {
+            if (ThreadLocalRandom.current().nextDouble() < probability) {
+                kept.add(hit);
+            }
+        }
+        pending.addAndGet(kept.size() - hits.size());
+        log.debug("Ingestion is overloaded, {} of {} hits accepted with probability {}", kept.size(), hits.size(),
+                probability);
+        return new Batch<>(kept, 1.0 / probability);
+    }
+
+    public void complete() {
+        pending.decrementAndGet();
+    }
+
+    public void complete(int hits) {
+        pending.addAndGet(-hits);
+    }
+
+    public double samplingProbability() {
+        return probability(pending.get());
+    }
+
+    private double probability(int queued) {
+        if (queued <= threshold) {
+            return 1.0;
+        }
+        return Math.max(minProbability, (double) threshold / queued);
+    }
+
+    public record Batch<T>(List<T> hits, double weight) {
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.ewm.live;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.ewm.exceptions.StatsOverloadedException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class LiveHitBroadcaster implements DisposableBean {
+    private final Map<String, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscription>> uriSubscriptions = new ConcurrentHashMap<>();
+    private final Set<Subscription> prefixSubscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final long tickMs;
+    private final long emitterTimeoutMs;
+    private final int maxSubscribers;
+
+    public LiveHitBroadcaster(@Value("${stats.stream.tick-ms:250}") long tickMs,
+                              @Value("${stats.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                              @Value("${stats.stream.max-subscribers:10000}") int maxSubscribers) {
+        this.tickMs = tickMs;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stats-stream-ticker")
+                .daemon().factory());
+        ticker.scheduleAtFixedRate(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void onHit(String uri, double weight) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        pendingDeltas.computeIfAbsent(uri, key -> new LongAdder()).add(Math.round(weight));
+    }
+
+    public SseEmitter subscribe(List<String> uris, String prefix, long intervalMs) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription subscription = register(uris, prefix, intervalMs, deltas -> emitter.send(SseEmitter.event()
+                .name("views")
+                .data(deltas, MediaType.APPLICATION_JSON)));
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(e -> unregister(subscription));
+        return emitter;
+    }
+
+    Subscription register(List<String> uris, String prefix, long intervalMs, DeltaSink sink) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new StatsOverloadedException("Too many live statistics subscribers, try again later");
+        }
+        int intervalTicks = (int) Math.max(1, intervalMs / tickMs);
+        Subscription subscription = new Subscription(Set.copyOf(uris), prefix, intervalTicks, sink);
+        subscriptions.add(subscription);
+        if (prefix != null) {
+            prefixSubscriptions.add(subscription);
+        }
+        for (String uri : subscription.uris) {
+            uriSubscriptions.computeIfAbsent(uri, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        log.debug("Live statistics subscriber registered, {} active", subscriptions.size());
+        return subscription;
+    }
+
+    void unregister(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        prefixSubscriptions.remove(subscription);
+        for (String uri : subscription.uris) {
+            uriSubscriptions.computeIfPresent(uri, (key, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    void tick() {
+        Map<String, Long> deltas = drainDeltas();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            Set<Subscription> exact = uriSubscriptions.get(delta.getKey());
+            if (exact != null) {
+                for (Subscription subscription : exact) {
+                    subscription.accumulate(delta.getKey(), delta.getValue());
+                }
+            }
+            for (Subscription subscription : prefixSubscriptions) {
+                if (delta.getKey().startsWith(subscription.prefix)) {
+                    subscription.accumulate(delta.getKey(), delta.getValue());
+                }
+            }
+        }
+        for (Subscription subscription : subscriptions) {
+            Map<String, Long> due = subscription.takeIfDue();
+            if (due != null) {
+                senders.execute(() -> deliver(subscription, due));
+            }
+        }
+    }
+
+    private Map<String, Long> drainDeltas() {
+        Map<String, Long> deltas = new HashMap<>();
+        pendingDeltas.forEach((uri, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(uri, delta);
+            } else {
+                pendingDeltas.remove(uri, adder);
+            }
+        });
+        return deltas;
+    }
+
+    private void deliver(Subscription subscription, Map<String, Long> deltas) {
+        try {
+            subscription.sink.send(deltas);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Live statistics subscriber dropped: {}", e.getMessage());
+            unregister(subscription);
+        } finally {
+            subscription.sending.set(false);
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("Live statistics tick failed", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface DeltaSink {
+        void send(Map<String, Long> deltas) throws IOException;
+    }
+
+    static final class Subscription {
+        private final Set<String> uris;
+        private final String prefix;
+        private final int intervalTicks;
+        private final DeltaSink sink;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private Map<String, Long> pending = new HashMap<>();
+        private int ticksLeft;
+
+        private Subscription(Set<String> uris, String prefix, int intervalTicks, DeltaSink sink) {
+            this.uris = uris;
+            this.prefix = prefix;
+            this.intervalTicks = intervalTicks;
+            this.sink = sink;
+            this.ticksLeft = intervalTicks;
+        }
+
+        private void accumulate(String uri, long delta) {
+            pending.merge(uri, delta, Long::sum);
+        }
+
+        private Map<String, Long> takeIfDue() {
+            if (--ticksLeft > 0) {
+                return null;
+            }
+            ticksLeft = intervalTicks;
+            if (pending.isEmpty() || !sending.compareAndSet(false, true)) {
+                return null;
+            }
+            Map<String, Long> due = pending;
+            pending = new HashMap<>();
+            return due;
+        }
+    }
+}
@@ -16,6 +16,9 @@ public class ViewStatsMapper implements RowMapper<ViewStats> {
                 .app(rs.getString("app"))
                 .uri(rs.getString("uri"))
                 .hits(rs.getLong("hits"))
+                .sampled(rs.getBoolean("sampled") ? Boolean.TRUE : null)
+                .entityType(rs.getString("entity_type"))
+                .entityId(rs.getObject("entity_id", Long.class))
                 .build();
     }
 }
\ No newline at end of file
@@ -9,6 +9,10 @@ import java.util.List;
 public interface StatsRepository {
     void saveHit(EndpointHit hit);
 
+    void saveSampledHit(EndpointHit hit, double weight);
+
+    void saveSampledHits(List<EndpointHit> hits, double weight);
+
     List<ViewStats> getStats(ViewsStatsRequest request);
 
     List<ViewStats> getUniqueStats(ViewsStatsRequest request);
@@ -1,53 +1,120 @@
 package ru.practicum.ewm.repository.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import ru.practicum.ewm.EndpointHit;
 import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.admission.StatsQueryAdmission;
 import ru.practicum.ewm.mapper.ViewStatsMapper;
 import ru.practicum.ewm.repository.StatsRepository;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "stats.storage.type", havingValue = "jdbc", matchIfMissing = true)
 public class StatsRepositoryImpl implements StatsRepository {
+    private static final String INSERT_HIT = "INSERT INTO stats (app, uri, ip, created, weight, entity_type, entity_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SAMPLED_COLUMN = "CASE WHEN MAX(weight) > 1 THEN TRUE ELSE FALSE END AS sampled ";
+
     private final JdbcTemplate jdbcTemplate;
     private final ViewStatsMapper viewStatsMapper;
+    private final StatsQueryAdmission queryAdmission;
 
     @Override
     public void saveHit(EndpointHit hit) {
-        jdbcTemplate.update("INSERT INTO stats (app, uri, ip, created) VALUES (?, ?, ?, ?)",
-                hit.getApp(), hit.getUri(), hit.getIp(), Timestamp.valueOf(hit.getTimestamp()));
+        saveSampledHit(hit, 1.0);
+    }
+
+    @Override
+    public void saveSampledHit(EndpointHit hit, double weight) {
+        jdbcTemplate.update(INSERT_HIT, insertParameters(hit, weight));
     }
 
+    @Override
+    public void saveSampledHits(List<EndpointHit> hits, double weight) {
+        jdbcTemplate.batchUpdate(INSERT_HIT, hits.stream()
+                .map(hit -> insertParameters(hit, weight))
+                .toList());
+    }
+
+    /**
+     * With an entity type in the request rows are grouped by (app, entity_type, entity_id) and filtered on the
+     * entity index; otherwise by (app, uri) as before.
+     */
     @Override
     public List<ViewStats> getStats(ViewsStatsRequest request) {
-        String query = "SELECT app, uri, COUNT (ip) AS hits FROM stats WHERE (created >= ? AND created <= ?) ";
-        if (!request.getUris().isEmpty()) {
-            query += createUrisQuery(request.getUris());
-        }
-        query += " GROUP BY app, uri ORDER BY hits DESC";
-        return jdbcTemplate.query(query, viewStatsMapper, request.getStart(), request.getEnd());
+        List<Object> parameters = new ArrayList<>();
+        String groupBy = groupBy(request);
+        String query = "SELECT " + selectKey(request) + ", CAST(ROUND(SUM(weight)) AS BIGINT) AS hits, "
+                + SAMPLED_COLUMN + "FROM stats WHERE " + where(request, parameters)
+                + " GROUP BY " + groupBy + " ORDER BY hits DESC";
+        return runQuery(request, query, parameters);
     }
 
     @Override
     public List<ViewStats> getUniqueStats(ViewsStatsRequest request) {
-        String query = "SELECT app, uri, COUNT (DISTINCT ip) AS hits FROM stats WHERE (created >= ? AND created <= ?) ";
-        if (!request.getUris().isEmpty()) {
-            query += createUrisQuery(request.getUris());
-        }
-        query += " GROUP BY app, uri ORDER BY hits DESC";
-        return jdbcTemplate.query(query, viewStatsMapper, request.getStart(), request.getEnd());
+        List<Object> parameters = new ArrayList<>();
+        String groupBy = groupBy(request);
+        String query = "SELECT " + selectKey(request) + ", CAST(ROUND(SUM(weight)) AS BIGINT) AS hits, "
+                + SAMPLED_COLUMN + "FROM (SELECT " + groupBy + ", " + (byEntity(request) ? "MIN(uri) AS uri, " : "")
+                + "ip, MAX(weight) AS weight FROM stats WHERE " + where(request, parameters)
+                + " GROUP BY " + groupBy + ", ip) AS visitors GROUP BY " + groupBy + " ORDER BY hits DESC";
+        return runQuery(request, query, parameters);
+    }
+
+    private List<ViewStats> runQuery(ViewsStatsRequest request, String query, List<Object> parameters) {
+        return queryAdmission.execute(request, template ->
+                template.query(query, viewStatsMapper, parameters.toArray()));
     }
 
+    private static Object[] insertParameters(EndpointHit hit, double weight) {
+        boolean entity = hit.getEntityType() != null && hit.getEntityId() != null;
+        return new Object[]{hit.getApp(), hit.getUri(), hit.getIp(), Timestamp.valueOf(hit.getTimestamp()), weight,
+                entity ? hit.getEntityType() : null, entity ? hit.getEntityId() : null};
+    }
+
+    private static boolean byEntity(ViewsStatsRequest request) {
+        return request.getEntityType() != null;
+    }
 
-    private String createUrisQuery(List<String> uris) {
-        StringBuilder result = new StringBuilder("AND uri IN ('");
-        result.append(String.join("', '", uris));
-        return result.append("') ").toString();
+    private static String groupBy(ViewsStatsRequest request) {
+        return byEntity(request) ? "app, entity_type, entity_id" : "app, uri";
+    }
+
+    private static String selectKey(ViewsStatsRequest request) {
+        return byEntity(request)
+                ? "app, MIN(uri) AS uri, entity_type, entity_id"
+                : "app, uri, NULL AS entity_type, NULL AS entity_id";
+    }
+
+    private static String where(ViewsStatsRequest request, List<Object> parameters) {
+        StringBuilder where = new StringBuilder("created >= ? AND created <= ?");
+        parameters.add(Timestamp.valueOf(request.getStart()));
+        parameters.add(Timestamp.valueOf(request.getEnd()));
+        if (byEntity(request)) {
+            where.append(" AND entity_type = ?");
+            parameters.add(request.getEntityType());
+            appendIn(where, "entity_id", request.getEntityIds(), parameters);
+        }
+        appendIn(where, "uri", request.getUris(), parameters);
+        return where.toString();
+    }
+
+    private static void appendIn(StringBuilder where, String column, List<?> values, List<Object> parameters) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        where.append(" AND ").append(column).append(" IN (")
+                .append(String.join(", ", Collections.nCopies(values.size(), "?")))
+                .append(')');
+        parameters.addAll(values);
     }
-}
\ No newline at end of file
+}
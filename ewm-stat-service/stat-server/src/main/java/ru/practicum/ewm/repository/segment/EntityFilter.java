@@ -0,0 +1,13 @@
+package ru.practicum.ewm.repository.segment;
+
+import java.util.Set;
+
+/**
+ * Restricts a scan to hits of one entity type and, when {@code ids} is not empty, to those entity ids.
+ */
+record EntityFilter(String type, Set<Long> ids) {
+
+    boolean matches(String entityType, long entityId) {
+        return type.equals(entityType) && (ids.isEmpty() || ids.contains(entityId));
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.ewm.repository.segment;
+
+@FunctionalInterface
+interface HitConsumer {
+    void accept(long timestamp, String app, String uri, String ip, double weight, String entityType, long entityId);
+}
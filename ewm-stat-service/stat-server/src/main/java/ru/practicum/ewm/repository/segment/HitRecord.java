@@ -0,0 +1,21 @@
+package ru.practicum.ewm.repository.segment;
+
+import ru.practicum.ewm.EndpointHit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+record HitRecord(long timestamp, String app, String uri, String ip, double weight, String entityType,
+                 long entityId) {
+    static final long NO_ENTITY = -1;
+
+    static HitRecord of(EndpointHit hit, double weight) {
+        boolean entity = hit.getEntityType() != null && hit.getEntityId() != null;
+        return new HitRecord(toMicros(hit.getTimestamp()), hit.getApp(), hit.getUri(), hit.getIp(), weight,
+                entity ? hit.getEntityType() : null, entity ? hit.getEntityId() : NO_ENTITY);
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,309 @@
+package ru.practicum.ewm.repository.segment;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, time-sorted segment file. Strings are dictionary encoded, timestamps are delta encoded,
+ * and every column is stored as a block of varints so that a scan only touches the bytes it decodes.
+ * Version 2 adds optional entity type and entity id columns and version 3 the {@link WalPosition} the segment
+ * covers; older files are still readable.
+ */
+final class Segment {
+    private static final int MAGIC = 0x45574d53;
+    private static final byte VERSION = 3;
+
+    private final Path path;
+    private final long sequence;
+    private final int rows;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final long[] replaces;
+    private final WalPosition walPosition;
+    private final String[] dictionary;
+    private final Map<String, Integer> dictionaryIndex;
+    private final ByteBuffer timestamps;
+    private final ByteBuffer apps;
+    private final ByteBuffer uris;
+    private final ByteBuffer ips;
+    private final ByteBuffer weights;
+    private final ByteBuffer entityTypes;
+    private final ByteBuffer entityIds;
+
+    private Segment(Path path, long sequence, ByteBuffer buffer) {
+        this.path = path;
+        this.sequence = sequence;
+        byte version = buffer.getInt() == MAGIC ? buffer.get() : 0;
+        if (version < 1 || version > VERSION) {
+            throw new IllegalStateException("Not a statistics segment: " + path);
+        }
+        rows = buffer.getInt();
+        minTimestamp = buffer.getLong();
+        maxTimestamp = buffer.getLong();
+        replaces = new long[buffer.getInt()];
+        for (int i = 0; i < replaces.length; i++) {
+            replaces[i] = buffer.getLong();
+        }
+        walPosition = version >= 3 ? new WalPosition(buffer.getLong(), buffer.getLong()) : WalPosition.NONE;
+        dictionary = new String[buffer.getInt()];
+        dictionaryIndex = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[readVarInt(buffer)];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            dictionaryIndex.put(dictionary[i], i);
+        }
+        timestamps = slice(buffer);
+        apps = slice(buffer);
+        uris = slice(buffer);
+        ips = slice(buffer);
+        weights = buffer.get() == 0 ? null : slice(buffer);
+        boolean entities = version >= 2 && buffer.get() != 0;
+        entityTypes = entities ? slice(buffer) : null;
+        entityIds = entities ? slice(buffer) : null;
+    }
+
+    static Segment open(Path path, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Segment(path, sequence, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the segment durably: the file is forced before it is renamed into place and the directory after.
+     */
+    static Segment write(Path path, long sequence, List<HitRecord> sortedRecords, long[] replaces,
+                         WalPosition walPosition) throws IOException {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        ByteArrayOutputStream timestampColumn = new ByteArrayOutputStream();
+        ByteArrayOutputStream appColumn = new ByteArrayOutputStream();
+        ByteArrayOutputStream uriColumn = new ByteArrayOutputStream();
+        ByteArrayOutputStream ipColumn = new ByteArrayOutputStream();
+        ByteBuffer weightColumn = ByteBuffer.allocate(sortedRecords.size() * Double.BYTES);
+        ByteArrayOutputStream entityTypeColumn = new ByteArrayOutputStream();
+        ByteArrayOutputStream entityIdColumn = new ByteArrayOutputStream();
+        boolean weighted = false;
+        boolean entities = false;
+
+        long minTimestamp = sortedRecords.get(0).timestamp();
+        long previous = minTimestamp;
+        for (HitRecord record : sortedRecords) {
+            writeVarLong(timestampColumn, record.timestamp() - previous);
+            previous = record.timestamp();
+            writeVarInt(appColumn, encode(record.app(), index, dictionary));
+            writeVarInt(uriColumn, encode(record.uri(), index, dictionary));
+            writeVarInt(ipColumn, encode(record.ip(), index, dictionary));
+            weightColumn.putDouble(record.weight());
+            weighted |= record.weight() != 1.0;
+            boolean entity = record.entityType() != null && record.entityId() != HitRecord.NO_ENTITY;
+            writeVarInt(entityTypeColumn, entity ? encode(record.entityType(), index, dictionary) + 1 : 0);
+            writeVarLong(entityIdColumn, entity ? record.entityId() + 1 : 0);
+            entities |= entity;
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        ByteBuffer fixed = ByteBuffer.allocate(Integer.BYTES * 3 + 1 + Long.BYTES * (4 + replaces.length))
+                .putInt(MAGIC)
+                .put(VERSION)
+                .putInt(sortedRecords.size())
+                .putLong(minTimestamp)
+                .putLong(previous)
+                .putInt(replaces.length);
+        for (long replaced : replaces) {
+            fixed.putLong(replaced);
+        }
+        fixed.putLong(walPosition.generation()).putLong(walPosition.offset());
+        header.write(fixed.array());
+        header.write(ByteBuffer.allocate(Integer.BYTES).putInt(dictionary.size()).array());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(header, bytes.length);
+            header.write(bytes);
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+            header.writeTo(out);
+            writeBlock(out, timestampColumn.toByteArray());
+            writeBlock(out, appColumn.toByteArray());
+            writeBlock(out, uriColumn.toByteArray());
+            writeBlock(out, ipColumn.toByteArray());
+            out.write(weighted ? 1 : 0);
+            if (weighted) {
+                writeBlock(out, weightColumn.array());
+            }
+            out.write(entities ? 1 : 0);
+            if (entities) {
+                writeBlock(out, entityTypeColumn.toByteArray());
+                writeBlock(out, entityIdColumn.toByteArray());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path.getParent());
+        return open(path, sequence);
+    }
+
+    /**
+     * Forces the directory entries of files created or renamed in {@code directory} to disk.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    boolean overlaps(long from, long to) {
+        return minTimestamp <= to && maxTimestamp >= from;
+    }
+
+    boolean containsAny(Collection<String> values) {
+        for (String value : values) {
+            if (dictionaryIndex.containsKey(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void scan(long from, long to, Set<String> uriFilter, EntityFilter entityFilter, HitConsumer consumer) {
+        if (!overlaps(from, to) || (!uriFilter.isEmpty() && !containsAny(uriFilter))) {
+            return;
+        }
+        if (entityFilter != null && (entityTypes == null || !dictionaryIndex.containsKey(entityFilter.type()))) {
+            return;
+        }
+        boolean[] allowedUris = null;
+        if (!uriFilter.isEmpty()) {
+            allowedUris = new boolean[dictionary.length];
+            for (String uri : uriFilter) {
+                Integer id = dictionaryIndex.get(uri);
+                if (id != null) {
+                    allowedUris[id] = true;
+                }
+            }
+        }
+        ByteBuffer timestampCursor = timestamps.duplicate();
+        ByteBuffer appCursor = apps.duplicate();
+        ByteBuffer uriCursor = uris.duplicate();
+        ByteBuffer ipCursor = ips.duplicate();
+        ByteBuffer weightCursor = weights == null ? null : weights.duplicate();
+        ByteBuffer entityTypeCursor = entityTypes == null ? null : entityTypes.duplicate();
+        ByteBuffer entityIdCursor = entityIds == null ? null : entityIds.duplicate();
+        long timestamp = minTimestamp;
+        for (int row = 0; row < rows; row++) {
+            timestamp += readVarLong(timestampCursor);
+            int app = readVarInt(appCursor);
+            int uri = readVarInt(uriCursor);
+            int ip = readVarInt(ipCursor);
+            double weight = weightCursor == null ? 1.0 : weightCursor.getDouble();
+            int entityType = entityTypeCursor == null ? 0 : readVarInt(entityTypeCursor);
+            long entityId = entityIdCursor == null ? HitRecord.NO_ENTITY : readVarLong(entityIdCursor) - 1;
+            if (timestamp > to) {
+                return;
+            }
+            String entityTypeName = entityType == 0 ? null : dictionary[entityType - 1];
+            if (timestamp >= from && (allowedUris == null || allowedUris[uri])
+                    && (entityFilter == null || entityFilter.matches(entityTypeName, entityId))) {
+                consumer.accept(timestamp, dictionary[app], dictionary[uri], dictionary[ip], weight, entityTypeName,
+                        entityId);
+            }
+        }
+    }
+
+    void readAll(List<HitRecord> target) {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, Set.of(), null, (timestamp, app, uri, ip, weight, entityType, entityId) ->
+                target.add(new HitRecord(timestamp, app, uri, ip, weight, entityType, entityId)));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long[] replaces() {
+        return replaces;
+    }
+
+    WalPosition walPosition() {
+        return walPosition;
+    }
+
+    private static int encode(String value, Map<String, Integer> index, List<String> dictionary) {
+        return index.computeIfAbsent(value, key -> {
+            dictionary.add(key);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer slice = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    private static void writeBlock(OutputStream out, byte[] block) throws IOException {
+        out.write(ByteBuffer.allocate(Integer.BYTES).putInt(block.length).array());
+        out.write(block);
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,277 @@
+package ru.practicum.ewm.repository.segment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.repository.StatsRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stats.storage.type", havingValue = "segment")
+public class SegmentStatsRepository implements StatsRepository, DisposableBean {
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int flushRows;
+    private final int compactionMinSegments;
+    private final int compactionTargetRows;
+    private final Object lock = new Object();
+    private final WriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService maintenance;
+
+    private List<HitRecord> memtable = new ArrayList<>();
+    private volatile List<Segment> segments = List.of();
+    private long nextSequence;
+
+    public SegmentStatsRepository(@Value("${stats.storage.segment.directory:stats-data}") String directory,
+                                  @Value("${stats.storage.segment.flush-rows:100000}") int flushRows,
+                                  @Value("${stats.storage.segment.flush-interval-ms:10000}") long flushIntervalMs,
+                                  @Value("${stats.storage.segment.compaction-interval-ms:60000}")
+                                  long compactionIntervalMs,
+                                  @Value("${stats.storage.segment.compaction-min-segments:4}") int compactionMinSegments,
+                                  @Value("${stats.storage.segment.compaction-target-rows:1000000}")
+                                  int compactionTargetRows) throws IOException {
+        this.directory = Path.of(directory);
+        this.flushRows = flushRows;
+        this.compactionMinSegments = compactionMinSegments;
+        this.compactionTargetRows = compactionTargetRows;
+        Files.createDirectories(this.directory);
+        loadSegments();
+        writeAheadLog = new WriteAheadLog(this.directory.resolve("hits.wal"));
+        List<HitRecord> replayed = writeAheadLog.replay(segments.stream()
+                .map(Segment::walPosition)
+                .reduce(WalPosition.NONE, WalPosition::max));
+        if (!replayed.isEmpty()) {
+            memtable.addAll(replayed);
+            flush();
+        } else {
+            writeAheadLog.reset();
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stats-segment-maintenance")
+                .daemon().factory());
+        maintenance.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::compactQuietly, compactionIntervalMs, compactionIntervalMs,
+                TimeUnit.MILLISECONDS);
+        log.info("Segment statistics storage opened in {} with {} segments", this.directory, segments.size());
+    }
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        saveSampledHit(hit, 1.0);
+    }
+
+    @Override
+    public void saveSampledHit(EndpointHit hit, double weight) {
+        HitRecord record = HitRecord.of(hit, weight);
+        try {
+            long ticket;
+            synchronized (lock) {
+                ticket = writeAheadLog.append(record);
+                memtable.add(record);
+                if (memtable.size() >= flushRows) {
+                    flush();
+                }
+            }
+            writeAheadLog.sync(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store hit", e);
+        }
+    }
+
+    @Override
+    public void saveSampledHits(List<EndpointHit> hits, double weight) {
+        try {
+            long ticket = 0;
+            synchronized (lock) {
+                for (EndpointHit hit : hits) {
+                    HitRecord record = HitRecord.of(hit, weight);
+                    ticket = writeAheadLog.append(record);
+                    memtable.add(record);
+                }
+                if (memtable.size() >= flushRows) {
+                    flush();
+                }
+            }
+            writeAheadLog.sync(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store hits", e);
+        }
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        return query(request, false);
+    }
+
+    @Override
+    public List<ViewStats> getUniqueStats(ViewsStatsRequest request) {
+        return query(request, true);
+    }
+
+    public void flush() throws IOException {
+        synchronized (lock) {
+            if (memtable.isEmpty()) {
+                return;
+            }
+            List<HitRecord> records = memtable;
+            records.sort(Comparator.comparingLong(HitRecord::timestamp));
+            Segment segment = writeSegment(nextSequence++, records, new long[0], writeAheadLog.position());
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            updated.sort(Comparator.comparingLong(Segment::minTimestamp));
+            segments = List.copyOf(updated);
+            memtable = new ArrayList<>();
+            writeAheadLog.reset();
+        }
+    }
+
+    public void compact() throws IOException {
+        List<Segment> candidates = new ArrayList<>();
+        int rows = 0;
+        for (Segment segment : segments) {
+            if (segment.rows() < compactionTargetRows && rows + segment.rows() <= compactionTargetRows) {
+                candidates.add(segment);
+                rows += segment.rows();
+            }
+        }
+        if (candidates.size() < compactionMinSegments) {
+            return;
+        }
+        List<HitRecord> records = new ArrayList<>(rows);
+        for (Segment segment : candidates) {
+            segment.readAll(records);
+        }
+        records.sort(Comparator.comparingLong(HitRecord::timestamp));
+        long[] replaced = candidates.stream().mapToLong(Segment::sequence).toArray();
+        WalPosition walPosition = candidates.stream()
+                .map(Segment::walPosition)
+                .reduce(WalPosition.NONE, WalPosition::max);
+        long sequence;
+        synchronized (lock) {
+            sequence = nextSequence++;
+        }
+        Segment merged = writeSegment(sequence, records, replaced, walPosition);
+        synchronized (lock) {
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.removeAll(candidates);
+            updated.add(merged);
+            updated.sort(Comparator.comparingLong(Segment::minTimestamp));
+            segments = List.copyOf(updated);
+        }
+        for (Segment segment : candidates) {
+            Files.deleteIfExists(segment.path());
+        }
+        log.debug("Compacted {} segments with {} hits into {}", candidates.size(), rows, merged.path());
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private List<ViewStats> query(ViewsStatsRequest request, boolean unique) {
+        long from = HitRecord.toMicros(request.getStart());
+        long to = HitRecord.toMicros(request.getEnd());
+        Set<String> uris = request.getUris() == null ? Set.of() : new HashSet<>(request.getUris());
+        EntityFilter entityFilter = request.getEntityType() == null ? null : new EntityFilter(request.getEntityType(),
+                request.getEntityIds() == null ? Set.of() : new HashSet<>(request.getEntityIds()));
+        List<Segment> segmentSnapshot;
+        HitRecord[] memtableSnapshot;
+        synchronized (lock) {
+            segmentSnapshot = segments;
+            memtableSnapshot = memtable.toArray(new HitRecord[0]);
+        }
+        StatsAggregator aggregator = new StatsAggregator(unique, entityFilter != null);
+        for (Segment segment : segmentSnapshot) {
+            segment.scan(from, to, uris, entityFilter, aggregator);
+        }
+        for (HitRecord record : memtableSnapshot) {
+            if (record.timestamp() >= from && record.timestamp() <= to
+                    && (uris.isEmpty() || uris.contains(record.uri()))
+                    && (entityFilter == null || entityFilter.matches(record.entityType(), record.entityId()))) {
+                aggregator.accept(record.timestamp(), record.app(), record.uri(), record.ip(), record.weight(),
+                        record.entityType(), record.entityId());
+            }
+        }
+        return aggregator.result();
+    }
+
+    private Segment writeSegment(long sequence, List<HitRecord> records, long[] replaces, WalPosition walPosition)
+            throws IOException {
+        return Segment.write(directory.resolve(String.format("segment-%019d%s", sequence, SEGMENT_SUFFIX)), sequence,
+                records, replaces, walPosition);
+    }
+
+    private void loadSegments() throws IOException {
+        List<Segment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.startsWith("segment-") && name.endsWith(SEGMENT_SUFFIX)) {
+                    long sequence = Long.parseLong(name.substring("segment-".length(),
+                            name.length() - SEGMENT_SUFFIX.length()));
+                    loaded.add(Segment.open(file, sequence));
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                }
+            }
+        }
+        Set<Long> replaced = new HashSet<>();
+        for (Segment segment : loaded) {
+            Arrays.stream(segment.replaces()).forEach(replaced::add);
+        }
+        List<Segment> live = new ArrayList<>();
+        for (Segment segment : loaded) {
+            if (replaced.contains(segment.sequence())) {
+                Files.deleteIfExists(segment.path());
+            } else {
+                live.add(segment);
+            }
+        }
+        live.sort(Comparator.comparingLong(Segment::minTimestamp));
+        segments = List.copyOf(live);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to flush statistics memtable", e);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to compact statistics segments", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        maintenance.shutdownNow();
+        flush();
+        writeAheadLog.close();
+    }
+}
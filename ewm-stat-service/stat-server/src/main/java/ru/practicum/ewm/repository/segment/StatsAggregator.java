@@ -0,0 +1,65 @@
+package ru.practicum.ewm.repository.segment;
+
+import ru.practicum.ewm.ViewStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class StatsAggregator implements HitConsumer {
+    private final boolean unique;
+    private final boolean byEntity;
+    private final Map<Key, Aggregate> aggregates = new HashMap<>();
+
+    StatsAggregator(boolean unique, boolean byEntity) {
+        this.unique = unique;
+        this.byEntity = byEntity;
+    }
+
+    @Override
+    public void accept(long timestamp, String app, String uri, String ip, double weight, String entityType,
+                      long entityId) {
+        Key key = byEntity ? new Key(app, null, entityType, entityId) : new Key(app, uri, null, HitRecord.NO_ENTITY);
+        Aggregate aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate());
+        if (byEntity && (aggregate.uri == null || uri.compareTo(aggregate.uri) < 0)) {
+            aggregate.uri = uri;
+        }
+        aggregate.maxWeight = Math.max(aggregate.maxWeight, weight);
+        if (unique) {
+            aggregate.visitors.merge(ip, weight, Math::max);
+        } else {
+            aggregate.total += weight;
+        }
+    }
+
+    List<ViewStats> result() {
+        List<ViewStats> result = new ArrayList<>(aggregates.size());
+        aggregates.forEach((key, aggregate) -> {
+            double hits = unique
+                    ? aggregate.visitors.values().stream().mapToDouble(Double::doubleValue).sum()
+                    : aggregate.total;
+            result.add(ViewStats.builder()
+                    .app(key.app())
+                    .uri(byEntity ? aggregate.uri : key.uri())
+                    .hits(Math.round(hits))
+                    .sampled(aggregate.maxWeight > 1.0 ? Boolean.TRUE : null)
+                    .entityType(key.entityType())
+                    .entityId(byEntity ? key.entityId() : null)
+                    .build());
+        });
+        result.sort(Comparator.comparing(ViewStats::getHits).reversed());
+        return result;
+    }
+
+    private record Key(String app, String uri, String entityType, long entityId) {
+    }
+
+    private static final class Aggregate {
+        private final Map<String, Double> visitors = new HashMap<>();
+        private double total;
+        private double maxWeight;
+        private String uri;
+    }
+}
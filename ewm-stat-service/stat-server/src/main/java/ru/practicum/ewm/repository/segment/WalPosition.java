@@ -0,0 +1,24 @@
+package ru.practicum.ewm.repository.segment;
+
+import java.util.Comparator;
+
+/**
+ * End of the write-ahead log content that a segment already holds: the generation of the log file and the byte
+ * offset in it. Generation 0 stands for logs and segments written before positions were recorded, so it covers
+ * nothing.
+ */
+record WalPosition(long generation, long offset) implements Comparable<WalPosition> {
+    static final WalPosition NONE = new WalPosition(0, 0);
+
+    private static final Comparator<WalPosition> ORDER = Comparator.comparingLong(WalPosition::generation)
+            .thenComparingLong(WalPosition::offset);
+
+    @Override
+    public int compareTo(WalPosition other) {
+        return ORDER.compare(this, other);
+    }
+
+    static WalPosition max(WalPosition first, WalPosition second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.ewm.repository.segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hits not yet flushed to a segment. Files start with {@link #MAGIC} and a generation that grows with every reset,
+ * so that a segment can record how much of the log it holds; files with {@link #MAGIC_V2} have no generation and
+ * files without a header are in the original format, which has no entity fields. Both are still replayed in full.
+ * Appends are written through at once and are durable after {@link #sync(long)}, which concurrent writers share.
+ */
+@Slf4j
+class WriteAheadLog implements Closeable {
+    private static final int MAGIC = 0x57414c33;
+    private static final int MAGIC_V2 = 0x57414c32;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private DataOutputStream out;
+    private long generation;
+    private long offset;
+    private volatile long appended;
+    private long synced;
+
+    WriteAheadLog(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads the hits of the log that are not covered by {@code covered}, the latest position held by a segment.
+     * Must be called before the first {@link #reset()}.
+     */
+    List<HitRecord> replay(WalPosition covered) throws IOException {
+        List<HitRecord> records = new ArrayList<>();
+        generation = covered.generation();
+        offset = covered.offset();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            in.mark(Integer.BYTES);
+            int magic = in.readInt();
+            boolean withEntities = magic == MAGIC || magic == MAGIC_V2;
+            if (!withEntities) {
+                in.reset();
+            } else if (magic == MAGIC) {
+                long fileGeneration = in.readLong();
+                if (fileGeneration < covered.generation()) {
+                    log.info("Skipped {}, its hits are already in segments", path);
+                    return records;
+                } else if (fileGeneration == covered.generation()) {
+                    in.skipNBytes(covered.offset() - HEADER_BYTES);
+                }
+                generation = fileGeneration;
+                offset = Files.size(path);
+            }
+            while (true) {
+                long timestamp = in.readLong();
+                String app = in.readUTF();
+                String uri = in.readUTF();
+                String ip = in.readUTF();
+                double weight = in.readDouble();
+                String entityType = withEntities ? in.readUTF() : "";
+                long entityId = withEntities ? in.readLong() : HitRecord.NO_ENTITY;
+                records.add(new HitRecord(timestamp, app, uri, ip, weight, entityType.isEmpty() ? null : entityType,
+                        entityId));
+            }
+        } catch (EOFException e) {
+            log.debug("Replayed {} hits from {}", records.size(), path);
+        }
+        return records;
+    }
+
+    /**
+     * Writes the hit through to the log file and returns a ticket to pass to {@link #sync(long)}.
+     */
+    long append(HitRecord record) throws IOException {
+        out.writeLong(record.timestamp());
+        out.writeUTF(record.app());
+        out.writeUTF(record.uri());
+        out.writeUTF(record.ip());
+        out.writeDouble(record.weight());
+        out.writeUTF(record.entityType() == null ? "" : record.entityType());
+        out.writeLong(record.entityId());
+        out.flush();
+        offset = channel.position();
+        return ++appended;
+    }
+
+    /**
+     * Forces the log to disk unless a concurrent call has already forced it past {@code ticket}, so that writers
+     * waiting at the same time share one fsync.
+     */
+    void sync(long ticket) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= ticket) {
+                return;
+            }
+            long target = appended;
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    /**
+     * Position of the end of the log, to be recorded in a segment that holds all of its hits.
+     */
+    WalPosition position() {
+        return new WalPosition(generation, offset);
+    }
+
+    /**
+     * Starts an empty log of the next generation. Callers must have made the hits of the current one durable
+     * elsewhere, as pending {@link #sync(long)} calls return without forcing the old file.
+     */
+    void reset() throws IOException {
+        synchronized (syncLock) {
+            if (out != null) {
+                out.close();
+            }
+            Files.deleteIfExists(path);
+            generation++;
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeLong(generation);
+            out.flush();
+            channel.force(true);
+            Segment.syncDirectory(path.getParent());
+            offset = HEADER_BYTES;
+            synced = appended;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+}
@@ -9,5 +9,7 @@ import java.util.List;
 public interface StatsService {
     void saveHit(EndpointHit hit);
 
+    void saveHits(List<EndpointHit> hits);
+
     List<ViewStats> getViewStatsList(ViewsStatsRequest request);
 }
\ No newline at end of file
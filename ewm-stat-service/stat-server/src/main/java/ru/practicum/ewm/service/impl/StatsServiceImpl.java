@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 import ru.practicum.ewm.EndpointHit;
 import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.ingest.IngestSampler;
+import ru.practicum.ewm.live.LiveHitBroadcaster;
 import ru.practicum.ewm.repository.StatsRepository;
 import ru.practicum.ewm.service.StatsService;
 
@@ -14,10 +16,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
     private final StatsRepository statRepository;
+    private final IngestSampler ingestSampler;
+    private final LiveHitBroadcaster liveHitBroadcaster;
 
     @Override
     public void saveHit(EndpointHit hit) {
-        statRepository.saveHit(hit);
+        double weight = ingestSampler.admit();
+        if (weight == 0) {
+            return;
+        }
+        try {
+            if (weight > 1.0) {
+                statRepository.saveSampledHit(hit, weight);
+            } else {
+                statRepository.saveHit(hit);
+            }
+            liveHitBroadcaster.onHit(hit.getUri(), weight);
+        } finally {
+            ingestSampler.complete();
+        }
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        IngestSampler.Batch<EndpointHit> admitted = ingestSampler.admit(hits);
+        if (admitted.hits().isEmpty()) {
+            return;
+        }
+        try {
+            statRepository.saveSampledHits(admitted.hits(), admitted.weight());
+            admitted.hits().forEach(hit -> liveHitBroadcaster.onHit(hit.getUri(), admitted.weight()));
+        } finally {
+            ingestSampler.complete(admitted.hits().size());
+        }
     }
 
     @Override
@@ -0,0 +1,38 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.LocalStatsEndpoint;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.service.StatsService;
+
+import java.util.List;
+
+/**
+ * Lets the in-process transport of stat-client call {@link StatsService} directly when both are packaged into one
+ * application with {@code stats-client.transport=in-process}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stats-client.transport", havingValue = "in-process")
+public class StatsServiceLocalEndpoint implements LocalStatsEndpoint {
+    private final StatsService statsService;
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        statsService.saveHit(hit);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHit> hits) {
+        statsService.saveHits(hits);
+    }
+
+    @Override
+    public List<ViewStats> getViewStatsList(ViewsStatsRequest request) {
+        return statsService.getViewStatsList(request);
+    }
+}
@@ -6,5 +6,12 @@ CREATE TABLE IF NOT EXISTS STATS
     app     VARCHAR(255) NOT NULL,
     uri     VARCHAR(255) NOT NULL,
     ip      VARCHAR(255) NOT NULL,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-    );
\ No newline at end of file
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    weight  DOUBLE PRECISION DEFAULT 1 NOT NULL,
+    entity_type VARCHAR(64),
+    entity_id   BIGINT
+    );
+
+CREATE INDEX IF NOT EXISTS stats_created_idx ON stats (created);
+CREATE INDEX IF NOT EXISTS stats_uri_created_idx ON stats (uri, created);
+CREATE INDEX IF NOT EXISTS stats_entity_created_idx ON stats (entity_type, entity_id, created);
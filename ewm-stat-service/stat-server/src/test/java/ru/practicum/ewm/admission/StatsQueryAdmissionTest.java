@@ -0,0 +1,101 @@
+package ru.practicum.ewm.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.exceptions.QueryCostExceededException;
+import ru.practicum.ewm.exceptions.StatsOverloadedException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatsQueryAdmissionTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StatsQueryCostEstimator costEstimator;
+
+    private StatsQueryAdmission admission;
+    private ViewsStatsRequest request;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1");
+        properties.setUsername("sa");
+        properties.afterPropertiesSet();
+
+        admission = new StatsQueryAdmission(jdbcTemplate, costEstimator, properties,
+                4, 2, 1, 5, 100, 1000, 10);
+        request = ViewsStatsRequest.builder()
+                .start(LocalDateTime.of(2020, 1, 1, 0, 0, 0))
+                .end(LocalDateTime.of(2024, 1, 1, 0, 0, 0))
+                .uris(List.of())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        admission.destroy();
+    }
+
+    @Test
+    void execute_WhenCostIsLow_ShouldUseRegularPool() {
+        when(costEstimator.estimate(any(ViewsStatsRequest.class))).thenReturn(10L);
+
+        JdbcTemplate used = admission.execute(request, template -> template);
+
+        assertSame(jdbcTemplate, used);
+    }
+
+    @Test
+    void execute_WhenCostIsHigh_ShouldUseHeavyPoolWithTimeout() {
+        when(costEstimator.estimate(any(ViewsStatsRequest.class))).thenReturn(500L);
+
+        JdbcTemplate used = admission.execute(request, template -> template);
+
+        assertNotSame(jdbcTemplate, used);
+        assertEquals(5, used.getQueryTimeout());
+    }
+
+    @Test
+    void execute_WhenCostExceedsBudget_ShouldReject() {
+        when(costEstimator.estimate(any(ViewsStatsRequest.class))).thenReturn(5000L);
+
+        assertThrows(QueryCostExceededException.class, () -> admission.execute(request, template -> template));
+    }
+
+    @Test
+    void execute_WhenHeavyPoolIsBusy_ShouldReject() {
+        when(costEstimator.estimate(any(ViewsStatsRequest.class))).thenReturn(500L);
+
+        assertThrows(StatsOverloadedException.class, () -> admission.execute(request, template ->
+                admission.execute(request, nested -> nested)));
+    }
+
+    @Test
+    void execute_WhenQueryTimesOut_ShouldReportOverload() {
+        when(costEstimator.estimate(any(ViewsStatsRequest.class))).thenReturn(500L);
+
+        assertThrows(StatsOverloadedException.class, () -> admission.execute(request, template -> {
+            throw new QueryTimeoutException("timeout");
+        }));
+    }
+}
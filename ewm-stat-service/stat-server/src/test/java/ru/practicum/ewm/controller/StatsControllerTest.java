@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.ewm.EndpointHit;
@@ -13,19 +14,28 @@ import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.ViewsStatsRequest;
 import ru.practicum.ewm.service.StatsService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(StatsController.class)
+@WebMvcTest(controllers = StatsController.class, properties = "stats.ingest.max-body-bytes=4096")
 class StatsControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -74,6 +84,51 @@ class StatsControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void hits_ShouldSaveBatch() throws Exception {
+        mockMvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(endpointHit, endpointHit))))
+                .andExpect(status().isCreated());
+
+        verify(statsService).saveHits(anyList());
+    }
+
+    @Test
+    void hits_WithGzipBody_ShouldSaveInflatedBatch() throws Exception {
+        mockMvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip(objectMapper.writeValueAsString(List.of(endpointHit, endpointHit)))))
+                .andExpect(status().isCreated());
+
+        verify(statsService).saveHits(argThat(hits -> hits.size() == 2));
+    }
+
+    @Test
+    void hits_WhenInflatedBodyExceedsLimit_ShouldReturnPayloadTooLarge() throws Exception {
+        byte[] body = gzip(objectMapper.writeValueAsString(Collections.nCopies(100, endpointHit)));
+
+        mockMvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge());
+
+        verify(statsService, never()).saveHits(anyList());
+    }
+
+    @Test
+    void hits_WithCorruptGzipBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(objectMapper.writeValueAsString(List.of(endpointHit))))
+                .andExpect(status().isBadRequest());
+
+        verify(statsService, never()).saveHits(anyList());
+    }
+
     @Test
     void getStats_ShouldReturnOkStatus() throws Exception {
         List<ViewStats> stats = List.of(viewStats);
@@ -91,6 +146,30 @@ class StatsControllerTest {
                 .andExpect(jsonPath("$[0].hits").value(viewStats.getHits()));
     }
 
+    @Test
+    void getStats_WithEntityIds_ShouldPassEntityFilter() throws Exception {
+        when(statsService.getViewStatsList(any(ViewsStatsRequest.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/stats")
+                        .param("start", startStr)
+                        .param("end", endStr)
+                        .param("entityType", "event")
+                        .param("entityIds", "1,2"))
+                .andExpect(status().isOk());
+
+        verify(statsService).getViewStatsList(argThat(request -> "event".equals(request.getEntityType())
+                && List.of(1L, 2L).equals(request.getEntityIds())));
+    }
+
+    @Test
+    void getStats_WithEntityIdsButNoEntityType_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/stats")
+                        .param("start", startStr)
+                        .param("end", endStr)
+                        .param("entityIds", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void hit_WithMinimalData_ShouldReturnCreatedStatus() throws Exception {
         EndpointHit minimalHit = EndpointHit.builder()
@@ -119,4 +198,12 @@ class StatsControllerTest {
                         .param("end", endStr))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.ewm.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.ewm.exceptions.RequestBodyTooLargeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GzipRequestFilterTest {
+    private static final String BODY = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/1\"}]";
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(1 << 20);
+
+    @Test
+    void blockingRead_ShouldInflateBody() throws Exception {
+        ServletRequest inflated = filter(new MockHttpServletRequest("POST", "/hit/batch"));
+
+        assertEquals(BODY, new String(inflated.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readListener_ShouldBeServedInflatedBodyAfterCompressedOneArrived() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hit/batch") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new NonBlockingInputStream(super.getContentAsByteArray());
+            }
+        };
+        ServletInputStream body = filter(request).getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        body.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                int read;
+                while (body.isReady() && (read = body.read(buffer)) >= 0) {
+                    received.write(buffer, 0, read);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                throw new AssertionError(error);
+            }
+        });
+
+        assertTrue(allRead.get());
+        assertTrue(body.isFinished());
+        assertEquals(BODY, received.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readListener_WhenCompressedBodyExceedsLimit_ShouldFailWithoutBufferingIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hit/batch") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new NonBlockingInputStream(super.getContentAsByteArray());
+            }
+        };
+        ServletInputStream body = filter(new GzipRequestFilter(16), request).getInputStream();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        body.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                throw new AssertionError("Body over the limit must not be served");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                failure.set(error);
+            }
+        });
+
+        assertInstanceOf(RequestBodyTooLargeException.class, failure.get());
+        assertFalse(allRead.get());
+    }
+
+    private ServletRequest filter(MockHttpServletRequest request) throws Exception {
+        return filter(filter, request);
+    }
+
+    private static ServletRequest filter(GzipRequestFilter filter, MockHttpServletRequest request) throws Exception {
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(gzip(BODY));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest();
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Delivers its content a few bytes per callback, like a container reading a request without blocking, and stops
+     * calling back when a listener leaves them unread.
+     */
+    private static final class NonBlockingInputStream extends ServletInputStream {
+        private final ByteArrayInputStream content;
+        private int availableNow;
+
+        private NonBlockingInputStream(byte[] content) {
+            this.content = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() {
+            availableNow--;
+            return content.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int read = content.read(buffer, offset, Math.min(length, availableNow));
+            availableNow -= Math.max(read, 0);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return content.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return availableNow > 0;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                while (!isFinished()) {
+                    availableNow = 5;
+                    readListener.onDataAvailable();
+                    if (availableNow == 5) {
+                        return;
+                    }
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.ewm.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestSamplerTest {
+
+    @Test
+    void admit_BelowThreshold_ShouldAcceptEveryHitWithUnitWeight() {
+        IngestSampler sampler = new IngestSampler(2, 0.1, new SimpleMeterRegistry());
+
+        assertEquals(1.0, sampler.admit());
+        assertEquals(1.0, sampler.admit());
+        assertEquals(1.0, sampler.samplingProbability());
+    }
+
+    @Test
+    void admit_AboveThreshold_ShouldSampleWithInverseProbabilityWeight() {
+        IngestSampler sampler = new IngestSampler(2, 0.1, new SimpleMeterRegistry());
+        sampler.admit();
+        sampler.admit();
+
+        for (int i = 0; i < 100; i++) {
+            double weight = sampler.admit();
+            assertTrue(weight == 0 || weight == 1.5, "unexpected weight " + weight);
+            if (weight > 0) {
+                sampler.complete();
+            }
+        }
+        assertEquals(1.0, sampler.samplingProbability());
+    }
+
+    @Test
+    void admitBatch_ShouldCountEveryHitAsPending() {
+        IngestSampler sampler = new IngestSampler(4, 0.1, new SimpleMeterRegistry());
+
+        IngestSampler.Batch<Integer> first = sampler.admit(List.of(1, 2, 3, 4));
+
+        assertEquals(4, first.hits().size());
+        assertEquals(1.0, first.weight());
+
+        IngestSampler.Batch<Integer> second = sampler.admit(List.of(5, 6, 7, 8));
+
+        assertEquals(2.0, second.weight());
+        assertTrue(second.hits().size() <= 4);
+        sampler.complete(first.hits().size() + second.hits().size());
+        assertEquals(1.0, sampler.samplingProbability());
+    }
+
+    @Test
+    void samplingProbability_ShouldNotDropBelowMinimum() {
+        IngestSampler sampler = new IngestSampler(1, 0.25, new SimpleMeterRegistry());
+        int admitted = 0;
+        while (admitted < 20) {
+            if (sampler.admit() > 0) {
+                admitted++;
+            }
+        }
+
+        assertEquals(0.25, sampler.samplingProbability());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.ewm.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -14,12 +16,17 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.LocalStatsEndpoint;
+import ru.practicum.ewm.StatsClient;
 import ru.practicum.ewm.ViewStats;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -37,6 +44,12 @@ public class StatsServiceIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private String baseUrl;
 
@@ -51,6 +64,12 @@ public class StatsServiceIntegrationTest {
         jdbcTemplate.update("DELETE FROM stats");
     }
 
+    @Test
+    void context_ShouldNotStartStatsClientOfItsOwn() {
+        assertTrue(context.getBeansOfType(StatsClient.class).isEmpty());
+        assertTrue(context.getBeansOfType(LocalStatsEndpoint.class).isEmpty());
+    }
+
     @Test
     void saveAndRetrieveStats() {
         LocalDateTime now = LocalDateTime.now();
@@ -184,6 +203,38 @@ public class StatsServiceIntegrationTest {
         assertEquals(1L, stats[0].getHits());
     }
 
+    @Test
+    void saveGzippedBatch() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<EndpointHit> hits = List.of(
+                EndpointHit.builder().app("ewm-main-service").uri("/events/1").ip("192.168.1.1").timestamp(now).build(),
+                EndpointHit.builder().app("ewm-main-service").uri("/events/1").ip("192.168.1.2").timestamp(now).build(),
+                EndpointHit.builder().app("ewm-main-service").uri("/events/2").ip("192.168.1.1").timestamp(now).build()
+        );
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write(objectMapper.writeValueAsBytes(hits));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        ResponseEntity<Void> response = restTemplate.postForEntity(baseUrl + "/hit/batch",
+                new HttpEntity<>(body.toByteArray(), headers), Void.class);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        ResponseEntity<ViewStats[]> getResponse = restTemplate.getForEntity(
+                baseUrl + "/stats?start={start}&end={end}&unique=false",
+                ViewStats[].class,
+                now.minusDays(1).format(formatter),
+                now.plusDays(1).format(formatter)
+        );
+        assertNotNull(getResponse.getBody());
+        assertEquals(2, getResponse.getBody().length);
+        assertEquals("/events/1", getResponse.getBody()[0].getUri());
+        assertEquals(2L, getResponse.getBody()[0].getHits());
+    }
+
     @Test
     void handleInvalidDateRange() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,96 @@
+package ru.practicum.ewm.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.ViewStats;
+
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UnixSocketConnectorIntegrationTest {
+    private static final Path SOCKET_DIRECTORY = createSocketDirectory();
+    private static final Path SOCKET = SOCKET_DIRECTORY.resolve("stats.sock");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void socketPath(DynamicPropertyRegistry registry) {
+        registry.add("stats.server.unix-socket-path", SOCKET::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM stats");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        Files.deleteIfExists(SOCKET);
+        Files.deleteIfExists(SOCKET_DIRECTORY);
+    }
+
+    @Test
+    void saveAndRetrieveStatsOverUnixSocket() throws IOException {
+        EndpointHit hit = EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri("/events/1")
+                .ip("192.168.1.1")
+                .timestamp(LocalDateTime.now())
+                .build();
+        byte[] body = objectMapper.writeValueAsBytes(hit);
+
+        String created = exchange("POST /hit HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"
+                + "Content-Type: application/json\r\nContent-Length: " + body.length + "\r\n\r\n", body);
+        assertTrue(created.startsWith("HTTP/1.1 201"), created);
+
+        String stats = exchange("GET /stats?start=2000-01-01%2000:00:00&end=2100-01-01%2000:00:00&uris=/events/1 "
+                + "HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nAccept: application/json\r\n\r\n", new byte[0]);
+        assertTrue(stats.startsWith("HTTP/1.1 200"), stats);
+        String json = stats.substring(stats.indexOf('['), stats.lastIndexOf(']') + 1);
+        ViewStats[] result = objectMapper.readValue(json, ViewStats[].class);
+        assertEquals(1, result.length, Arrays.toString(result));
+        assertEquals(1L, result[0].getHits());
+    }
+
+    private static String exchange(String head, byte[] body) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(SOCKET))) {
+            ByteBuffer[] request = {ByteBuffer.wrap(head.getBytes(StandardCharsets.US_ASCII)), ByteBuffer.wrap(body)};
+            do {
+                channel.write(request);
+            } while (request[1].hasRemaining());
+            return new String(Channels.newInputStream(channel).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Path createSocketDirectory() {
+        try {
+            return Files.createTempDirectory("stats-uds");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.ewm.live;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.exceptions.StatsOverloadedException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LiveHitBroadcasterTest {
+    private static final long TICK_MS = 60_000;
+
+    private LiveHitBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new LiveHitBroadcaster(TICK_MS, 1_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void tick_ShouldSendCoalescedDeltasForSubscribedUris() throws Exception {
+        BlockingQueue<Map<String, Long>> received = new LinkedBlockingQueue<>();
+        broadcaster.register(List.of("/events/1"), null, TICK_MS, received::add);
+
+        broadcaster.onHit("/events/1", 1.0);
+        broadcaster.onHit("/events/1", 2.0);
+        broadcaster.onHit("/events/2", 1.0);
+        broadcaster.tick();
+
+        assertEquals(Map.of("/events/1", 3L), received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tick_ShouldMatchPrefixSubscriptions() throws Exception {
+        BlockingQueue<Map<String, Long>> received = new LinkedBlockingQueue<>();
+        broadcaster.register(List.of(), "/events/", TICK_MS, received::add);
+
+        broadcaster.onHit("/events/1", 1.0);
+        broadcaster.onHit("/events/2", 1.0);
+        broadcaster.onHit("/users/2", 1.0);
+        broadcaster.tick();
+
+        assertEquals(Map.of("/events/1", 1L, "/events/2", 1L), received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tick_ShouldAccumulateUntilSubscriberIntervalElapses() throws Exception {
+        BlockingQueue<Map<String, Long>> received = new LinkedBlockingQueue<>();
+        broadcaster.register(List.of("/events/1"), null, 2 * TICK_MS, received::add);
+
+        broadcaster.onHit("/events/1", 1.0);
+        broadcaster.tick();
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+
+        broadcaster.onHit("/events/1", 1.0);
+        broadcaster.tick();
+        assertEquals(Map.of("/events/1", 2L), received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void tick_WhenSubscriberFails_ShouldUnregisterIt() throws Exception {
+        broadcaster.register(List.of("/events/1"), null, TICK_MS, deltas -> {
+            throw new IOException("Broken pipe");
+        });
+
+        broadcaster.onHit("/events/1", 1.0);
+        broadcaster.tick();
+
+        for (int i = 0; i < 50 && broadcaster.subscriberCount() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void register_WhenLimitReached_ShouldReject() {
+        for (int i = 0; i < 3; i++) {
+            broadcaster.register(List.of("/events/1"), null, TICK_MS, deltas -> {
+            });
+        }
+
+        assertThrows(StatsOverloadedException.class,
+                () -> broadcaster.register(List.of("/events/1"), null, TICK_MS, deltas -> {
+                }));
+    }
+}
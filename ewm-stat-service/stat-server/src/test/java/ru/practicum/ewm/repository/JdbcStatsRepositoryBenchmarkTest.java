@@ -0,0 +1,25 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.repository.contract.StatsRepositoryBenchmark;
+
+@SpringBootTest(properties = {
+        "stats.admission.max-cost=9223372036854775807",
+        "stats.admission.heavy-query-timeout-seconds=0"
+})
+class JdbcStatsRepositoryBenchmarkTest extends StatsRepositoryBenchmark {
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected StatsRepository emptyRepository() {
+        jdbcTemplate.update("DELETE FROM stats");
+        return statsRepository;
+    }
+}
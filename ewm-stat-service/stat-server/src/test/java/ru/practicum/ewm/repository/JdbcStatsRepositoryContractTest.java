@@ -0,0 +1,22 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.repository.contract.StatsRepositoryContract;
+
+@SpringBootTest
+class JdbcStatsRepositoryContractTest extends StatsRepositoryContract {
+
+    @Autowired
+    private StatsRepository statsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected StatsRepository emptyRepository() {
+        jdbcTemplate.update("DELETE FROM stats");
+        return statsRepository;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.ewm.EndpointHit;
 import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.ViewsStatsRequest;
 
@@ -14,6 +15,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Sql(scripts = "classpath:schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -149,4 +152,35 @@ class StatsRepositoryTest {
         }
         assertEquals(3L, totalHits);
     }
-}
\ No newline at end of file
+
+    @Test
+    void sampledHitsAreScaledByWeightAndFlagged() {
+        statsRepository.saveSampledHit(EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri("/events/3")
+                .ip("192.168.1.5")
+                .timestamp(LocalDateTime.of(2023, 1, 2, 15, 0, 0))
+                .build(), 4.0);
+
+        ViewsStatsRequest request = ViewsStatsRequest.builder()
+                .start(start)
+                .end(end)
+                .uris(List.of("/events/1", "/events/3"))
+                .unique(false)
+                .build();
+
+        List<ViewStats> result = statsRepository.getStats(request);
+
+        assertEquals(2, result.size());
+        assertEquals("/events/3", result.get(0).getUri());
+        assertEquals(4L, result.get(0).getHits());
+        assertTrue(result.get(0).getSampled());
+        assertEquals(2L, result.get(1).getHits());
+        assertNull(result.get(1).getSampled());
+
+        List<ViewStats> unique = statsRepository.getUniqueStats(request.toBuilder().unique(true).build());
+
+        assertEquals(4L, unique.get(0).getHits());
+        assertTrue(unique.get(0).getSampled());
+    }
+}
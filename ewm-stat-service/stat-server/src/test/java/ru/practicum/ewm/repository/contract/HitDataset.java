@@ -0,0 +1,104 @@
+package ru.practicum.ewm.repository.contract;
+
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.repository.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of hits. Uri popularity is skewed so that a few uris collect most of the views,
+ * and a share of the hits carries a sampling weight like the ones written under ingest overload.
+ * Three out of four hits carry an {@link #ENTITY_TYPE} entity whose id is the uri index.
+ */
+public final class HitDataset {
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    public static final String ENTITY_TYPE = "event";
+
+    private final long seed;
+    private final long size;
+    private final int uriCount;
+    private final int ipCount;
+    private final int spanSeconds;
+    private final double sampledShare;
+
+    public HitDataset(long seed, long size, int uriCount, int ipCount, int spanSeconds, double sampledShare) {
+        this.seed = seed;
+        this.size = size;
+        this.uriCount = uriCount;
+        this.ipCount = ipCount;
+        this.spanSeconds = spanSeconds;
+        this.sampledShare = sampledShare;
+    }
+
+    public static HitDataset small(long seed) {
+        return new HitDataset(seed, 2_000, 40, 60, 10 * 24 * 3600, 0.05);
+    }
+
+    public Stream<WeightedHit> stream() {
+        SplittableRandom random = new SplittableRandom(seed);
+        return Stream.generate(() -> next(random)).limit(size);
+    }
+
+    public List<WeightedHit> toList() {
+        return stream().toList();
+    }
+
+    public void loadInto(StatsRepository... repositories) {
+        stream().forEach(weighted -> {
+            for (StatsRepository repository : repositories) {
+                if (weighted.weight() == 1.0) {
+                    repository.saveHit(weighted.hit());
+                } else {
+                    repository.saveSampledHit(weighted.hit(), weighted.weight());
+                }
+            }
+        });
+    }
+
+    public String uri(int index) {
+        return "/events/" + index;
+    }
+
+    public List<String> randomUris(Random random, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> uri(random.nextInt(uriCount + 1)))
+                .distinct()
+                .toList();
+    }
+
+    public List<Long> randomEntityIds(Random random, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> (long) random.nextInt(uriCount + 1))
+                .distinct()
+                .toList();
+    }
+
+    public LocalDateTime randomTime(Random random) {
+        return EPOCH.plusSeconds(random.nextInt(spanSeconds));
+    }
+
+    public LocalDateTime end() {
+        return EPOCH.plusSeconds(spanSeconds);
+    }
+
+    private WeightedHit next(SplittableRandom random) {
+        int uri = (int) Math.floor(uriCount * Math.pow(random.nextDouble(), 3));
+        double weight = random.nextDouble() < sampledShare ? 1 << (1 + random.nextInt(3)) : 1.0;
+        int ip = random.nextInt(ipCount);
+        boolean entity = random.nextInt(4) != 0;
+        EndpointHit hit = EndpointHit.builder()
+                .app(random.nextInt(10) == 0 ? "ewm-admin-service" : "ewm-main-service")
+                .uri(uri(uri))
+                .ip("10.0." + ip / 256 + "." + ip % 256)
+                .timestamp(EPOCH.plusSeconds(random.nextInt(spanSeconds)))
+                .entityType(entity ? ENTITY_TYPE : null)
+                .entityId(entity ? (long) uri : null)
+                .build();
+        return new WeightedHit(hit, weight);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.ewm.repository.contract;
+
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.repository.StatsRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference implementation that states the expected semantics as plainly as possible.
+ */
+public class InMemoryStatsRepository implements StatsRepository {
+    private final List<WeightedHit> hits = new ArrayList<>();
+
+    @Override
+    public void saveHit(EndpointHit hit) {
+        saveSampledHit(hit, 1.0);
+    }
+
+    @Override
+    public void saveSampledHit(EndpointHit hit, double weight) {
+        hits.add(new WeightedHit(hit, weight));
+    }
+
+    @Override
+    public void saveSampledHits(List<EndpointHit> batch, double weight) {
+        batch.forEach(hit -> saveSampledHit(hit, weight));
+    }
+
+    @Override
+    public List<ViewStats> getStats(ViewsStatsRequest request) {
+        return query(request, false);
+    }
+
+    @Override
+    public List<ViewStats> getUniqueStats(ViewsStatsRequest request) {
+        return query(request, true);
+    }
+
+    private List<ViewStats> query(ViewsStatsRequest request, boolean unique) {
+        boolean byEntity = request.getEntityType() != null;
+        Map<List<Object>, Map<String, Double>> visitors = new HashMap<>();
+        Map<List<Object>, Double> totals = new HashMap<>();
+        Map<List<Object>, Double> maxWeights = new HashMap<>();
+        Map<List<Object>, String> uris = new HashMap<>();
+        for (WeightedHit weighted : hits) {
+            EndpointHit hit = weighted.hit();
+            if (hit.getTimestamp().isBefore(request.getStart()) || hit.getTimestamp().isAfter(request.getEnd())) {
+                continue;
+            }
+            if (request.getUris() != null && !request.getUris().isEmpty() && !request.getUris().contains(hit.getUri())) {
+                continue;
+            }
+            if (byEntity && (!request.getEntityType().equals(hit.getEntityType()) || hit.getEntityId() == null
+                    || (request.getEntityIds() != null && !request.getEntityIds().isEmpty()
+                    && !request.getEntityIds().contains(hit.getEntityId())))) {
+                continue;
+            }
+            List<Object> key = byEntity
+                    ? List.of(hit.getApp(), hit.getEntityType(), hit.getEntityId())
+                    : List.of(hit.getApp(), hit.getUri());
+            visitors.computeIfAbsent(key, k -> new HashMap<>()).merge(hit.getIp(), weighted.weight(), Math::max);
+            totals.merge(key, weighted.weight(), Double::sum);
+            maxWeights.merge(key, weighted.weight(), Math::max);
+            uris.merge(key, hit.getUri(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        List<ViewStats> result = new ArrayList<>();
+        for (List<Object> key : totals.keySet()) {
+            double hitCount = unique
+                    ? visitors.get(key).values().stream().mapToDouble(Double::doubleValue).sum()
+                    : totals.get(key);
+            result.add(new ViewStats((String) key.get(0), uris.get(key), Math.round(hitCount),
+                    maxWeights.get(key) > 1.0 ? Boolean.TRUE : null,
+                    byEntity ? (String) key.get(1) : null, byEntity ? (Long) key.get(2) : null));
+        }
+        result.sort(Comparator.comparing(ViewStats::getHits).reversed());
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.ewm.repository.contract;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.repository.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingest throughput and query latency on a generated dataset. Excluded from the regular build,
+ * run with {@code mvn test -P benchmark [-Dstats.benchmark.hits=10000000]}.
+ */
+@Slf4j
+@Tag("benchmark")
+public abstract class StatsRepositoryBenchmark {
+    private static final int URIS = 10_000;
+    private static final int IPS = 50_000;
+    private static final int SPAN_SECONDS = 90 * 24 * 3600;
+    private static final int WARMUP_QUERIES = 20;
+    private static final int QUERIES = 200;
+
+    protected abstract StatsRepository emptyRepository() throws Exception;
+
+    protected void afterLoad(StatsRepository repository) throws Exception {
+    }
+
+    @Test
+    void ingestAndQuery() throws Exception {
+        long size = Long.getLong("stats.benchmark.hits", 1_000_000L);
+        HitDataset dataset = new HitDataset(20230101L, size, URIS, IPS, SPAN_SECONDS, 0.01);
+        StatsRepository repository = emptyRepository();
+
+        AtomicLong loaded = new AtomicLong();
+        long started = System.nanoTime();
+        dataset.stream().forEach(weighted -> {
+            repository.saveSampledHit(weighted.hit(), weighted.weight());
+            if (loaded.incrementAndGet() % 1_000_000 == 0) {
+                log.info("{}: loaded {} hits", getClass().getSimpleName(), loaded.get());
+            }
+        });
+        afterLoad(repository);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("{}: ingested {} hits in {} s, {} hits/s", getClass().getSimpleName(), size,
+                String.format("%.1f", seconds), String.format("%.0f", size / seconds));
+
+        Random random = new Random(size);
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            run(repository, randomRequest(dataset, random));
+        }
+        for (Shape shape : Shape.values()) {
+            long[] latencies = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                ViewsStatsRequest request = shape.request(dataset, random);
+                long queryStarted = System.nanoTime();
+                run(repository, request);
+                latencies[i] = System.nanoTime() - queryStarted;
+            }
+            Arrays.sort(latencies);
+            log.info("{}: {} p50={} ms p95={} ms p99={} ms max={} ms", getClass().getSimpleName(), shape,
+                    millis(latencies[QUERIES / 2]), millis(latencies[QUERIES * 95 / 100]),
+                    millis(latencies[QUERIES * 99 / 100]), millis(latencies[QUERIES - 1]));
+        }
+    }
+
+    private static void run(StatsRepository repository, ViewsStatsRequest request) {
+        if (request.isUnique()) {
+            repository.getUniqueStats(request);
+        } else {
+            repository.getStats(request);
+        }
+    }
+
+    private static ViewsStatsRequest randomRequest(HitDataset dataset, Random random) {
+        return Shape.values()[random.nextInt(Shape.values().length)].request(dataset, random);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private enum Shape {
+        SINGLE_URI_DAY(1, 1, false),
+        EVENT_PAGE_WEEK(10, 7, true),
+        ALL_URIS_MONTH(0, 30, false),
+        ALL_URIS_ALL_TIME_UNIQUE(0, 90, true);
+
+        private final int uris;
+        private final int days;
+        private final boolean unique;
+
+        Shape(int uris, int days, boolean unique) {
+            this.uris = uris;
+            this.days = days;
+            this.unique = unique;
+        }
+
+        ViewsStatsRequest request(HitDataset dataset, Random random) {
+            LocalDateTime end = days >= 90 ? dataset.end() : dataset.randomTime(random).plusDays(days);
+            List<String> selected = uris == 0 ? List.of() : dataset.randomUris(random, uris);
+            return ViewsStatsRequest.builder()
+                    .start(end.minusDays(days))
+                    .end(end)
+                    .uris(selected)
+                    .unique(unique)
+                    .build();
+        }
+    }
+}
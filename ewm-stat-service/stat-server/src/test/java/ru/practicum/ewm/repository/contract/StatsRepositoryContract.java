@@ -0,0 +1,236 @@
+package ru.practicum.ewm.repository.contract;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.repository.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Properties every {@link StatsRepository} has to satisfy. Extend it and provide an empty repository
+ * through {@link #emptyRepository()}; results are checked against {@link InMemoryStatsRepository}.
+ */
+public abstract class StatsRepositoryContract {
+    private static final int QUERIES_PER_SEED = 40;
+
+    private StatsRepository repository;
+    private InMemoryStatsRepository reference;
+
+    protected abstract StatsRepository emptyRepository() throws Exception;
+
+    @BeforeEach
+    void setUpContract() throws Exception {
+        repository = emptyRepository();
+        reference = new InMemoryStatsRepository();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 7, 42})
+    void randomQueries_ShouldMatchReference(long seed) {
+        HitDataset dataset = HitDataset.small(seed);
+        List<WeightedHit> hits = dataset.toList();
+        dataset.loadInto(repository, reference);
+
+        Random random = new Random(seed);
+        for (int i = 0; i < QUERIES_PER_SEED; i++) {
+            LocalDateTime first = hits.get(random.nextInt(hits.size())).hit().getTimestamp();
+            LocalDateTime second = random.nextBoolean()
+                    ? hits.get(random.nextInt(hits.size())).hit().getTimestamp()
+                    : dataset.randomTime(random);
+            boolean byEntity = random.nextInt(3) == 0;
+            ViewsStatsRequest request = ViewsStatsRequest.builder()
+                    .start(first.isBefore(second) ? first : second)
+                    .end(first.isBefore(second) ? second : first)
+                    .uris(byEntity || random.nextBoolean()
+                            ? List.of() : dataset.randomUris(random, 1 + random.nextInt(5)))
+                    .unique(random.nextBoolean())
+                    .entityType(byEntity ? HitDataset.ENTITY_TYPE : null)
+                    .entityIds(byEntity && random.nextBoolean()
+                            ? dataset.randomEntityIds(random, 1 + random.nextInt(5)) : List.of())
+                    .build();
+
+            assertSameStats(query(reference, request), query(repository, request), request);
+        }
+    }
+
+    @Test
+    void rangeEdges_ShouldBeInclusive() {
+        LocalDateTime start = HitDataset.EPOCH.plusHours(1);
+        LocalDateTime end = start.plusHours(1);
+        save(hit("/events/1", "10.0.0.1", start.minusSeconds(1)));
+        save(hit("/events/1", "10.0.0.2", start));
+        save(hit("/events/1", "10.0.0.3", end));
+        save(hit("/events/1", "10.0.0.4", end.plusSeconds(1)));
+
+        List<ViewStats> result = repository.getStats(request(start, end, List.of()));
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getHits());
+    }
+
+    @Test
+    void uniqueStats_ShouldCountEachIpOncePerUri() {
+        LocalDateTime time = HitDataset.EPOCH.plusHours(1);
+        save(hit("/events/1", "10.0.0.1", time));
+        save(hit("/events/1", "10.0.0.1", time.plusMinutes(1)));
+        save(hit("/events/1", "10.0.0.2", time.plusMinutes(2)));
+        save(hit("/events/2", "10.0.0.1", time.plusMinutes(3)));
+        ViewsStatsRequest request = request(HitDataset.EPOCH, time.plusDays(1), List.of());
+
+        Map<String, Long> total = byUri(repository.getStats(request));
+        Map<String, Long> unique = byUri(repository.getUniqueStats(request.toBuilder().unique(true).build()));
+
+        assertEquals(Map.of("/events/1", 3L, "/events/2", 1L), total);
+        assertEquals(Map.of("/events/1", 2L, "/events/2", 1L), unique);
+    }
+
+    @Test
+    void uniqueStats_ShouldNeverExceedTotals() {
+        HitDataset dataset = HitDataset.small(3);
+        dataset.loadInto(repository);
+        ViewsStatsRequest request = request(HitDataset.EPOCH, dataset.end(), List.of());
+
+        Map<String, Long> total = byUri(repository.getStats(request));
+        Map<String, Long> unique = byUri(repository.getUniqueStats(request.toBuilder().unique(true).build()));
+
+        assertEquals(total.keySet(), unique.keySet());
+        unique.forEach((uri, hits) -> assertTrue(hits <= total.get(uri), uri));
+    }
+
+    @Test
+    void uriFilter_ShouldOnlyNarrowUnfilteredResult() {
+        HitDataset dataset = HitDataset.small(5);
+        dataset.loadInto(repository);
+        ViewsStatsRequest request = request(HitDataset.EPOCH, dataset.end(), List.of());
+        List<String> uris = List.of(dataset.uri(0), dataset.uri(3), "/events/unknown");
+
+        Map<String, Long> all = byUri(repository.getStats(request));
+        Map<String, Long> filtered = byUri(repository.getStats(request.toBuilder().uris(uris).build()));
+
+        Map<String, Long> expected = new HashMap<>(all);
+        expected.keySet().retainAll(uris);
+        assertEquals(expected, filtered);
+    }
+
+    @Test
+    void entityQuery_ShouldAggregateByEntityIdAcrossUris() {
+        LocalDateTime time = HitDataset.EPOCH.plusHours(1);
+        save(entityHit("/events/7", "10.0.0.1", time, 7L));
+        save(entityHit("/events/7?from=feed", "10.0.0.2", time, 7L));
+        save(entityHit("/events/8", "10.0.0.1", time, 8L));
+        save(hit("/events/7", "10.0.0.3", time));
+        ViewsStatsRequest request = request(HitDataset.EPOCH, time.plusDays(1), List.of()).toBuilder()
+                .entityType(HitDataset.ENTITY_TYPE)
+                .entityIds(List.of(7L))
+                .build();
+
+        List<ViewStats> result = repository.getStats(request);
+
+        assertEquals(1, result.size());
+        assertEquals(7L, result.get(0).getEntityId());
+        assertEquals(HitDataset.ENTITY_TYPE, result.get(0).getEntityType());
+        assertEquals("/events/7", result.get(0).getUri());
+        assertEquals(2L, result.get(0).getHits());
+    }
+
+    @Test
+    void results_ShouldBeOrderedByHitsDescending() {
+        HitDataset dataset = HitDataset.small(11);
+        dataset.loadInto(repository);
+        ViewsStatsRequest request = request(HitDataset.EPOCH, dataset.end(), List.of());
+
+        assertOrdered(repository.getStats(request));
+        assertOrdered(repository.getUniqueStats(request.toBuilder().unique(true).build()));
+    }
+
+    @Test
+    void emptyRange_ShouldReturnNothing() {
+        HitDataset.small(13).loadInto(repository);
+
+        List<ViewStats> result = repository.getStats(request(HitDataset.EPOCH.minusDays(2),
+                HitDataset.EPOCH.minusSeconds(1), List.of()));
+
+        assertTrue(result.isEmpty());
+    }
+
+    protected StatsRepository repository() {
+        return repository;
+    }
+
+    private void save(EndpointHit hit) {
+        repository.saveHit(hit);
+        reference.saveHit(hit);
+    }
+
+    private static List<ViewStats> query(StatsRepository target, ViewsStatsRequest request) {
+        return request.isUnique() ? target.getUniqueStats(request) : target.getStats(request);
+    }
+
+    private static void assertSameStats(List<ViewStats> expected, List<ViewStats> actual, ViewsStatsRequest request) {
+        assertOrdered(actual);
+        assertEquals(asMap(expected), asMap(actual), request::toString);
+    }
+
+    private static void assertOrdered(List<ViewStats> stats) {
+        for (int i = 1; i < stats.size(); i++) {
+            assertTrue(stats.get(i - 1).getHits() >= stats.get(i).getHits(), "Not ordered by hits: " + stats);
+        }
+    }
+
+    private static Map<String, String> asMap(List<ViewStats> stats) {
+        Map<String, String> result = new HashMap<>();
+        for (ViewStats stat : stats) {
+            result.put(stat.getApp() + stat.getUri() + "/" + stat.getEntityType() + "/" + stat.getEntityId(),
+                    stat.getHits() + "/" + stat.getSampled());
+        }
+        return result;
+    }
+
+    private static Map<String, Long> byUri(List<ViewStats> stats) {
+        Map<String, Long> result = new HashMap<>();
+        for (ViewStats stat : stats) {
+            result.merge(stat.getUri(), stat.getHits(), Long::sum);
+        }
+        return result;
+    }
+
+    private static ViewsStatsRequest request(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        return ViewsStatsRequest.builder()
+                .start(start)
+                .end(end)
+                .uris(uris)
+                .build();
+    }
+
+    private static EndpointHit entityHit(String uri, String ip, LocalDateTime timestamp, long entityId) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp)
+                .entityType(HitDataset.ENTITY_TYPE)
+                .entityId(entityId)
+                .build();
+    }
+
+    private static EndpointHit hit(String uri, String ip, LocalDateTime timestamp) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.ewm.repository.contract;
+
+import ru.practicum.ewm.EndpointHit;
+
+public record WeightedHit(EndpointHit hit, double weight) {
+}
@@ -0,0 +1,33 @@
+package ru.practicum.ewm.repository.segment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.ewm.repository.StatsRepository;
+import ru.practicum.ewm.repository.contract.StatsRepositoryBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class SegmentStatsRepositoryBenchmarkTest extends StatsRepositoryBenchmark {
+    @TempDir
+    Path directory;
+
+    private SegmentStatsRepository repository;
+
+    @Override
+    protected StatsRepository emptyRepository() throws IOException {
+        repository = new SegmentStatsRepository(directory.toString(), 100_000, 60_000, 60_000, 4, 1_000_000);
+        return repository;
+    }
+
+    @Override
+    protected void afterLoad(StatsRepository loaded) throws IOException {
+        repository.flush();
+        repository.compact();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.destroy();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.ewm.repository.segment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.ewm.repository.StatsRepository;
+import ru.practicum.ewm.repository.contract.StatsRepositoryContract;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class SegmentStatsRepositoryContractTest extends StatsRepositoryContract {
+    @TempDir
+    Path directory;
+
+    private SegmentStatsRepository repository;
+
+    @Override
+    protected StatsRepository emptyRepository() throws IOException {
+        repository = new SegmentStatsRepository(directory.toString(), 300, 60_000, 60_000, 3, 1_000);
+        return repository;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.destroy();
+    }
+}
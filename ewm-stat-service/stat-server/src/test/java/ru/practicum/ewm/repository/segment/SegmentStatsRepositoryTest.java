@@ -0,0 +1,162 @@
+package ru.practicum.ewm.repository.segment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ViewsStatsRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentStatsRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private SegmentStatsRepository repository;
+    private ViewsStatsRequest request;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = open();
+        request = ViewsStatsRequest.builder()
+                .start(LocalDateTime.of(2023, 1, 1, 0, 0, 0))
+                .end(LocalDateTime.of(2023, 1, 3, 0, 0, 0))
+                .uris(List.of())
+                .build();
+        repository.saveHit(hit("/events/1", "192.168.1.1", LocalDateTime.of(2023, 1, 2, 12, 0, 0)));
+        repository.saveHit(hit("/events/1", "192.168.1.2", LocalDateTime.of(2023, 1, 2, 13, 0, 0)));
+        repository.saveHit(hit("/events/1", "192.168.1.2", LocalDateTime.of(2023, 1, 2, 13, 30, 0)));
+        repository.saveHit(hit("/events/2", "192.168.1.1", LocalDateTime.of(2023, 1, 2, 14, 0, 0)));
+        repository.saveHit(hit("/events/2", "192.168.1.1", LocalDateTime.of(2023, 1, 5, 14, 0, 0)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.destroy();
+    }
+
+    @Test
+    void getStats_ShouldCountAllHitsInRange() {
+        List<ViewStats> result = repository.getStats(request);
+
+        assertEquals(2, result.size());
+        assertEquals("/events/1", result.get(0).getUri());
+        assertEquals(3L, result.get(0).getHits());
+        assertEquals(1L, result.get(1).getHits());
+    }
+
+    @Test
+    void getUniqueStats_ShouldCountDistinctIps() {
+        List<ViewStats> result = repository.getUniqueStats(request.toBuilder().unique(true).build());
+
+        assertEquals(2L, result.get(0).getHits());
+        assertEquals(1L, result.get(1).getHits());
+    }
+
+    @Test
+    void getStats_WithUris_ShouldFilterByUri() throws IOException {
+        repository.flush();
+
+        List<ViewStats> result = repository.getStats(request.toBuilder().uris(List.of("/events/2")).build());
+
+        assertEquals(1, result.size());
+        assertEquals("/events/2", result.get(0).getUri());
+        assertEquals(1L, result.get(0).getHits());
+    }
+
+    @Test
+    void getStats_ShouldIncludeRangeEdges() {
+        List<ViewStats> result = repository.getStats(request.toBuilder()
+                .start(LocalDateTime.of(2023, 1, 2, 12, 0, 0))
+                .end(LocalDateTime.of(2023, 1, 2, 13, 0, 0))
+                .build());
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getHits());
+    }
+
+    @Test
+    void sampledHits_ShouldBeScaledAndFlagged() {
+        repository.saveSampledHit(hit("/events/3", "10.0.0.1", LocalDateTime.of(2023, 1, 2, 9, 0, 0)), 5.0);
+
+        List<ViewStats> result = repository.getStats(request);
+
+        assertEquals("/events/3", result.get(0).getUri());
+        assertEquals(5L, result.get(0).getHits());
+        assertTrue(result.get(0).getSampled());
+    }
+
+    @Test
+    void reopen_ShouldRecoverFlushedSegmentsAndWriteAheadLog() throws IOException {
+        repository.flush();
+        repository.saveHit(hit("/events/2", "192.168.1.3", LocalDateTime.of(2023, 1, 2, 15, 0, 0)));
+        repository.destroy();
+
+        repository = open();
+        List<ViewStats> result = repository.getStats(request);
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getHits());
+        assertEquals(2L, result.get(1).getHits());
+    }
+
+    @Test
+    void reopen_AfterCrashBetweenFlushAndLogReset_ShouldNotCountHitsTwice() throws IOException {
+        Path log = directory.resolve("hits.wal");
+        byte[] unreset = Files.readAllBytes(log);
+        repository.flush();
+        repository.destroy();
+        Files.write(log, unreset);
+
+        repository = open();
+        repository.saveHit(hit("/events/2", "192.168.1.3", LocalDateTime.of(2023, 1, 2, 15, 0, 0)));
+        repository.destroy();
+        repository = open();
+        List<ViewStats> result = repository.getStats(request);
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getHits());
+        assertEquals(2L, result.get(1).getHits());
+    }
+
+    @Test
+    void compact_ShouldMergeSegmentsWithoutChangingResults() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            repository.saveHit(hit("/events/1", "10.0.0." + i, LocalDateTime.of(2023, 1, 2, 10, i, 0)));
+            repository.flush();
+        }
+        List<ViewStats> before = repository.getStats(request);
+
+        repository.compact();
+
+        assertEquals(1, repository.segmentCount());
+        List<ViewStats> after = repository.getStats(request);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getUri(), after.get(i).getUri());
+            assertEquals(before.get(i).getHits(), after.get(i).getHits());
+        }
+    }
+
+    private SegmentStatsRepository open() throws IOException {
+        return new SegmentStatsRepository(directory.toString(), 1000, 60_000, 60_000, 4, 1_000_000);
+    }
+
+    private EndpointHit hit(String uri, String ip, LocalDateTime timestamp) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+}
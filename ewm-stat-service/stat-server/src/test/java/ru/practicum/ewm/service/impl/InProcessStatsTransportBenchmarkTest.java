@@ -0,0 +1,101 @@
+package ru.practicum.ewm.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.InProcessStatsTransport;
+import ru.practicum.ewm.StatsTransport;
+import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.ingest.IngestSampler;
+import ru.practicum.ewm.live.LiveHitBroadcaster;
+import ru.practicum.ewm.repository.segment.SegmentStatsRepository;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one hit and one 100-element /stats lookup through the in-process transport and the real
+ * {@link StatsServiceImpl} over segment storage, the co-located counterpart of stat-client's
+ * {@code StatsTransportBenchmark}. Excluded from the regular build, run with {@code mvn test -P benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class InProcessStatsTransportBenchmarkTest {
+    private static final int ELEMENTS = 100;
+    private static final int PRELOADED_HITS = 100_000;
+    private static final int WARMUP_CALLS = 2_000;
+    private static final int CALLS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void saveHitAndGetStats() throws Exception {
+        SegmentStatsRepository repository = new SegmentStatsRepository(directory.toString(), 100_000, 60_000,
+                60_000, 4, 1_000_000);
+        LiveHitBroadcaster liveHitBroadcaster = new LiveHitBroadcaster(250, 60_000, 10);
+        try {
+            StatsTransport transport = new InProcessStatsTransport(new StatsServiceLocalEndpoint(
+                    new StatsServiceImpl(repository, new IngestSampler(64, 0.05, new SimpleMeterRegistry()),
+                            liveHitBroadcaster)));
+            LocalDateTime now = LocalDateTime.now();
+            List<String> uris = new ArrayList<>(ELEMENTS);
+            for (int i = 0; i < ELEMENTS; i++) {
+                uris.add("/events/" + i);
+            }
+            for (int i = 0; i < PRELOADED_HITS; i++) {
+                repository.saveHit(hit(uris.get(i % ELEMENTS), i, now.minusSeconds(i)));
+            }
+            ViewsStatsRequest request = ViewsStatsRequest.builder()
+                    .start(now.minusDays(1))
+                    .end(now.plusDays(1))
+                    .uris(uris)
+                    .build();
+
+            measure("saveHit", i -> transport.saveHit(hit(uris.get(i % ELEMENTS), i, now)));
+            measure("getStats", i -> transport.getStats(request));
+        } finally {
+            liveHitBroadcaster.destroy();
+            repository.destroy();
+        }
+    }
+
+    private static void measure(String name, Call call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run(i);
+        }
+        long[] latencies = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            long started = System.nanoTime();
+            call.run(i);
+            latencies[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+        log.info("in-process {}: p50={} us p95={} us p99={} us", name, micros(latencies[CALLS / 2]),
+                micros(latencies[CALLS * 95 / 100]), micros(latencies[CALLS * 99 / 100]));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static EndpointHit hit(String uri, int ip, LocalDateTime timestamp) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip("10.0." + (ip >> 8 & 255) + "." + (ip & 255))
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private interface Call {
+        void run(int i);
+    }
+}
@@ -9,6 +9,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.ewm.EndpointHit;
 import ru.practicum.ewm.ViewStats;
 import ru.practicum.ewm.ViewsStatsRequest;
+import ru.practicum.ewm.ingest.IngestSampler;
+import ru.practicum.ewm.live.LiveHitBroadcaster;
 import ru.practicum.ewm.repository.StatsRepository;
 
 import java.time.LocalDateTime;
@@ -16,7 +18,10 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,6 +32,12 @@ class StatsServiceImplTest {
     @Mock
     private StatsRepository statsRepository;
 
+    @Mock
+    private IngestSampler ingestSampler;
+
+    @Mock
+    private LiveHitBroadcaster liveHitBroadcaster;
+
     @InjectMocks
     private StatsServiceImpl statsService;
 
@@ -51,11 +62,48 @@ class StatsServiceImplTest {
 
     @Test
     void saveHit_ShouldCallRepositorySaveHit() {
+        when(ingestSampler.admit()).thenReturn(1.0);
         doNothing().when(statsRepository).saveHit(any(EndpointHit.class));
 
         statsService.saveHit(endpointHit);
 
         verify(statsRepository, times(1)).saveHit(any(EndpointHit.class));
+        verify(ingestSampler).complete();
+    }
+
+    @Test
+    void saveHit_WhenSampled_ShouldSaveHitWithWeight() {
+        when(ingestSampler.admit()).thenReturn(4.0);
+
+        statsService.saveHit(endpointHit);
+
+        verify(statsRepository).saveSampledHit(any(EndpointHit.class), eq(4.0));
+        verify(statsRepository, never()).saveHit(any(EndpointHit.class));
+        verify(liveHitBroadcaster).onHit("/events/1", 4.0);
+        verify(ingestSampler).complete();
+    }
+
+    @Test
+    void saveHit_WhenDroppedBySampling_ShouldNotSave() {
+        when(ingestSampler.admit()).thenReturn(0.0);
+
+        statsService.saveHit(endpointHit);
+
+        verify(statsRepository, never()).saveHit(any(EndpointHit.class));
+        verify(statsRepository, never()).saveSampledHit(any(EndpointHit.class), anyDouble());
+        verify(ingestSampler, never()).complete();
+    }
+
+    @Test
+    void saveHits_ShouldSaveAdmittedHitsOfBatch() {
+        List<EndpointHit> hits = List.of(endpointHit, endpointHit, endpointHit);
+        when(ingestSampler.admit(hits)).thenReturn(new IngestSampler.Batch<>(hits.subList(0, 2), 2.0));
+
+        statsService.saveHits(hits);
+
+        verify(statsRepository).saveSampledHits(hits.subList(0, 2), 2.0);
+        verify(liveHitBroadcaster, times(2)).onHit("/events/1", 2.0);
+        verify(ingestSampler).complete(2);
     }
 
     @Test
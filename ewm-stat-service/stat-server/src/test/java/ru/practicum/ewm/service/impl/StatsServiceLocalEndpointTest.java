@@ -0,0 +1,81 @@
+package ru.practicum.ewm.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.practicum.ewm.EndpointHit;
+import ru.practicum.ewm.HitsByEventId;
+import ru.practicum.ewm.InProcessStatsTransport;
+import ru.practicum.ewm.StatsClient;
+import ru.practicum.ewm.ViewStats;
+import ru.practicum.ewm.ingest.IngestSampler;
+import ru.practicum.ewm.live.LiveHitBroadcaster;
+import ru.practicum.ewm.repository.segment.SegmentStatsRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatsServiceLocalEndpointTest {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 1, 3, 0, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private SegmentStatsRepository repository;
+    private LiveHitBroadcaster liveHitBroadcaster;
+    private StatsClient statsClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new SegmentStatsRepository(directory.toString(), 1000, 60_000, 60_000, 4, 1_000_000);
+        liveHitBroadcaster = new LiveHitBroadcaster(250, 60_000, 10);
+        StatsServiceImpl statsService = new StatsServiceImpl(repository,
+                new IngestSampler(64, 0.05, new SimpleMeterRegistry()), liveHitBroadcaster);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        statsClient = new StatsClient(new InProcessStatsTransport(new StatsServiceLocalEndpoint(statsService)),
+                beans.getBeanProvider(MeterRegistry.class), beans.getBeanProvider(ObjectMapper.class), false, 1, 1,
+                0, 1, 0, false, "", 0, 0, 0, true);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        liveHitBroadcaster.destroy();
+        repository.destroy();
+    }
+
+    @Test
+    void statsClient_ShouldSaveAndReadThroughStatsService() {
+        statsClient.postStatsNow(hit("/events/1", "192.168.1.1"));
+        statsClient.postStatsBatch(List.of(hit("/events/1", "192.168.1.2"), hit("/events/1", "192.168.1.2"),
+                hit("/events/2", "192.168.1.1")));
+
+        HitsByEventId hits = statsClient.getEventHits(START, END, List.of(1L, 2L), false);
+        HitsByEventId uniqueHits = statsClient.getEventHits(START, END, List.of(1L), true);
+        List<ViewStats> stats = statsClient.getViewStats(START, END, List.of("/events/2"), false);
+
+        assertEquals(3L, hits.get(1L));
+        assertEquals(1L, hits.get(2L));
+        assertEquals(2L, uniqueHits.get(1L));
+        assertEquals(1, stats.size());
+        assertEquals(1L, stats.get(0).getHits());
+    }
+
+    private static EndpointHit hit(String uri, String ip) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(LocalDateTime.of(2023, 1, 2, 12, 0, 0))
+                .build();
+    }
+}